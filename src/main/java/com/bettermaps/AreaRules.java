@@ -0,0 +1,321 @@
+package com.bettermaps;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.api.coords.WorldPoint;
+
+/**
+ * The areas in which icon categories are hidden, parsed from the config. Each rule is a rectangle, a polygon or a
+ * named area, and the rules are compiled into a lookup keyed by map region, holding for each rule overlapping the
+ * region either the whole region or a bit mask of the tiles covered. Checking a location then only looks at the few
+ * rules in its region, however many there are elsewhere, and categories without any rules are not looked up at all.
+ * <p>
+ * Rules apply on every plane, and a tile is within a polygon when its centre is.
+ */
+@Slf4j
+final class AreaRules
+{
+	private static final int REGION_SHIFT = 6;
+	private static final int REGION_SIZE = 1 << REGION_SHIFT;
+	private static final int MASK_LONGS = REGION_SIZE * REGION_SIZE / Long.SIZE;
+	// Region ids hold 8 bits for each of the region x and y, which covers the whole game world
+	private static final int MAX_COORDINATE = (1 << 14) - 1;
+	private static final int NONE = -1;
+	private static final String ALL_ICONS = "all";
+
+	// The named areas, as rectangles of inclusive corner tiles
+	private static final Map<String, int[][]> NAMED_AREAS = new HashMap<>();
+
+	static
+	{
+		final int[][] wilderness = {{2944, 3520, 3391, 3967}, {2944, 9920, 3391, 10431}};
+		final int[][] zeah = {{1152, 3328, 1983, 4031}};
+		NAMED_AREAS.put("wilderness", wilderness);
+		NAMED_AREAS.put("wildy", wilderness);
+		NAMED_AREAS.put("zeah", zeah);
+		NAMED_AREAS.put("kourend", zeah);
+	}
+
+	private final BitSet ruledCategories = new BitSet();
+	// The first entry of each region, with the entries of a region linked through nextEntries
+	private final PackedPointMap regionEntries = new PackedPointMap(64);
+	// For each entry, the categories of its rule, shared by every entry of the rule
+	private BitSet[] entryCategories = new BitSet[0];
+	// For each entry, the tiles of the region covered, or null where it covers the whole region
+	private long[][] entryMasks = new long[0][];
+	private int[] nextEntries = new int[0];
+	private int entryCount;
+	private String parsedValue = "";
+
+	boolean isEmpty()
+	{
+		return ruledCategories.isEmpty();
+	}
+
+	/**
+	 * @return whether the category is hidden anywhere, so that its icons need checking one at a time
+	 */
+	boolean hasRules(int category)
+	{
+		return category >= 0 && ruledCategories.get(category);
+	}
+
+	boolean isHidden(int category, WorldPoint point)
+	{
+		return isHidden(category, point.getX(), point.getY());
+	}
+
+	boolean isHidden(int category, int x, int y)
+	{
+		if (!hasRules(category))
+		{
+			return false;
+		}
+
+		final int tile = (y & (REGION_SIZE - 1)) << REGION_SHIFT | (x & (REGION_SIZE - 1));
+		for (int entry = regionEntries.get(regionId(x, y), NONE); entry != NONE; entry = nextEntries[entry])
+		{
+			if (entryCategories[entry].get(category)
+				&& (entryMasks[entry] == null || (entryMasks[entry][tile >>> 6] & 1L << tile) != 0))
+			{
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Parses and compiles the config, one 'Icon name, Icon name: area' rule per line, if it has changed since the last
+	 * call. The area is either a named area, two 'x,y' corners of a rectangle or three or more 'x,y' corners of a
+	 * polygon, and 'All' hides every icon.
+	 *
+	 * @return whether the rules have changed
+	 */
+	boolean update(String configValue)
+	{
+		if (configValue.equals(parsedValue))
+		{
+			return false;
+		}
+
+		parsedValue = configValue;
+		ruledCategories.clear();
+		regionEntries.clear();
+		entryCategories = new BitSet[0];
+		entryMasks = new long[0][];
+		nextEntries = new int[0];
+		entryCount = 0;
+		for (String rule : configValue.split("\\n"))
+		{
+			if (rule.isBlank())
+			{
+				continue;
+			}
+
+			final int separator = rule.indexOf(':');
+			final BitSet categories = separator < 0 ? null : parseCategories(rule.substring(0, separator));
+			final List<int[]> polygons = separator < 0 ? null : parseArea(rule.substring(separator + 1));
+			if (categories == null || polygons == null)
+			{
+				log.debug("Invalid area hide rule: {}", rule.trim());
+				continue;
+			}
+
+			for (int[] polygon : polygons)
+			{
+				addPolygon(polygon, categories);
+			}
+			ruledCategories.or(categories);
+		}
+		return true;
+	}
+
+	/**
+	 * Adds an entry for every region the polygon, of x and y vertex pairs, overlaps. The polygon is filled a row at a
+	 * time, and as each row of a region is a single long, filling a row costs one mask update per region crossed. Rows
+	 * are filled a band of regions at a time, so only the masks of one band are held at once.
+	 */
+	private void addPolygon(int[] polygon, BitSet categories)
+	{
+		int minY = MAX_COORDINATE, maxY = 0;
+		for (int i = 1; i < polygon.length; i += 2)
+		{
+			minY = Math.min(minY, polygon[i]);
+			maxY = Math.max(maxY, polygon[i]);
+		}
+
+		final Map<Integer, long[]> bandMasks = new TreeMap<>();
+		final double[] crossings = new double[polygon.length / 2];
+		for (int y = minY; y < maxY; y++)
+		{
+			final double centreY = y + 0.5;
+			int count = 0;
+			for (int i = 0, j = polygon.length - 2; i < polygon.length; j = i, i += 2)
+			{
+				final int xi = polygon[i], yi = polygon[i + 1], xj = polygon[j], yj = polygon[j + 1];
+				if ((yi > centreY) != (yj > centreY))
+				{
+					crossings[count++] = (double) (xj - xi) * (centreY - yi) / (yj - yi) + xi;
+				}
+			}
+			Arrays.sort(crossings, 0, count);
+
+			// Even-odd filling of the tiles whose centres are between each pair of crossings
+			for (int i = 0; i + 1 < count; i += 2)
+			{
+				final int fromX = Math.max(0, (int) Math.ceil(crossings[i] - 0.5));
+				final int toX = Math.min(MAX_COORDINATE, (int) Math.ceil(crossings[i + 1] - 0.5) - 1);
+				for (int regionX = fromX >> REGION_SHIFT; regionX <= toX >> REGION_SHIFT && fromX <= toX; regionX++)
+				{
+					final int low = Math.max(fromX, regionX << REGION_SHIFT) & (REGION_SIZE - 1);
+					final int high = Math.min(toX, regionX << REGION_SHIFT | (REGION_SIZE - 1)) & (REGION_SIZE - 1);
+					final long[] mask = bandMasks.computeIfAbsent(regionX, key -> new long[MASK_LONGS]);
+					mask[y & (REGION_SIZE - 1)] |= (-1L >>> (63 - high)) & (-1L << low);
+				}
+			}
+
+			if ((y & (REGION_SIZE - 1)) == REGION_SIZE - 1 || y == maxY - 1)
+			{
+				for (Map.Entry<Integer, long[]> mask : bandMasks.entrySet())
+				{
+					addEntry(regionId(mask.getKey() << REGION_SHIFT, y), categories,
+						isFull(mask.getValue()) ? null : mask.getValue());
+				}
+				bandMasks.clear();
+			}
+		}
+	}
+
+	private void addEntry(int regionId, BitSet categories, long[] mask)
+	{
+		if (entryCount == nextEntries.length)
+		{
+			final int capacity = Math.max(16, entryCount * 2);
+			entryCategories = Arrays.copyOf(entryCategories, capacity);
+			entryMasks = Arrays.copyOf(entryMasks, capacity);
+			nextEntries = Arrays.copyOf(nextEntries, capacity);
+		}
+
+		final int entry = entryCount++;
+		entryCategories[entry] = categories;
+		entryMasks[entry] = mask;
+		nextEntries[entry] = regionEntries.get(regionId, NONE);
+		regionEntries.put(regionId, entry);
+	}
+
+	/**
+	 * @return the categories of the comma separated icon names, or null if any is unknown
+	 */
+	private static BitSet parseCategories(String names)
+	{
+		final BitSet categories = new BitSet();
+		if (ConfigNames.normalise(names).equals(ALL_ICONS))
+		{
+			for (MapIcons icon : MapIcons.values())
+			{
+				categories.set(icon.getCategory());
+			}
+			return categories;
+		}
+
+		for (String name : names.split(","))
+		{
+			final MapIcons icon = ConfigNames.findIcon(name);
+			if (icon == null)
+			{
+				return null;
+			}
+			categories.set(icon.getCategory());
+		}
+		return categories;
+	}
+
+	/**
+	 * @return the polygons of the named area, rectangle or polygon, or null if it is not valid
+	 */
+	private static List<int[]> parseArea(String area)
+	{
+		final int[][] rectangles = NAMED_AREAS.get(ConfigNames.normalise(area));
+		final List<int[]> polygons = new ArrayList<>();
+		if (rectangles != null)
+		{
+			for (int[] rectangle : rectangles)
+			{
+				polygons.add(rectangle(rectangle[0], rectangle[1], rectangle[2], rectangle[3]));
+			}
+			return polygons;
+		}
+
+		final String[] corners = area.trim().replaceAll("\\s*,\\s*", ",").split("\\s+");
+		final int[] vertices = new int[corners.length * 2];
+		try
+		{
+			for (int i = 0; i < corners.length; i++)
+			{
+				final String[] coordinates = corners[i].split(",");
+				if (coordinates.length != 2)
+				{
+					return null;
+				}
+				vertices[i * 2] = clamp(Integer.parseInt(coordinates[0]));
+				vertices[i * 2 + 1] = clamp(Integer.parseInt(coordinates[1]));
+			}
+		}
+		catch (NumberFormatException e)
+		{
+			return null;
+		}
+
+		if (corners.length == 2)
+		{
+			polygons.add(rectangle(vertices[0], vertices[1], vertices[2], vertices[3]));
+		}
+		else if (corners.length >= 3)
+		{
+			polygons.add(vertices);
+		}
+		else
+		{
+			return null;
+		}
+		return polygons;
+	}
+
+	/**
+	 * @return the polygon around every tile between the corner tiles, inclusive of both
+	 */
+	private static int[] rectangle(int x1, int y1, int x2, int y2)
+	{
+		final int minX = Math.min(x1, x2), minY = Math.min(y1, y2);
+		final int maxX = Math.max(x1, x2) + 1, maxY = Math.max(y1, y2) + 1;
+		return new int[]{minX, minY, maxX, minY, maxX, maxY, minX, maxY};
+	}
+
+	private static boolean isFull(long[] mask)
+	{
+		for (long bits : mask)
+		{
+			if (bits != -1L)
+			{
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static int clamp(int coordinate)
+	{
+		return Math.max(0, Math.min(MAX_COORDINATE, coordinate));
+	}
+
+	private static int regionId(int x, int y)
+	{
+		return (x >> REGION_SHIFT) << 8 | (y >> REGION_SHIFT);
+	}
+}
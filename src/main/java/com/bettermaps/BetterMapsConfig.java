@@ -4,6 +4,8 @@ import net.runelite.client.config.Config;
 import net.runelite.client.config.ConfigGroup;
 import net.runelite.client.config.ConfigItem;
 import net.runelite.client.config.ConfigSection;
+import net.runelite.client.config.Range;
+import net.runelite.client.config.Units;
 
 @ConfigGroup(BetterMapsPlugin.CONFIG_GROUP)
 public interface BetterMapsConfig extends Config
@@ -1440,4 +1442,264 @@ public interface BetterMapsConfig extends Config
 		return true;
 	}
 	//endregion
+
+	//region Quests
+	@ConfigSection(
+		name = "Quests",
+		description = "Options for the Quest start icons.",
+		position = 5,
+		closedByDefault = true
+	)
+	String questSection = "questSection";
+
+	@Range(
+		max = 10
+	)
+	@ConfigItem(
+		keyName = "questMatchTolerance",
+		name = "Quest location tolerance",
+		description = "How many tiles a Quest icon can be from a known quest start and still be named in its tooltip.",
+		position = 1,
+		section = questSection
+	)
+	default int questMatchTolerance()
+	{
+		return 2;
+	}
+
+	@ConfigItem(
+		keyName = "hideCompletedQuests",
+		name = "Hide completed quests",
+		description = "Hide the Quest icons, and their tooltips, for quests you have completed.",
+		position = 2,
+		section = questSection
+	)
+	default boolean hideCompletedQuests()
+	{
+		return false;
+	}
+
+	@ConfigItem(
+		keyName = "hiddenQuests",
+		name = "Hidden quests",
+		description = "The names of quests whose icons should be hidden, separated by commas or new lines.",
+		position = 3,
+		section = questSection
+	)
+	default String hiddenQuests()
+	{
+		return "";
+	}
+	//endregion
+
+	//region World Map
+	@ConfigSection(
+		name = "World Map",
+		description = "Options for how the icons are shown on the world map.",
+		position = 6,
+		closedByDefault = true
+	)
+	String worldMapSection = "worldMapSection";
+
+	@ConfigItem(
+		keyName = "minimumZoomLevels",
+		name = "Minimum zoom levels",
+		description = "Hide an icon type when the world map is zoomed out past a level, with one 'Icon name: zoom' per line, e.g. 'Bank: 4'.",
+		position = 1,
+		section = worldMapSection
+	)
+	default String minimumZoomLevels()
+	{
+		return "";
+	}
+
+	@ConfigItem(
+		keyName = "clusterIcons",
+		name = "Cluster nearby icons",
+		description = "Group icons which would overlap on the world map into a single marker showing how many there are.",
+		position = 2,
+		section = worldMapSection
+	)
+	default boolean clusterIcons()
+	{
+		return false;
+	}
+
+	@Range(
+		min = 8,
+		max = 128
+	)
+	@Units(Units.PIXELS)
+	@ConfigItem(
+		keyName = "clusterSize",
+		name = "Cluster size",
+		description = "How close together on the world map icons must be to be grouped into a cluster.",
+		position = 3,
+		section = worldMapSection
+	)
+	default int clusterSize()
+	{
+		return 24;
+	}
+
+	@ConfigItem(
+		keyName = "showSearchPanel",
+		name = "Show search panel",
+		description = "Add a side panel for finding icons by name or quest and moving the world map to them.",
+		position = 4,
+		section = worldMapSection
+	)
+	default boolean showSearchPanel()
+	{
+		return true;
+	}
+
+	@ConfigItem(
+		keyName = "playerPlaneOnly",
+		name = "Player's plane only",
+		description = "Only add the world map tooltips and markers of icons on the plane the player is on, such as upstairs, swapping them over as the player changes plane.",
+		position = 5,
+		section = worldMapSection
+	)
+	default boolean playerPlaneOnly()
+	{
+		return false;
+	}
+
+	@Range(
+		max = 1000
+	)
+	@ConfigItem(
+		keyName = "maxVisibleIcons",
+		name = "Maximum icons in view",
+		description = "Hide the least important icon types while the world map's view holds more icons than this, or 0 for no limit.",
+		position = 6,
+		section = worldMapSection
+	)
+	default int maxVisibleIcons()
+	{
+		return 0;
+	}
+
+	@ConfigItem(
+		keyName = "iconPriority",
+		name = "Icon priority",
+		description = "The icon types kept longest when there are too many icons in view, most important first, separated by commas. Types not listed are hidden first.",
+		position = 7,
+		section = worldMapSection
+	)
+	default String iconPriority()
+	{
+		return "Bank, Transportation, Quest Start, Dungeon, Agility Shortcut, Grand Exchange";
+	}
+	//endregion
+
+	//region Areas
+	@ConfigSection(
+		name = "Areas",
+		description = "Options for hiding icons only in certain places.",
+		position = 7,
+		closedByDefault = true
+	)
+	String areaSection = "areaSection";
+
+	@ConfigItem(
+		keyName = "areaHideRules",
+		name = "Area hide rules",
+		description = "Hide icon types within an area, with one 'Icon name: area' per line, e.g. 'Bank, General Store: Wilderness'. The area is Wilderness, Zeah, or the 'x,y' corners of a rectangle or polygon.",
+		position = 1,
+		section = areaSection
+	)
+	default String areaHideRules()
+	{
+		return "";
+	}
+
+	@ConfigItem(
+		keyName = "hiddenIcons",
+		name = "Hidden icons",
+		description = "The locations of individual icons to hide, as 'x,y' or 'x,y,plane', one per line or separated by semicolons. Right-click an icon on the world map and choose 'Hide icon' to add it.",
+		position = 2,
+		section = areaSection
+	)
+	default String hiddenIcons()
+	{
+		return "";
+	}
+
+	@Range(
+		max = 104
+	)
+	@ConfigItem(
+		keyName = "minimapIconRadius",
+		name = "Minimap icon radius",
+		description = "Hide minimap icons more than this many tiles from the player, or 0 to show them all. The minimap is only redrawn when the game loads the area around the player, so the icons are only hidden or shown again then.",
+		position = 3,
+		section = areaSection
+	)
+	default int minimapIconRadius()
+	{
+		return 0;
+	}
+	//endregion
+
+	//region Nearest Icon
+	@ConfigSection(
+		name = "Nearest Icon",
+		description = "Options for pointing the way to the nearest icons of a type.",
+		position = 8,
+		closedByDefault = true
+	)
+	String nearestIconSection = "nearestIconSection";
+
+	@ConfigItem(
+		keyName = "nearestIcon",
+		name = "Icon type",
+		description = "The icon to point the way to, e.g. 'Bank', with an arrow on the minimap and markers on the world map. Only shown icons are found.",
+		position = 1,
+		section = nearestIconSection
+	)
+	default String nearestIcon()
+	{
+		return "";
+	}
+
+	@Range(
+		min = 1,
+		max = 10
+	)
+	@ConfigItem(
+		keyName = "nearestIconCount",
+		name = "Markers",
+		description = "How many of the nearest icons to mark on the world map.",
+		position = 2,
+		section = nearestIconSection
+	)
+	default int nearestIconCount()
+	{
+		return 3;
+	}
+	//endregion
+
+	//region Debug
+	@ConfigSection(
+		name = "Debug",
+		description = "Diagnostic options for measuring the plugin's performance.",
+		position = 9,
+		closedByDefault = true
+	)
+	String debugSection = "debugSection";
+
+	@ConfigItem(
+		keyName = "showDebugMetrics",
+		name = "Show handler timings",
+		description = "Records and displays how long each of the plugin's event handlers take on the client thread.",
+		position = 1,
+		section = debugSection
+	)
+	default boolean showDebugMetrics()
+	{
+		return false;
+	}
+	//endregion
 }
\ No newline at end of file
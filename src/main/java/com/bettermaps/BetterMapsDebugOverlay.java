@@ -0,0 +1,78 @@
+package com.bettermaps;
+
+import java.awt.Dimension;
+import java.awt.Graphics2D;
+import javax.inject.Inject;
+import net.runelite.client.ui.overlay.OverlayPanel;
+import net.runelite.client.ui.overlay.OverlayPosition;
+import net.runelite.client.ui.overlay.components.LineComponent;
+import net.runelite.client.ui.overlay.components.TitleComponent;
+
+/**
+ * Displays the handler timings collected by {@link HandlerTimings}, only while the debug metrics are switched on.
+ */
+class BetterMapsDebugOverlay extends OverlayPanel
+{
+	private static final int PANEL_WIDTH = 240;
+
+	private final BetterMapsPlugin plugin;
+	private final BetterMapsConfig config;
+	private final HandlerTimings timings;
+
+	@Inject
+	private BetterMapsDebugOverlay(BetterMapsPlugin plugin, BetterMapsConfig config, HandlerTimings timings)
+	{
+		super(plugin);
+		this.plugin = plugin;
+		this.config = config;
+		this.timings = timings;
+		setPosition(OverlayPosition.TOP_LEFT);
+	}
+
+	@Override
+	public Dimension render(Graphics2D graphics)
+	{
+		if (!config.showDebugMetrics())
+		{
+			return null;
+		}
+
+		panelComponent.setPreferredSize(new Dimension(PANEL_WIDTH, 0));
+		panelComponent.getChildren().add(TitleComponent.builder()
+			.text("Better Maps (p50 / p99 / max)")
+			.build());
+
+		for (HandlerTimings.Handler handler : HandlerTimings.Handler.values())
+		{
+			panelComponent.getChildren().add(LineComponent.builder()
+				.left(handler.getDisplayName() + " x" + timings.getCount(handler))
+				.right(formatMicros(timings.getPercentile(handler, 0.5)) + " / "
+					+ formatMicros(timings.getPercentile(handler, 0.99)) + " / "
+					+ formatMicros(timings.getMaximum(handler)))
+				.build());
+
+			if (timings.isAllocationTracked())
+			{
+				panelComponent.getChildren().add(LineComponent.builder()
+					.left("  Allocated per call")
+					.right(timings.getAllocatedBytesPerCall(handler) + "B")
+					.build());
+			}
+		}
+
+		if (config.maxVisibleIcons() > 0)
+		{
+			panelComponent.getChildren().add(LineComponent.builder()
+				.left("Icons shed in view")
+				.right(Integer.toString(plugin.getShedIconCount()))
+				.build());
+		}
+
+		return super.render(graphics);
+	}
+
+	private static String formatMicros(long nanos)
+	{
+		return (nanos / 1000) + "us";
+	}
+}
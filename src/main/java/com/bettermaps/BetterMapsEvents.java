@@ -0,0 +1,123 @@
+package com.bettermaps;
+
+import java.util.function.Supplier;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder events emitted around the plugin's more expensive client thread work, so that a recording of a real
+ * session shows where the plugin spends its time alongside the GC and frame data. An event is only created while it
+ * is enabled in a running recording, so nothing is allocated for them otherwise.
+ */
+final class BetterMapsEvents
+{
+	private static final String CATEGORY = "Better Maps";
+	private static final EventType ICON_PASS = EventType.getEventType(IconPass.class);
+	private static final EventType TOOLTIP_REBUILD = EventType.getEventType(TooltipRebuild.class);
+	private static final EventType SCENE_RESCAN = EventType.getEventType(SceneRescan.class);
+	private static final EventType SCENE_RELOAD = EventType.getEventType(SceneReload.class);
+
+	private BetterMapsEvents()
+	{
+	}
+
+	/**
+	 * @return a begun event, or null if it is not enabled
+	 */
+	static IconPass beginIconPass()
+	{
+		return begin(ICON_PASS, IconPass::new);
+	}
+
+	static TooltipRebuild beginTooltipRebuild()
+	{
+		return begin(TOOLTIP_REBUILD, TooltipRebuild::new);
+	}
+
+	static SceneRescan beginSceneRescan()
+	{
+		return begin(SCENE_RESCAN, SceneRescan::new);
+	}
+
+	static SceneReload beginSceneReload()
+	{
+		return begin(SCENE_RELOAD, SceneReload::new);
+	}
+
+	private static <T extends Event> T begin(EventType type, Supplier<T> factory)
+	{
+		if (!type.isEnabled())
+		{
+			return null;
+		}
+
+		final T event = factory.get();
+		event.begin();
+		return event;
+	}
+
+	@Name("com.bettermaps.IconPass")
+	@Label("Icon Pass")
+	@Description("Moves the world map icon sprites of every loaded region on or off screen.")
+	@Category(CATEGORY)
+	@StackTrace(false)
+	static class IconPass extends Event
+	{
+		@Label("Regions Visited")
+		int regionsVisited;
+
+		@Label("Icons Visited")
+		int iconsVisited;
+
+		@Label("Icons Hidden")
+		int iconsHidden;
+
+		@Label("Icons Shed")
+		int iconsShed;
+
+		@Label("Regions Learned")
+		int regionsLearned;
+	}
+
+	@Name("com.bettermaps.TooltipRebuild")
+	@Label("Tooltip Rebuild")
+	@Description("Replaces the tooltip carrying world map points.")
+	@Category(CATEGORY)
+	@StackTrace(false)
+	static class TooltipRebuild extends Event
+	{
+		@Label("Points Removed")
+		int pointsRemoved;
+
+		@Label("Points Added")
+		int pointsAdded;
+	}
+
+	@Name("com.bettermaps.SceneRescan")
+	@Label("Scene Rescan")
+	@Description("Checks the ground object on every tile of the loaded scene against the config.")
+	@Category(CATEGORY)
+	@StackTrace(false)
+	static class SceneRescan extends Event
+	{
+		@Label("Tiles Scanned")
+		int tilesScanned;
+
+		@Label("Ground Objects Removed")
+		int groundObjectsRemoved;
+	}
+
+	@Name("com.bettermaps.SceneReload")
+	@Label("Scene Reload")
+	@Description("Forces the game state back to LOADING so that the minimap is redrawn.")
+	@Category(CATEGORY)
+	@StackTrace(false)
+	static class SceneReload extends Event
+	{
+	}
+}
@@ -1,26 +1,51 @@
 package com.bettermaps;
 
 import com.google.inject.Provides;
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
 import java.awt.image.BufferedImage;
-import java.util.HashSet;
-import java.util.Set;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import javax.inject.Inject;
+import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
+import net.runelite.api.ChatMessageType;
 import net.runelite.api.Client;
 import net.runelite.api.GameState;
 import net.runelite.api.GroundObject;
+import net.runelite.api.MenuAction;
+import net.runelite.api.ObjectComposition;
+import net.runelite.api.Player;
+import net.runelite.api.Point;
+import net.runelite.api.Quest;
 import net.runelite.api.Scene;
 import net.runelite.api.ScriptID;
 import net.runelite.api.SpritePixels;
 import net.runelite.api.Tile;
 import net.runelite.api.coords.WorldPoint;
+import net.runelite.api.events.ChatMessage;
+import net.runelite.api.events.GameStateChanged;
+import net.runelite.api.events.GameTick;
 import net.runelite.api.events.GroundObjectSpawned;
+import net.runelite.api.events.MenuOpened;
 import net.runelite.api.events.ScriptPostFired;
 import net.runelite.api.events.ScriptPreFired;
 import net.runelite.api.events.VarbitChanged;
+import net.runelite.api.gameval.InterfaceID;
 import net.runelite.api.gameval.ObjectID;
 import net.runelite.api.gameval.VarClientID;
+import net.runelite.api.gameval.VarPlayerID;
 import net.runelite.api.gameval.VarbitID;
+import net.runelite.api.widgets.Widget;
 import net.runelite.api.worldmap.MapElementConfig;
 import net.runelite.api.worldmap.WorldMap;
 import net.runelite.api.worldmap.WorldMapIcon;
@@ -33,8 +58,14 @@ import net.runelite.client.events.ConfigChanged;
 import net.runelite.client.plugins.Plugin;
 import net.runelite.client.plugins.PluginDescriptor;
 import net.runelite.client.plugins.PluginManager;
+import net.runelite.client.ui.ClientToolbar;
+import net.runelite.client.ui.JagexColors;
+import net.runelite.client.ui.NavigationButton;
+import net.runelite.client.ui.overlay.OverlayManager;
+import net.runelite.client.ui.overlay.worldmap.WorldMapOverlay;
 import net.runelite.client.ui.overlay.worldmap.WorldMapPoint;
 import net.runelite.client.ui.overlay.worldmap.WorldMapPointManager;
+import net.runelite.client.util.ColorUtil;
 
 /**
  * It is not yet possible to fully hide the world map icons, and a pull request has been open for > 5 years to modify
@@ -65,6 +96,18 @@ public class BetterMapsPlugin extends Plugin
 	private static final int OFFSET_TO_HIDE_ICON_SPRITES = 25000;
 	private static final int WORLDMAP_ELEMENTS_MARKER_SCRIPT_ID = 1757;
 	private static final int WORLDMAP_ELEMENTS_TOOLTIP_SCRIPT_ID = 1847;
+	// The quests checked each game tick by the quest state sweep
+	private static final int QUEST_SWEEP_CHECKS_PER_TICK = 8;
+	// The start of the game message for both a completed quest and a completed miniquest
+	private static final String COMPLETED_MESSAGE_PREFIX = "Congratulations, you've completed a";
+	private static final String HIDE_ICON_OPTION = "Hide icon";
+	private static final int ALL_PLANES = -1;
+	private static final int SEARCH_PANEL_PRIORITY = 7;
+	private static final int CLUSTER_ICON_SIZE = 19;
+	private static final int CLUSTER_TOOLTIP_LINES = 8;
+	private static final Color CLUSTER_COLOUR = new Color(196, 112, 0, 230);
+	// Keeps the cluster cells a sensible size, should the world map report no zoom while it is loading
+	private static final float MINIMUM_ZOOM = 0.5f;
 
 	/**
 	 * Code copied and modified from Runelite worldmap client plugin, used to generate blank icons to hold the tooltips.
@@ -89,6 +132,11 @@ public class BetterMapsPlugin extends Plugin
 		BLANK_QUEST_ICON = new BufferedImage(questIconBufferSize, questIconBufferSize, BufferedImage.TYPE_INT_ARGB);
 	}
 
+	private static final BufferedImage SEARCH_PANEL_ICON = createSearchPanelIcon();
+
+	// A ring drawn around each of the nearest icons, the size of a quest icon so that it surrounds any icon
+	private static final BufferedImage NEAREST_ICON = createNearestIcon();
+
 	@Inject
 	private Client client;
 	@Inject
@@ -101,8 +149,57 @@ public class BetterMapsPlugin extends Plugin
 	private BetterMapsConfig config;
 	@Inject
 	private WorldMapPointManager worldMapPointManager;
+	@Inject
+	private WorldMapOverlay worldMapOverlay;
+	@Inject
+	private OverlayManager overlayManager;
+	@Inject
+	private ClientToolbar clientToolbar;
+	@Inject
+	private BetterMapsDebugOverlay debugOverlay;
+	@Inject
+	private NearestIconOverlay nearestIconOverlay;
+	@Inject
+	private HandlerTimings handlerTimings;
+	@Inject
+	private LearnedIconLocations learnedIconLocations;
+	@Inject
+	private ScheduledExecutorService executor;
 
+	private volatile CompiledTables compiledTables;
+	// Built by the warm-up on the executor, and taken by the first tooltip build on the client thread
+	private final AtomicReference<IconLocations> warmIconLocations = new AtomicReference<>();
+	// The version of the learned locations the warmed up locations were built from, guarded by warmIconLocations
+	private int warmLearnedVersion;
+	private IconLocations iconLocations;
+	// Incremented on every config change, so that only the latest of several queued changes is applied
+	private final AtomicInteger configGeneration = new AtomicInteger();
+	// The tooltip of each icon location, rebuilt only when the locations or the settings they depend on change
+	private String[] tooltips;
+	private int tooltipFlags;
 	private boolean showTooltips;
+	private int tooltipPointCount;
+
+	private final QuestStates questStates = new QuestStates();
+	private final HiddenQuests hiddenQuests = new HiddenQuests();
+	private boolean questStatesLoaded;
+	private boolean questStateRefreshQueued;
+	// With any quests hidden, the quest sprites are hidden and the remaining quests are drawn as map points
+	private boolean questStartIconsDrawn;
+	private BufferedImage questStartImage;
+
+	private boolean clusterIcons;
+	private int clusterCellTiles;
+	// The plane whose icons have world map points, or every plane
+	private boolean playerPlaneOnly;
+	private int livePlane = ALL_PLANES;
+	private final IconClusters iconClusters = new IconClusters();
+	// The game's sprite for each icon, indexed by MapIcons ordinal, captured for drawing unclustered icons
+	private final BufferedImage[] iconImages = new BufferedImage[MapIcons.values().length];
+	// The icon types whose sprites have been saved this launch
+	private final BitSet savedSprites = new BitSet();
+	// The cluster images by count, with the last holding every larger count
+	private final BufferedImage[] clusterImages = new BufferedImage[100];
 
 	private boolean worldMapTransportationTooltips;
 	private boolean worldMapAgilityCourseTooltips;
@@ -114,22 +211,57 @@ public class BetterMapsPlugin extends Plugin
 	private boolean worldMapDungeonTooltips;
 	private boolean worldMapHunterTooltips;
 	private boolean worldMapFishingTooltips;
+	private int coreTooltipFlags;
 
 	@Override
 	protected void startUp() throws Exception
 	{
+		handlerTimings.setEnabled(config.showDebugMetrics());
+		overlayManager.add(debugOverlay);
+		overlayManager.add(nearestIconOverlay);
+		searchNavigationButton = NavigationButton.builder()
+			.tooltip("Better Maps search")
+			.icon(SEARCH_PANEL_ICON)
+			.priority(SEARCH_PANEL_PRIORITY)
+			.panel(new IconSearchPanel(this::showOnWorldMap))
+			.build();
+		updateSearchPanel();
+		updateDerivedConfig();
+		learnedIconLocations.load(() -> clientThread.invoke(this::rebuildIconLocations));
+		// The client's executor runs one task at a time, so this only starts once the learned locations have been read
+		final int revision = client.getRevision();
+		final int questTolerance = config.questMatchTolerance();
+		executor.execute(() -> warmUp(revision, questTolerance));
+
 		if (client.getGameState() == GameState.LOGGED_IN)
 		{
 			checkConfigForClashes();
 			addTooltipsToWorldMap();
 			updateWorldMapIcons();
 			refreshSceneGroundObjects();
+			queueQuestStateRefresh();
 		}
 	}
 
 	@Override
 	protected void shutDown() throws Exception
 	{
+		overlayManager.remove(debugOverlay);
+		overlayManager.remove(nearestIconOverlay);
+		clientToolbar.removeNavigation(searchNavigationButton);
+		searchPanelShown = false;
+		handlerTimings.setEnabled(false);
+		handlerTimings.reset();
+
+		// Drops any config change still queued, so it does not add the icons back after shutting down
+		configGeneration.incrementAndGet();
+		learnedIconLocations.flush();
+		warmIconLocations.set(null);
+		iconLocations = null;
+		tooltips = null;
+		questStates.reset();
+		questStatesLoaded = false;
+
 		resetWorldMapIcons();
 		refreshSceneGroundObjects();
 	}
@@ -137,13 +269,104 @@ public class BetterMapsPlugin extends Plugin
 	@Subscribe
 	public void onConfigChanged(ConfigChanged event)
 	{
-		if (event.getGroup().equals(CONFIG_GROUP))
+		if (!event.getGroup().equals(CONFIG_GROUP))
+		{
+			return;
+		}
+
+		if (event.getKey().equals("showDebugMetrics"))
+		{
+			// Only affects the debug overlay, so there is no need to rebuild the icons
+			handlerTimings.reset();
+			handlerTimings.setEnabled(config.showDebugMetrics());
+			return;
+		}
+		if (event.getKey().equals("showSearchPanel"))
+		{
+			updateSearchPanel();
+			return;
+		}
+
+		final int generation = configGeneration.incrementAndGet();
+		clientThread.invokeLater(() -> applyConfig(generation));
+	}
+
+	/**
+	 * Rebuilds everything for the config, unless it has changed again since, in which case the rebuild queued for the
+	 * later change applies it instead. Clicking quickly through the config panel therefore only rebuilds once.
+	 */
+	private void applyConfig(int generation)
+	{
+		if (generation != configGeneration.get())
+		{
+			return;
+		}
+
+		final long start = handlerTimings.start(HandlerTimings.Handler.CONFIG_CHANGED);
+		updateDerivedConfig();
+		checkConfigForClashes();
+		addTooltipsToWorldMap();
+		updateWorldMapIcons();
+		refreshSceneGroundObjects();
+		updateNearestIcons();
+		handlerTimings.record(HandlerTimings.Handler.CONFIG_CHANGED, start);
+
+		if (!questStatesLoaded)
+		{
+			queueQuestStateRefresh();
+		}
+	}
+
+	@Subscribe
+	public void onGameStateChanged(GameStateChanged gameStateChanged)
+	{
+		switch (gameStateChanged.getGameState())
+		{
+			case LOGIN_SCREEN:
+			case HOPPING:
+				// The next login may be a different account
+				questStates.reset();
+				questStatesLoaded = false;
+				break;
+			case LOGGED_IN:
+				if (!questStatesLoaded)
+				{
+					queueQuestStateRefresh();
+				}
+				break;
+		}
+	}
+
+	@Subscribe
+	public void onGameTick(GameTick gameTick)
+	{
+		if (questStatesLoaded && config.hideCompletedQuests() && questStates.sweep(client, QUEST_SWEEP_CHECKS_PER_TICK))
 		{
-			checkConfigForClashes();
 			addTooltipsToWorldMap();
-			updateWorldMapIcons();
 			refreshSceneGroundObjects();
 		}
+		if (nearestIcon == null && minimapIconRadius == 0 && !playerPlaneOnly)
+		{
+			return;
+		}
+
+		final long start = handlerTimings.start(HandlerTimings.Handler.GAME_TICK);
+		final Player player = client.getLocalPlayer();
+		if (player != null)
+		{
+			final WorldPoint location = player.getWorldLocation();
+			// The nearest icons are only found again once the player reaches another region or plane
+			if (nearestIcon != null && (location.getRegionID() != nearestIconsRegionId
+				|| location.getPlane() != nearestIconsPlane || nearestIconsSource != iconLocations))
+			{
+				updateNearestIcons();
+			}
+			if (playerPlaneOnly && location.getPlane() != livePlane)
+			{
+				addTooltipsToWorldMap();
+			}
+		}
+		handlerTimings.record(HandlerTimings.Handler.GAME_TICK, start);
 	}
 
 	@Subscribe
@@ -158,6 +381,7 @@ public class BetterMapsPlugin extends Plugin
 	@Subscribe
 	public void onScriptPostFired(ScriptPostFired scriptPostFired)
 	{
+		final long start = handlerTimings.start(HandlerTimings.Handler.SCRIPT_POST_FIRED);
 		if (scriptPostFired.getScriptId() == ScriptID.WORLDMAP_LOADMAP)
 		{
 			checkConfigForClashes();
@@ -168,6 +392,83 @@ public class BetterMapsPlugin extends Plugin
 			// this is called whenever the map is changed, since it needs to dynamically load the map area viewed
 			updateWorldMapIcons();
 		}
+		handlerTimings.record(HandlerTimings.Handler.SCRIPT_POST_FIRED, start);
+	}
+
+	/**
+	 * Adds an option to hide the icon under the mouse when the menu is opened on the world map, which adds its location
+	 * to the hidden icons in the config.
+	 */
+	@Subscribe
+	public void onMenuOpened(MenuOpened menuOpened)
+	{
+		final Widget map = client.getWidget(InterfaceID.Worldmap.MAP_CONTAINER);
+		if (map == null || map.isHidden() || iconLocations == null)
+		{
+			return;
+		}
+
+		final Point mouse = client.getMouseCanvasPosition();
+		if (!map.getBounds().contains(mouse.getX(), mouse.getY()))
+		{
+			return;
+		}
+
+		final int index = findShownIconAt(mouse);
+		if (index < 0)
+		{
+			return;
+		}
+
+		final WorldPoint location = iconLocations.getPoint(index);
+		final Quest quest = iconLocations.getQuest(index);
+		final String name = quest != null ? quest.getName() : iconLocations.getIcon(index).getDefaultTooltip();
+		client.createMenuEntry(-1)
+			.setOption(HIDE_ICON_OPTION)
+			.setTarget(ColorUtil.wrapWithColorTag(name, JagexColors.MENU_TARGET))
+			.setType(MenuAction.RUNELITE)
+			.onClick(entry -> hideIcon(location));
+	}
+
+	/**
+	 * @return the index of the shown icon location drawn nearest the mouse, within the icon's size of it, or -1 if
+	 * there is none. This checks every location, as it only runs when a menu is opened.
+	 */
+	private int findShownIconAt(Point mouse)
+	{
+		int nearest = -1;
+		int nearestDistance = Integer.MAX_VALUE;
+		for (int index = 0; index < iconLocations.size(); index++)
+		{
+			if (!isOnLivePlane(index) || !isShown(index))
+			{
+				continue;
+			}
+
+			final Point drawn = worldMapOverlay.mapWorldPointToGraphicsPoint(iconLocations.getPoint(index));
+			if (drawn == null)
+			{
+				continue;
+			}
+
+			final int radius = (iconLocations.getIcon(index) == MapIcons.QUEST_START ? BLANK_QUEST_ICON : BLANK_ICON)
+				.getWidth() / 2;
+			final int dx = drawn.getX() - mouse.getX(), dy = drawn.getY() - mouse.getY();
+			final int distance = dx * dx + dy * dy;
+			if (distance <= radius * radius && distance < nearestDistance)
+			{
+				nearest = index;
+				nearestDistance = distance;
+			}
+		}
+		return nearest;
+	}
+
+	private void hideIcon(WorldPoint location)
+	{
+		final String hidden = config.hiddenIcons().strip();
+		final String entry = location.getX() + "," + location.getY() + "," + location.getPlane();
+		configManager.setConfiguration(CONFIG_GROUP, "hiddenIcons", hidden.isEmpty() ? entry : hidden + "\n" + entry);
 	}
 
 	@Subscribe
@@ -179,483 +480,602 @@ public class BetterMapsPlugin extends Plugin
 			checkConfigForClashes();
 			addTooltipsToWorldMap();
 		}
+		else if (varbitChanged.getVarpId() == VarPlayerID.QP)
+		{
+			// Quest points only change when a quest is completed
+			queueQuestStateRefresh();
+		}
+	}
+
+	@Subscribe
+	public void onChatMessage(ChatMessage chatMessage)
+	{
+		// Miniquests give no quest points, so their completion message is the only sign one has been completed
+		if (questStatesLoaded && chatMessage.getType() == ChatMessageType.GAMEMESSAGE
+			&& chatMessage.getMessage().startsWith(COMPLETED_MESSAGE_PREFIX))
+		{
+			questStates.startSweep();
+		}
+	}
+
+	/**
+	 * Refreshes the completed quests once the current client thread work has finished, as checking them runs client
+	 * scripts. Any number of calls before then are handled by the one refresh.
+	 */
+	private void queueQuestStateRefresh()
+	{
+		if (!config.hideCompletedQuests())
+		{
+			// Completions are not tracked while the option is off, so they must all be checked when it is turned on
+			questStatesLoaded = false;
+			return;
+		}
+		if (questStateRefreshQueued)
+		{
+			return;
+		}
+
+		questStateRefreshQueued = true;
+		clientThread.invokeLater(() ->
+		{
+			questStateRefreshQueued = false;
+			if (client.getGameState() != GameState.LOGGED_IN)
+			{
+				return;
+			}
+
+			questStatesLoaded = true;
+			if (questStates.refresh(client))
+			{
+				addTooltipsToWorldMap();
+				refreshSceneGroundObjects();
+			}
+		});
 	}
 
-	private Set<Integer> wantedCategories = new HashSet<>();
+	private final BitSet wantedCategories = new BitSet();
+	private final ZoomThresholds zoomThresholds = new ZoomThresholds();
+	// The wanted categories which are hidden at the current world map zoom
+	private final BitSet zoomHiddenCategories = new BitSet();
+	// The icons of the region being visited by the icon pass
+	private WorldMapIcon[] regionIcons = new WorldMapIcon[64];
+	// The wanted categories which are hidden to keep the icons in view within the maximum
+	private final IconDensityBudget densityBudget = new IconDensityBudget();
+	private final BitSet shedCategories = new BitSet();
+	private int maxVisibleIcons;
+	@Getter
+	private int shedIconCount;
+	private final AreaRules areaRules = new AreaRules();
+	private final HiddenIcons hiddenIcons = new HiddenIcons();
+
+	// Icons further than this from the player when they spawn are culled from the minimap, or none if 0
+	private int minimapIconRadius;
+
+	private NavigationButton searchNavigationButton;
+	private boolean searchPanelShown;
+
+	private final NearestIcons nearestIcons = new NearestIcons();
+	private MapIcons nearestIcon;
+	// The icon locations the nearest icons were indexed from, and the player's region and plane when they were last
+	// found. The index holds every location, with those not enabled skipped when searching, so it does not change with
+	// the config
+	private IconLocations nearestIconsSource;
+	private int nearestIconsRegionId = -1;
+	private int nearestIconsPlane;
+	private int[] nearestIconResults = new int[0];
+	@Getter
+	private WorldPoint nearestIconTarget;
 
 	private void checkConfigForClashes()
 	{
 		// Firstly, gets the config information from the existing client 'World Map' plugin. Then, collects the settings
 		// specified for this plugin, and compares to inform the user if there is likely to be a clash.
 		checkRuneliteWorldMapClientPluginSettings();
+		updateWantedCategories();
+	}
+
+	/**
+	 * Parses the settings worked out from the config rather than read from it as they are needed, which only change when
+	 * the config does.
+	 */
+	private void updateDerivedConfig()
+	{
+		hiddenQuests.update(config.hiddenQuests());
+		if (zoomThresholds.update(config.minimumZoomLevels()))
+		{
+			// Worked out again for the new thresholds by the next icon pass
+			zoomHiddenCategories.clear();
+		}
+		questStartIconsDrawn = config.questStartIcon() && (config.hideCompletedQuests() || !hiddenQuests.isEmpty());
+		clusterIcons = config.clusterIcons();
+		areaRules.update(config.areaHideRules());
+		hiddenIcons.update(config.hiddenIcons());
+		minimapIconRadius = config.minimapIconRadius();
+		playerPlaneOnly = config.playerPlaneOnly();
+		maxVisibleIcons = config.maxVisibleIcons();
+		if (densityBudget.update(config.iconPriority()) || maxVisibleIcons == 0)
+		{
+			// Worked out again for the new order by the next icon pass
+			shedCategories.clear();
+			shedIconCount = 0;
+		}
+		final MapIcons configuredNearestIcon = config.nearestIcon().isBlank() ? null : ConfigNames.findIcon(config.nearestIcon());
+		if (configuredNearestIcon != nearestIcon || config.nearestIconCount() != nearestIconResults.length)
+		{
+			nearestIcon = configuredNearestIcon;
+			nearestIconResults = new int[config.nearestIconCount()];
+		}
+	}
 
+	private void updateWantedCategories()
+	{
 		wantedCategories.clear();
 		// Always add the map link category back in, since the icons do not actually appear to be icons like the others
-		wantedCategories.add(MapIcons.MAP_LINK.getCategory());
+		wantedCategories.set(MapIcons.MAP_LINK.getCategory());
 
 		if (config.agilityCoursesIcon())
 		{
-			wantedCategories.add(MapIcons.AGILITY_TRAINING.getCategory());
+			wantedCategories.set(MapIcons.AGILITY_TRAINING.getCategory());
 		}
 		if (config.agilityShortcutsIcon())
 		{
-			wantedCategories.add(MapIcons.AGILITY_SHORTCUT.getCategory());
+			wantedCategories.set(MapIcons.AGILITY_SHORTCUT.getCategory());
 		}
 		if (config.altarIcon())
 		{
-			wantedCategories.add(MapIcons.ALTAR.getCategory());
+			wantedCategories.set(MapIcons.ALTAR.getCategory());
 		}
 		if (config.amuletshopIcon())
 		{
-			wantedCategories.add(MapIcons.AMULET_SHOP.getCategory());
+			wantedCategories.set(MapIcons.AMULET_SHOP.getCategory());
 		}
 		if (config.anvilIcon())
 		{
-			wantedCategories.add(MapIcons.ANVIL.getCategory());
+			wantedCategories.set(MapIcons.ANVIL.getCategory());
 		}
 		if (config.apothecaryIcon())
 		{
-			wantedCategories.add(MapIcons.APOTHECARY.getCategory());
+			wantedCategories.set(MapIcons.APOTHECARY.getCategory());
 		}
 		if (config.archeryshopIcon())
 		{
-			wantedCategories.add(MapIcons.ARCHERY_SHOP.getCategory());
+			wantedCategories.set(MapIcons.ARCHERY_SHOP.getCategory());
 		}
 		if (config.axeshopIcon())
 		{
-			wantedCategories.add(MapIcons.AXE_SHOP.getCategory());
+			wantedCategories.set(MapIcons.AXE_SHOP.getCategory());
 		}
 		if (config.bankIcon())
 		{
-			wantedCategories.add(MapIcons.BANK.getCategory());
+			wantedCategories.set(MapIcons.BANK.getCategory());
 		}
 		if (config.bankTutorIcon())
 		{
-			wantedCategories.add(MapIcons.BANK_TUTOR.getCategory());
+			wantedCategories.set(MapIcons.BANK_TUTOR.getCategory());
 		}
 		if (config.birdHouseIcon())
 		{
-			wantedCategories.add(MapIcons.BIRD_HOUSE_SITE.getCategory());
+			wantedCategories.set(MapIcons.BIRD_HOUSE_SITE.getCategory());
 		}
 		if (config.bondTutorIcon())
 		{
-			wantedCategories.add(MapIcons.BOND_TUTOR.getCategory());
+			wantedCategories.set(MapIcons.BOND_TUTOR.getCategory());
 		}
 		if (config.bountyHunterIcon())
 		{
-			wantedCategories.add(MapIcons.BOUNTY_HUNTER_TRADER.getCategory());
+			wantedCategories.set(MapIcons.BOUNTY_HUNTER_TRADER.getCategory());
 		}
 		if (config.breweryIcon())
 		{
-			wantedCategories.add(MapIcons.BREWERY.getCategory());
+			wantedCategories.set(MapIcons.BREWERY.getCategory());
 		}
 		if (config.candleShopIcon())
 		{
-			wantedCategories.add(MapIcons.CANDLE_SHOP.getCategory());
+			wantedCategories.set(MapIcons.CANDLE_SHOP.getCategory());
 		}
 		if (config.chainbodyShopIcon())
 		{
-			wantedCategories.add(MapIcons.CHAINMAIL_SHOP.getCategory());
+			wantedCategories.set(MapIcons.CHAINMAIL_SHOP.getCategory());
 		}
 		if (config.clanHubIcon())
 		{
-			wantedCategories.add(MapIcons.CLAN_HUB.getCategory());
+			wantedCategories.set(MapIcons.CLAN_HUB.getCategory());
 		}
 		if (config.clothesShopIcon())
 		{
-			wantedCategories.add(MapIcons.CLOTHES_SHOP.getCategory());
+			wantedCategories.set(MapIcons.CLOTHES_SHOP.getCategory());
 		}
 		if (config.clueTutorIcon())
 		{
-			wantedCategories.add(MapIcons.CLUE_TUTOR.getCategory());
+			wantedCategories.set(MapIcons.CLUE_TUTOR.getCategory());
 		}
 		if (config.combatAchievementsIcon())
 		{
-			wantedCategories.add(MapIcons.COMBAT_ACHIEVEMENTS.getCategory());
+			wantedCategories.set(MapIcons.COMBAT_ACHIEVEMENTS.getCategory());
 		}
 		if (config.combatTrainingIcon())
 		{
-			wantedCategories.add(MapIcons.COMBAT_TRAINING.getCategory());
+			wantedCategories.set(MapIcons.COMBAT_TRAINING.getCategory());
 		}
 		if (config.combatTutorIcon())
 		{
-			wantedCategories.add(MapIcons.COMBAT_TUTOR.getCategory());
+			wantedCategories.set(MapIcons.COMBAT_TUTOR.getCategory());
 		}
 		if (config.cookingRangeIcon())
 		{
-			wantedCategories.add(MapIcons.COOKING_RANGE.getCategory());
+			wantedCategories.set(MapIcons.COOKING_RANGE.getCategory());
 		}
 		if (config.cookingTutorIcon())
 		{
-			wantedCategories.add(MapIcons.COOKING_TUTOR.getCategory());
+			wantedCategories.set(MapIcons.COOKING_TUTOR.getCategory());
 		}
 		if (config.craftingShopIcon())
 		{
-			wantedCategories.add(MapIcons.CRAFTING_SHOP.getCategory());
+			wantedCategories.set(MapIcons.CRAFTING_SHOP.getCategory());
 		}
 		if (config.craftingTutorIcon())
 		{
-			wantedCategories.add(MapIcons.CRAFTING_TUTOR.getCategory());
+			wantedCategories.set(MapIcons.CRAFTING_TUTOR.getCategory());
 		}
 		if (config.dairyChurnIcon())
 		{
-			wantedCategories.add(MapIcons.DAIRY_CHURN.getCategory());
+			wantedCategories.set(MapIcons.DAIRY_CHURN.getCategory());
 		}
 		if (config.dairyCowIcon())
 		{
-			wantedCategories.add(MapIcons.DAIRY_COW.getCategory());
+			wantedCategories.set(MapIcons.DAIRY_COW.getCategory());
 		}
 		if (config.dangerTutorIcon())
 		{
-			wantedCategories.add(MapIcons.DANGER_TUTOR.getCategory());
+			wantedCategories.set(MapIcons.DANGER_TUTOR.getCategory());
 		}
 		if (config.deadmanTutorIcon())
 		{
-			wantedCategories.add(MapIcons.DEADMAN_TUTOR.getCategory());
+			wantedCategories.set(MapIcons.DEADMAN_TUTOR.getCategory());
 		}
 		if (config.deathsOfficeIcon())
 		{
-			wantedCategories.add(MapIcons.DEATHS_OFFICE.getCategory());
+			wantedCategories.set(MapIcons.DEATHS_OFFICE.getCategory());
 		}
 		if (config.distractionAndDiversionIcon())
 		{
-			wantedCategories.add(MapIcons.DISTRACTION_AND_DIVERSION.getCategory());
+			wantedCategories.set(MapIcons.DISTRACTION_AND_DIVERSION.getCategory());
 		}
 		if (config.dungeonIcon())
 		{
-			wantedCategories.add(MapIcons.DUNGEON.getCategory());
+			wantedCategories.set(MapIcons.DUNGEON.getCategory());
 		}
 		if (config.dyeTraderIcon())
 		{
-			wantedCategories.add(MapIcons.DYE_TRADER.getCategory());
+			wantedCategories.set(MapIcons.DYE_TRADER.getCategory());
 		}
 		if (config.estateAgentIcon())
 		{
-			wantedCategories.add(MapIcons.ESTATE_AGENT.getCategory());
+			wantedCategories.set(MapIcons.ESTATE_AGENT.getCategory());
 		}
 		if (config.farmingPatchIcon())
 		{
-			wantedCategories.add(MapIcons.FARMING_PATCH.getCategory());
+			wantedCategories.set(MapIcons.FARMING_PATCH.getCategory());
 		}
 		if (config.farmingShopIcon())
 		{
-			wantedCategories.add(MapIcons.FARMING_SHOP.getCategory());
+			wantedCategories.set(MapIcons.FARMING_SHOP.getCategory());
 		}
 		if (config.fishingShopIcon())
 		{
-			wantedCategories.add(MapIcons.FISHING_SHOP.getCategory());
+			wantedCategories.set(MapIcons.FISHING_SHOP.getCategory());
 		}
 		if (config.fishingSpotIcon())
 		{
-			wantedCategories.add(MapIcons.FISHING_SPOT.getCategory());
+			wantedCategories.set(MapIcons.FISHING_SPOT.getCategory());
 		}
 		if (config.fishingTutorIcon())
 		{
-			wantedCategories.add(MapIcons.FISHING_TUTOR.getCategory());
+			wantedCategories.set(MapIcons.FISHING_TUTOR.getCategory());
 		}
 		if (config.foodShopIcon())
 		{
-			wantedCategories.add(MapIcons.FOOD_SHOP.getCategory());
+			wantedCategories.set(MapIcons.FOOD_SHOP.getCategory());
 		}
 		if (config.forestryShopIcon())
 		{
-			wantedCategories.add(MapIcons.FORESTRY_SHOP.getCategory());
+			wantedCategories.set(MapIcons.FORESTRY_SHOP.getCategory());
 		}
 		if (config.furTraderIcon())
 		{
-			wantedCategories.add(MapIcons.FUR_TRADER.getCategory());
+			wantedCategories.set(MapIcons.FUR_TRADER.getCategory());
 		}
 		if (config.furnaceIcon())
 		{
-			wantedCategories.add(MapIcons.FURNACE.getCategory());
+			wantedCategories.set(MapIcons.FURNACE.getCategory());
 		}
 		if (config.gardenSupplierIcon())
 		{
-			wantedCategories.add(MapIcons.GARDEN_SUPPLIER.getCategory());
+			wantedCategories.set(MapIcons.GARDEN_SUPPLIER.getCategory());
 		}
 		if (config.gemShopIcon())
 		{
-			wantedCategories.add(MapIcons.GEM_SHOP.getCategory());
+			wantedCategories.set(MapIcons.GEM_SHOP.getCategory());
 		}
 		if (config.generalStoreIcon())
 		{
-			wantedCategories.add(MapIcons.GENERAL_STORE.getCategory());
+			wantedCategories.set(MapIcons.GENERAL_STORE.getCategory());
 		}
 		if (config.grandExchangeIcon())
 		{
-			wantedCategories.add(MapIcons.GRAND_EXCHANGE.getCategory());
+			wantedCategories.set(MapIcons.GRAND_EXCHANGE.getCategory());
 		}
 		if (config.grindstoneIcon())
 		{
-			wantedCategories.add(MapIcons.GRINDSTONE.getCategory());
+			wantedCategories.set(MapIcons.GRINDSTONE.getCategory());
 		}
 		if (config.hairdresserIcon())
 		{
-			wantedCategories.add(MapIcons.HAIRDRESSER.getCategory());
+			wantedCategories.set(MapIcons.HAIRDRESSER.getCategory());
 		}
 		if (config.helmetShopIcon())
 		{
-			wantedCategories.add(MapIcons.HELMET_SHOP.getCategory());
+			wantedCategories.set(MapIcons.HELMET_SHOP.getCategory());
 		}
 		if (config.herbalistIcon())
 		{
-			wantedCategories.add(MapIcons.HERBALIST.getCategory());
+			wantedCategories.set(MapIcons.HERBALIST.getCategory());
 		}
 		if (config.holidayEventIcon())
 		{
-			wantedCategories.add(HOLIDAY_EVENT_ICON_CATEGORY); // treated differently to avoid needing coordinates
+			wantedCategories.set(HOLIDAY_EVENT_ICON_CATEGORY); // treated differently to avoid needing coordinates
 		}
 		if (config.holidayItemTraderIcon())
 		{
-			wantedCategories.add(MapIcons.HOLIDAY_ITEM_TRADER.getCategory());
+			wantedCategories.set(MapIcons.HOLIDAY_ITEM_TRADER.getCategory());
 		}
 		if (config.housePortalIcon())
 		{
-			wantedCategories.add(MapIcons.HOUSE_PORTAL.getCategory());
+			wantedCategories.set(MapIcons.HOUSE_PORTAL.getCategory());
 		}
 		if (config.hunterShopIcon())
 		{
-			wantedCategories.add(MapIcons.HUNTER_SHOP.getCategory());
+			wantedCategories.set(MapIcons.HUNTER_SHOP.getCategory());
 		}
 		if (config.hunterTrainingIcon())
 		{
-			wantedCategories.add(MapIcons.HUNTER_TRAINING.getCategory());
+			wantedCategories.set(MapIcons.HUNTER_TRAINING.getCategory());
 		}
 		if (config.hunterTutorIcon())
 		{
-			wantedCategories.add(MapIcons.HUNTER_TUTOR.getCategory());
+			wantedCategories.set(MapIcons.HUNTER_TUTOR.getCategory());
 		}
 		if (config.ironmanTutorIcon())
 		{
-			wantedCategories.add(MapIcons.IRONMAN_TUTOR.getCategory());
+			wantedCategories.set(MapIcons.IRONMAN_TUTOR.getCategory());
 		}
 		if (config.jewelleryShopIcon())
 		{
-			wantedCategories.add(MapIcons.JEWELLERY_SHOP.getCategory());
+			wantedCategories.set(MapIcons.JEWELLERY_SHOP.getCategory());
 		}
 		if (config.junkCheckerIcon())
 		{
-			wantedCategories.add(MapIcons.JUNK_CHECKER.getCategory());
+			wantedCategories.set(MapIcons.JUNK_CHECKER.getCategory());
 		}
 		if (config.leaguesTutorIcon())
 		{
-			wantedCategories.add(MapIcons.LEAGUES_TUTOR.getCategory());
+			wantedCategories.set(MapIcons.LEAGUES_TUTOR.getCategory());
 		}
 		if (config.loomIcon())
 		{
-			wantedCategories.add(MapIcons.LOOM.getCategory());
+			wantedCategories.set(MapIcons.LOOM.getCategory());
 		}
 		if (config.lumbridgeGuideIcon())
 		{
-			wantedCategories.add(MapIcons.LUMBRIDGE_GUIDE.getCategory());
+			wantedCategories.set(MapIcons.LUMBRIDGE_GUIDE.getCategory());
 		}
 		if (config.maceShopIcon())
 		{
-			wantedCategories.add(MapIcons.MACE_SHOP.getCategory());
+			wantedCategories.set(MapIcons.MACE_SHOP.getCategory());
 		}
 		if (config.magicShopIcon())
 		{
-			wantedCategories.add(MapIcons.MAGIC_SHOP.getCategory());
+			wantedCategories.set(MapIcons.MAGIC_SHOP.getCategory());
 		}
 		if (config.makeoverMageIcon())
 		{
-			wantedCategories.add(MapIcons.MAKEOVER_MAGE.getCategory());
+			wantedCategories.set(MapIcons.MAKEOVER_MAGE.getCategory());
 		}
 		if (config.minigameIcon())
 		{
-			wantedCategories.add(MapIcons.MINIGAME.getCategory());
+			wantedCategories.set(MapIcons.MINIGAME.getCategory());
 		}
 		if (config.miningShopIcon())
 		{
-			wantedCategories.add(MapIcons.MINING_SHOP.getCategory());
+			wantedCategories.set(MapIcons.MINING_SHOP.getCategory());
 		}
 		if (config.miningSiteIcon())
 		{
-			wantedCategories.add(MapIcons.MINING_SITE.getCategory());
+			wantedCategories.set(MapIcons.MINING_SITE.getCategory());
 		}
 		if (config.miningTutorIcon())
 		{
-			wantedCategories.add(MapIcons.MINING_TUTOR.getCategory());
+			wantedCategories.set(MapIcons.MINING_TUTOR.getCategory());
 		}
 		if (config.newspaperTraderIcon())
 		{
-			wantedCategories.add(MapIcons.NEWSPAPER_TRADER.getCategory());
+			wantedCategories.set(MapIcons.NEWSPAPER_TRADER.getCategory());
 		}
 		if (config.petShopIcon())
 		{
-			wantedCategories.add(MapIcons.PET_SHOP.getCategory());
+			wantedCategories.set(MapIcons.PET_SHOP.getCategory());
 		}
 		if (config.platebodyShopIcon())
 		{
-			wantedCategories.add(MapIcons.PLATEBODY_SHOP.getCategory());
+			wantedCategories.set(MapIcons.PLATEBODY_SHOP.getCategory());
 		}
 		if (config.platelegsShopIcon())
 		{
-			wantedCategories.add(MapIcons.PLATELEGS_SHOP.getCategory());
+			wantedCategories.set(MapIcons.PLATELEGS_SHOP.getCategory());
 		}
 		if (config.plateskirtShopIcon())
 		{
-			wantedCategories.add(MapIcons.PLATESKIRT_SHOP.getCategory());
+			wantedCategories.set(MapIcons.PLATESKIRT_SHOP.getCategory());
 		}
 		if (config.polishingWheelIcon())
 		{
-			wantedCategories.add(MapIcons.POLISHING_WHEEL.getCategory());
+			wantedCategories.set(MapIcons.POLISHING_WHEEL.getCategory());
 		}
 		if (config.pollBoothIcon())
 		{
-			wantedCategories.add(MapIcons.POLL_BOOTH.getCategory());
+			wantedCategories.set(MapIcons.POLL_BOOTH.getCategory());
 		}
 		if (config.potteryWheelIcon())
 		{
-			wantedCategories.add(MapIcons.POTTERY_WHEEL.getCategory());
+			wantedCategories.set(MapIcons.POTTERY_WHEEL.getCategory());
 		}
 		if (config.prayerTutorIcon())
 		{
-			wantedCategories.add(MapIcons.PRAYER_TUTOR.getCategory());
+			wantedCategories.set(MapIcons.PRAYER_TUTOR.getCategory());
 		}
 		if (config.pricingExpertIcon())
 		{
-			wantedCategories.add(MapIcons.PRICING_EXPERT.getCategory());
+			wantedCategories.set(MapIcons.PRICING_EXPERT.getCategory());
 		}
 		if (config.pubIcon())
 		{
-			wantedCategories.add(MapIcons.PUB.getCategory());
+			wantedCategories.set(MapIcons.PUB.getCategory());
 		}
 		if (config.questStartIcon())
 		{
-			wantedCategories.add(MapIcons.QUEST_START.getCategory());
+			wantedCategories.set(MapIcons.QUEST_START.getCategory());
 		}
 		if (config.raidIcon())
 		{
-			wantedCategories.add(MapIcons.RAID.getCategory());
+			wantedCategories.set(MapIcons.RAID.getCategory());
 		}
 		if (config.rareTreesIcon())
 		{
-			wantedCategories.add(MapIcons.RARE_TREES.getCategory());
+			wantedCategories.set(MapIcons.RARE_TREES.getCategory());
 		}
 		if (config.ropeTraderIcon())
 		{
-			wantedCategories.add(MapIcons.ROPE_TRADER.getCategory());
+			wantedCategories.set(MapIcons.ROPE_TRADER.getCategory());
 		}
 		if (config.sandpitIcon())
 		{
-			wantedCategories.add(MapIcons.SANDPIT.getCategory());
+			wantedCategories.set(MapIcons.SANDPIT.getCategory());
 		}
 		if (config.sawmillIcon())
 		{
-			wantedCategories.add(MapIcons.SAWMILL.getCategory());
+			wantedCategories.set(MapIcons.SAWMILL.getCategory());
 		}
 		if (config.scimitarShopIcon())
 		{
-			wantedCategories.add(MapIcons.SCIMITAR_SHOP.getCategory());
+			wantedCategories.set(MapIcons.SCIMITAR_SHOP.getCategory());
 		}
 		if (config.securityTutorIcon())
 		{
-			wantedCategories.add(MapIcons.SECURITY_TUTOR.getCategory());
+			wantedCategories.set(MapIcons.SECURITY_TUTOR.getCategory());
 		}
 		if (config.shieldShopIcon())
 		{
-			wantedCategories.add(MapIcons.SHIELD_SHOP.getCategory());
+			wantedCategories.set(MapIcons.SHIELD_SHOP.getCategory());
 		}
 		if (config.silkTraderIcon())
 		{
-			wantedCategories.add(MapIcons.SILK_TRADER.getCategory());
+			wantedCategories.set(MapIcons.SILK_TRADER.getCategory());
 		}
 		if (config.silverShopIcon())
 		{
-			wantedCategories.add(MapIcons.SILVER_SHOP.getCategory());
+			wantedCategories.set(MapIcons.SILVER_SHOP.getCategory());
 		}
 		if (config.singingBowlIcon())
 		{
-			wantedCategories.add(MapIcons.SINGING_BOWL.getCategory());
+			wantedCategories.set(MapIcons.SINGING_BOWL.getCategory());
 		}
 		if (config.slayerMasterIcon())
 		{
-			wantedCategories.add(MapIcons.SLAYER_MASTER.getCategory());
+			wantedCategories.set(MapIcons.SLAYER_MASTER.getCategory());
 		}
 		if (config.smithingTutorIcon())
 		{
-			wantedCategories.add(MapIcons.SMITHING_TUTOR.getCategory());
+			wantedCategories.set(MapIcons.SMITHING_TUTOR.getCategory());
 		}
 		if (config.speedrunningShopIcon())
 		{
-			wantedCategories.add(MapIcons.SPEEDRUNNING_SHOP.getCategory());
+			wantedCategories.set(MapIcons.SPEEDRUNNING_SHOP.getCategory());
 		}
 		if (config.spiceShopIcon())
 		{
-			wantedCategories.add(MapIcons.SPICE_SHOP.getCategory());
+			wantedCategories.set(MapIcons.SPICE_SHOP.getCategory());
 		}
 		if (config.spinningWheelIcon())
 		{
-			wantedCategories.add(MapIcons.SPINNING_WHEEL.getCategory());
+			wantedCategories.set(MapIcons.SPINNING_WHEEL.getCategory());
 		}
 		if (config.staffShopIcon())
 		{
-			wantedCategories.add(MapIcons.STAFF_SHOP.getCategory());
+			wantedCategories.set(MapIcons.STAFF_SHOP.getCategory());
 		}
 		if (config.stagnantWaterSourceIcon())
 		{
-			wantedCategories.add(MapIcons.STAGNANT_WATER_SOURCE.getCategory());
+			wantedCategories.set(MapIcons.STAGNANT_WATER_SOURCE.getCategory());
 		}
 		if (config.stonemasonIcon())
 		{
-			wantedCategories.add(MapIcons.STONEMASON.getCategory());
+			wantedCategories.set(MapIcons.STONEMASON.getCategory());
 		}
 		if (config.swordShopIcon())
 		{
-			wantedCategories.add(MapIcons.SWORD_SHOP.getCategory());
+			wantedCategories.set(MapIcons.SWORD_SHOP.getCategory());
 		}
 		if (config.tanneryIcon())
 		{
-			wantedCategories.add(MapIcons.TANNERY.getCategory());
+			wantedCategories.set(MapIcons.TANNERY.getCategory());
 		}
 		if (config.taskMasterIcon())
 		{
-			wantedCategories.add(MapIcons.TASK_MASTER.getCategory());
+			wantedCategories.set(MapIcons.TASK_MASTER.getCategory());
 		}
 		if (config.taxidermistIcon())
 		{
-			wantedCategories.add(MapIcons.TAXIDERMIST.getCategory());
+			wantedCategories.set(MapIcons.TAXIDERMIST.getCategory());
 		}
 		if (config.teaTraderIcon())
 		{
-			wantedCategories.add(MapIcons.TEA_TRADER.getCategory());
+			wantedCategories.set(MapIcons.TEA_TRADER.getCategory());
 		}
 		if (config.thievingActivityIcon())
 		{
-			wantedCategories.add(MapIcons.THIEVING_ACTIVITY.getCategory());
+			wantedCategories.set(MapIcons.THIEVING_ACTIVITY.getCategory());
 		}
 		if (config.transportationIcon())
 		{
-			wantedCategories.add(MapIcons.TRANSPORTATION.getCategory());
+			wantedCategories.set(MapIcons.TRANSPORTATION.getCategory());
 		}
 		if (config.tripHammerIcon())
 		{
-			wantedCategories.add(MapIcons.TRIP_HAMMER.getCategory());
+			wantedCategories.set(MapIcons.TRIP_HAMMER.getCategory());
 		}
 		if (config.valeTotemIcon())
 		{
-			wantedCategories.add(MapIcons.VALE_TOTEM.getCategory());
+			wantedCategories.set(MapIcons.VALE_TOTEM.getCategory());
 		}
 		if (config.waterSourceIcon())
 		{
-			wantedCategories.add(MapIcons.WATER_SOURCE.getCategory());
+			wantedCategories.set(MapIcons.WATER_SOURCE.getCategory());
 		}
 		if (config.windmillIcon())
 		{
-			wantedCategories.add(MapIcons.WINDMILL.getCategory());
+			wantedCategories.set(MapIcons.WINDMILL.getCategory());
 		}
 		if (config.wineTraderIcon())
 		{
-			wantedCategories.add(MapIcons.WINE_TRADER.getCategory());
+			wantedCategories.set(MapIcons.WINE_TRADER.getCategory());
 		}
 		if (config.woodcuttingStumpIcon())
 		{
-			wantedCategories.add(MapIcons.WOODCUTTING_STUMP.getCategory());
+			wantedCategories.set(MapIcons.WOODCUTTING_STUMP.getCategory());
 		}
 		if (config.woodcuttingTutorIcon())
 		{
-			wantedCategories.add(MapIcons.WOODCUTTING_TUTOR.getCategory());
+			wantedCategories.set(MapIcons.WOODCUTTING_TUTOR.getCategory());
 		}
 
 
@@ -663,96 +1083,497 @@ public class BetterMapsPlugin extends Plugin
 
 	private void addTooltipsToWorldMap()
 	{
-		worldMapPointManager.removeIf(MapPoint.class::isInstance);
-		if (!showTooltips)
-		{
+		final BetterMapsEvents.TooltipRebuild event = BetterMapsEvents.beginTooltipRebuild();
+
+		worldMapPointManager.removeIf(point -> isMapPointOfType(point, MapPoint.Type.DEFAULT)
+			|| isMapPointOfType(point, MapPoint.Type.CLUSTER));
+		final int pointsRemoved = tooltipPointCount;
+		tooltipPointCount = 0;
+		livePlane = getLivePlane();
+		if (!showTooltips && !questStartIconsDrawn && !clusterIcons && areaRules.isEmpty() && hiddenIcons.isEmpty())
+		{
+			commitTooltipRebuild(event, pointsRemoved);
 			return;
 		}
 
-		String tooltip;
-		BufferedImage tooltipImage;
-		int mapIconCategory;
-		for (MapIcons icon : MapIcons.values())
+		loadIconLocations();
+		hiddenIcons.resolveCategories(iconLocations);
+		if (iconLocations.resolveQuests(config.questMatchTolerance()) || tooltips == null || tooltipFlags != coreTooltipFlags)
+		{
+			tooltips = buildTooltips();
+			tooltipFlags = coreTooltipFlags;
+		}
+
+		if (clusterIcons)
+		{
+			clusterCellTiles = getClusterCellTiles();
+			addClusterPoints();
+		}
+		else
 		{
-			tooltip = null;
-			tooltipImage = BLANK_ICON;
-			mapIconCategory = icon.getCategory();
-			if (wantedCategories.contains(mapIconCategory))
+			// Only the live plane's locations are visited, so the other planes cost nothing
+			final int[] planeIndices = livePlane == ALL_PLANES ? null : iconLocations.getPlaneIndices(livePlane);
+			final int count = planeIndices == null ? iconLocations.size() : planeIndices.length;
+			for (int i = 0; i < count; i++)
 			{
-				for (WorldPoint mapIconLocation : icon.getLocation())
+				final int index = planeIndices == null ? i : planeIndices[i];
+				if ((showTooltips || isDrawnCategory(iconLocations.getIcon(index).getCategory())) && isShown(index))
 				{
-					if (mapIconCategory == MapIcons.QUEST_START.getCategory())
-					{
-						if (QuestLocationLookup.locationsToQuests.containsKey(mapIconLocation))
-						{
-							tooltip = QuestLocationLookup.locationsToQuests.get(mapIconLocation).getName();
-						}
-						else
-						{
-							tooltip = "Quest not yet identified in 'World Map Extended' plugin." ;
-							log.debug("Quest icon at location {} not yet included.", mapIconLocation);
-						}
-						tooltipImage = BLANK_QUEST_ICON;
-					}
+					addIconPoint(index);
+				}
+			}
+		}
 
-					else if (mapIconCategory == MapIcons.AGILITY_TRAINING.getCategory())
-					{
-						tooltip = worldMapAgilityCourseTooltips ? null : MapIcons.AGILITY_TRAINING.getDefaultTooltip();
-					}
-					else if (mapIconCategory == MapIcons.AGILITY_SHORTCUT.getCategory())
-					{
-						tooltip = worldMapAgilityShortcutTooltips ? null : MapIcons.AGILITY_SHORTCUT.getDefaultTooltip();
-					}
-					else if (mapIconCategory == MapIcons.DUNGEON.getCategory())
-					{
-						tooltip = worldMapDungeonTooltips ? null : MapIcons.DUNGEON.getDefaultTooltip();
-					}
-					else if (mapIconCategory == MapIcons.FARMING_PATCH.getCategory())
-					{
-						tooltip = worldMapFarmingTooltips ? null : MapIcons.FARMING_PATCH.getDefaultTooltip();
-					}
-					else if (mapIconCategory == MapIcons.FISHING_SPOT.getCategory())
-					{
-						tooltip = worldMapFishingTooltips ? null : MapIcons.FISHING_SPOT.getDefaultTooltip();
-					}
-					else if (mapIconCategory == MapIcons.HUNTER_TRAINING.getCategory())
-					{
-						tooltip = worldMapHunterTooltips ? null : MapIcons.HUNTER_TRAINING.getDefaultTooltip();
-					}
-					else if (mapIconCategory == MapIcons.MINIGAME.getCategory())
-					{
-						tooltip = worldMapMinigameTooltips ? null : MapIcons.MINIGAME.getDefaultTooltip();
-					}
-					else if (mapIconCategory == MapIcons.MINING_SITE.getCategory())
-					{
-						tooltip = worldMapMiningTooltips ? null : MapIcons.MINING_SITE.getDefaultTooltip();
-					}
-					else if (mapIconCategory == MapIcons.RARE_TREES.getCategory())
-					{
-						tooltip = worldMapRareTreesTooltips ? null : MapIcons.RARE_TREES.getDefaultTooltip();
-					}
-					else if (mapIconCategory == MapIcons.TRANSPORTATION.getCategory())
-					{
-						tooltip = worldMapTransportationTooltips ? null : MapIcons.TRANSPORTATION.getDefaultTooltip();
-					}
-					else
-					{
-						tooltip = icon.getDefaultTooltip();
-					}
+		commitTooltipRebuild(event, pointsRemoved);
+	}
+
+	private void commitTooltipRebuild(BetterMapsEvents.TooltipRebuild event, int pointsRemoved)
+	{
+		if (event != null)
+		{
+			event.pointsRemoved = pointsRemoved;
+			event.pointsAdded = tooltipPointCount;
+			event.commit();
+		}
+	}
+
+	private void addIconPoint(int index)
+	{
+		final MapIcons icon = iconLocations.getIcon(index);
+		final boolean drawnIcon = isDrawnCategory(icon.getCategory());
+		final BufferedImage image;
+		if (icon == MapIcons.QUEST_START)
+		{
+			image = drawnIcon && questStartImage != null ? questStartImage : BLANK_QUEST_ICON;
+		}
+		else
+		{
+			image = drawnIcon && iconImages[icon.ordinal()] != null ? iconImages[icon.ordinal()] : BLANK_ICON;
+		}
 
-					WorldMapPoint customTooltipMapPoint = MapPoint.builder()
-						.type(MapPoint.Type.DEFAULT)
-						.worldPoint(mapIconLocation)
-						.image(tooltipImage)
-						.tooltip(tooltip)
-						.build();
+		WorldMapPoint customTooltipMapPoint = MapPoint.builder()
+			.type(MapPoint.Type.DEFAULT)
+			.worldPoint(iconLocations.getPoint(index))
+			.image(image)
+			.tooltip(showTooltips ? tooltips[index] : null)
+			.build();
 
-					worldMapPointManager.add(customTooltipMapPoint);
+		worldMapPointManager.add(customTooltipMapPoint);
+		tooltipPointCount++;
+	}
+
+	/**
+	 * Draws every shown icon as part of a cluster, with a single icon cluster drawn as the icon itself. Map links are
+	 * left out of the clusters and keep their own sprites, as they are not icons like the others.
+	 */
+	private void addClusterPoints()
+	{
+		iconClusters.build(iconLocations, index -> iconLocations.getIcon(index) != MapIcons.MAP_LINK && isOnLivePlane(index)
+			&& isShown(index), clusterCellTiles);
+		for (int cluster = 0; cluster < iconClusters.size(); cluster++)
+		{
+			final int count = iconClusters.getCount(cluster);
+			if (count == 1)
+			{
+				addIconPoint(iconClusters.getFirstMember(cluster));
+				continue;
+			}
+
+			WorldMapPoint clusterMapPoint = MapPoint.builder()
+				.type(MapPoint.Type.CLUSTER)
+				.worldPoint(iconClusters.getCentre(cluster))
+				.image(getClusterImage(count))
+				.tooltip(showTooltips ? getClusterTooltip(cluster) : null)
+				.build();
+
+			worldMapPointManager.add(clusterMapPoint);
+			tooltipPointCount++;
+		}
+
+		if (showTooltips)
+		{
+			for (int index = 0; index < iconLocations.size(); index++)
+			{
+				if (iconLocations.getIcon(index) == MapIcons.MAP_LINK && isOnLivePlane(index) && isShown(index))
+				{
+					addIconPoint(index);
 				}
 			}
 		}
+	}
 
+	/**
+	 * @return the player's plane, if only its icons have world map points, or else {@link #ALL_PLANES}
+	 */
+	private int getLivePlane()
+	{
+		if (!playerPlaneOnly)
+		{
+			return ALL_PLANES;
+		}
 
+		final Player player = client.getLocalPlayer();
+		return player == null ? 0 : player.getWorldLocation().getPlane();
+	}
+
+	private boolean isOnLivePlane(int index)
+	{
+		return livePlane == ALL_PLANES || iconLocations.getPoint(index).getPlane() == livePlane;
+	}
+
+	/**
+	 * Builds the icon locations, if they have not been already.
+	 */
+	private void loadIconLocations()
+	{
+		if (iconLocations == null)
+		{
+			iconLocations = takeWarmIconLocations();
+		}
+		if (iconLocations == null)
+		{
+			iconLocations = IconLocations.fromTables(getCompiledTables(config.questMatchTolerance()), learnedIconLocations);
+		}
+	}
+
+	/**
+	 * Adds or removes the search panel's sidebar button to match the config.
+	 */
+	private void updateSearchPanel()
+	{
+		if (config.showSearchPanel() != searchPanelShown)
+		{
+			searchPanelShown = config.showSearchPanel();
+			if (searchPanelShown)
+			{
+				clientToolbar.addNavigation(searchNavigationButton);
+			}
+			else
+			{
+				clientToolbar.removeNavigation(searchNavigationButton);
+			}
+		}
+	}
+
+	/**
+	 * Moves the world map to the location, if the world map is open.
+	 */
+	private void showOnWorldMap(WorldPoint location)
+	{
+		clientThread.invoke(() ->
+		{
+			final WorldMap worldMap = client.getWorldMap();
+			if (worldMap != null)
+			{
+				worldMap.setWorldMapPositionTarget(location);
+			}
+		});
+	}
+
+	/**
+	 * Finds the nearest icons of the configured type to the player, marking them on the world map and pointing the way to
+	 * the nearest on the minimap.
+	 */
+	private void updateNearestIcons()
+	{
+		worldMapPointManager.removeIf(point -> isMapPointOfType(point, MapPoint.Type.NEAREST));
+		nearestIconTarget = null;
+		final Player player = client.getLocalPlayer();
+		if (nearestIcon == null || player == null)
+		{
+			nearestIconsRegionId = -1;
+			return;
+		}
+
+		loadIconLocations();
+		if (nearestIconsSource != iconLocations)
+		{
+			nearestIcons.build(iconLocations);
+			nearestIconsSource = iconLocations;
+		}
+
+		final WorldPoint playerLocation = player.getWorldLocation();
+		nearestIconsRegionId = playerLocation.getRegionID();
+		nearestIconsPlane = playerLocation.getPlane();
+		final int found = nearestIcons.findNearest(nearestIcon.getCategory(), playerLocation.getX(), playerLocation.getY(),
+			playerLocation.getPlane(), this::isEnabled, nearestIconResults);
+		for (int result = 0; result < found; result++)
+		{
+			final int index = nearestIconResults[result];
+			final String tooltip = tooltips != null && tooltips[index] != null ? tooltips[index] : nearestIcon.getDefaultTooltip();
+			WorldMapPoint nearestMapPoint = MapPoint.builder()
+				.type(MapPoint.Type.NEAREST)
+				.worldPoint(iconLocations.getPoint(index))
+				.image(NEAREST_ICON)
+				.snapToEdge(true)
+				.jumpOnClick(true)
+				.tooltip("Nearest " + (result + 1) + ": " + tooltip)
+				.build();
+			worldMapPointManager.add(nearestMapPoint);
+		}
+		nearestIconTarget = found > 0 ? iconLocations.getPoint(nearestIconResults[0]) : null;
+	}
+
+	private static boolean isMapPointOfType(WorldMapPoint point, MapPoint.Type type)
+	{
+		return point instanceof MapPoint && ((MapPoint) point).getType() == type;
+	}
+
+	/**
+	 * @return whether the icon at the location index is shown on the world map, before any clustering
+	 */
+	private boolean isShown(int index)
+	{
+		final int category = iconLocations.getIcon(index).getCategory();
+		return !zoomHiddenCategories.get(category) && !shedCategories.get(category) && isEnabled(index);
+	}
+
+	/**
+	 * @return whether the icon at the location index is enabled in the config, wherever the world map is zoomed
+	 */
+	private boolean isEnabled(int index)
+	{
+		final MapIcons icon = iconLocations.getIcon(index);
+		final int category = icon.getCategory();
+		if (areaRules.isHidden(category, iconLocations.getPoint(index))
+			|| (!hiddenIcons.isEmpty() && hiddenIcons.isHidden(iconLocations.getPoint(index))))
+		{
+			return false;
+		}
+		if (icon == MapIcons.QUEST_START)
+		{
+			return (questStartIconsDrawn || wantedCategories.get(category)) && !isQuestHidden(iconLocations.getQuest(index));
+		}
+		return wantedCategories.get(category);
+	}
+
+	/**
+	 * @return whether the category's sprites are hidden and its icons drawn by the plugin instead, so that they can be
+	 * shown and hidden one at a time
+	 */
+	private boolean isDrawnCategory(int category)
+	{
+		if (category == MapIcons.QUEST_START.getCategory())
+		{
+			return questStartIconsDrawn || clusterIcons || areaRules.hasRules(category) || hiddenIcons.hasHiddenIcon(category);
+		}
+		return isDrawableCategory(category)
+			&& (clusterIcons || areaRules.hasRules(category) || hiddenIcons.hasHiddenIcon(category));
+	}
+
+	/**
+	 * @return whether the category's sprite can be drawn by the plugin, which map links are not, as they do not
+	 * actually appear to be icons like the others
+	 */
+	private static boolean isDrawableCategory(int category)
+	{
+		return category != MapIcons.MAP_LINK.getCategory() && MapIcons.forCategory(category) != null;
+	}
+
+	private int getClusterCellTiles()
+	{
+		final WorldMap worldMap = client.getWorldMap();
+		return getClusterCellTiles(worldMap == null ? 1 : worldMap.getWorldMapZoom());
+	}
+
+	/**
+	 * @param zoom the world map zoom, in pixels per tile
+	 */
+	private int getClusterCellTiles(float zoom)
+	{
+		return Math.max(1, Math.round(config.clusterSize() / Math.max(zoom, MINIMUM_ZOOM)));
+	}
+
+	/**
+	 * @return a line for each different tooltip in the cluster, with the number of icons sharing it
+	 */
+	private String getClusterTooltip(int cluster)
+	{
+		final Map<String, Integer> tooltipCounts = new LinkedHashMap<>();
+		for (int index = iconClusters.getFirstMember(cluster); index >= 0; index = iconClusters.getNextMember(index))
+		{
+			final String tooltip = tooltips[index] != null ? tooltips[index] : iconLocations.getIcon(index).getDefaultTooltip();
+			tooltipCounts.merge(tooltip, 1, Integer::sum);
+		}
+
+		final StringBuilder clusterTooltip = new StringBuilder();
+		int lines = 0;
+		for (Map.Entry<String, Integer> tooltipCount : tooltipCounts.entrySet())
+		{
+			if (lines == CLUSTER_TOOLTIP_LINES)
+			{
+				clusterTooltip.append("</br>and ").append(tooltipCounts.size() - lines).append(" more");
+				break;
+			}
+			if (lines > 0)
+			{
+				clusterTooltip.append("</br>");
+			}
+			clusterTooltip.append(tooltipCount.getKey());
+			if (tooltipCount.getValue() > 1)
+			{
+				clusterTooltip.append(" (").append(tooltipCount.getValue()).append(')');
+			}
+			lines++;
+		}
+		return clusterTooltip.toString();
+	}
+
+	private BufferedImage getClusterImage(int count)
+	{
+		final int imageIndex = Math.min(count, clusterImages.length - 1);
+		if (clusterImages[imageIndex] == null)
+		{
+			clusterImages[imageIndex] = createClusterImage(imageIndex == clusterImages.length - 1 ? count + "+" : String.valueOf(count));
+		}
+		return clusterImages[imageIndex];
+	}
+
+	/**
+	 * Draws a magnifying glass for the side panel button, so that the plugin needs no image resources.
+	 */
+	private static BufferedImage createSearchPanelIcon()
+	{
+		final BufferedImage image = new BufferedImage(16, 16, BufferedImage.TYPE_INT_ARGB);
+		final Graphics2D graphics = image.createGraphics();
+		graphics.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+		graphics.setColor(new Color(220, 220, 220));
+		graphics.setStroke(new BasicStroke(2));
+		graphics.drawOval(2, 2, 8, 8);
+		graphics.setStroke(new BasicStroke(3, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND));
+		graphics.drawLine(10, 10, 13, 13);
+		graphics.dispose();
+		return image;
+	}
+
+	private static BufferedImage createNearestIcon()
+	{
+		final BufferedImage image = new BufferedImage(BLANK_QUEST_ICON.getWidth(), BLANK_QUEST_ICON.getHeight(),
+			BufferedImage.TYPE_INT_ARGB);
+		final Graphics2D graphics = image.createGraphics();
+		graphics.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+		graphics.setStroke(new BasicStroke(2));
+		graphics.setColor(NearestIconOverlay.COLOUR);
+		graphics.drawOval(1, 1, image.getWidth() - 3, image.getHeight() - 3);
+		graphics.dispose();
+		return image;
+	}
+
+	private static BufferedImage createClusterImage(String text)
+	{
+		final BufferedImage image = new BufferedImage(CLUSTER_ICON_SIZE, CLUSTER_ICON_SIZE, BufferedImage.TYPE_INT_ARGB);
+		final Graphics2D graphics = image.createGraphics();
+		graphics.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+		graphics.setColor(CLUSTER_COLOUR);
+		graphics.fillOval(0, 0, CLUSTER_ICON_SIZE - 1, CLUSTER_ICON_SIZE - 1);
+		graphics.setColor(Color.BLACK);
+		graphics.drawOval(0, 0, CLUSTER_ICON_SIZE - 1, CLUSTER_ICON_SIZE - 1);
+		graphics.setFont(graphics.getFont().deriveFont(Font.BOLD, 10f));
+		final FontMetrics metrics = graphics.getFontMetrics();
+		graphics.setColor(Color.WHITE);
+		graphics.drawString(text, (CLUSTER_ICON_SIZE - metrics.stringWidth(text)) / 2,
+			(CLUSTER_ICON_SIZE - metrics.getHeight()) / 2 + metrics.getAscent());
+		graphics.dispose();
+		return image;
+	}
+
+	private boolean isQuestHidden(Quest quest)
+	{
+		return hiddenQuests.isHidden(quest) || (config.hideCompletedQuests() && questStates.isCompleted(quest));
+	}
+
+	/**
+	 * Runs on the executor at startUp, doing the work which does not need the client thread before the first map open
+	 * or scene load: loading the plugin's classes, loading or compiling the tables, and building the icon locations.
+	 * The locations are only published once complete, and anything not yet done is simply done by the client thread.
+	 */
+	private void warmUp(int revision, int questTolerance)
+	{
+		try
+		{
+			QuestObjectLookup.isQuestObject(-1);
+			CompiledTables tables = CompiledTables.read(revision, questTolerance);
+			if (tables == null)
+			{
+				tables = CompiledTables.compile(questTolerance);
+				tables.write(revision);
+			}
+			compiledTables = tables;
+			// Read first, so that anything learned while the locations are being built makes them stale
+			final int learnedVersion = learnedIconLocations.getVersion();
+			final IconLocations locations = IconLocations.fromTables(tables, learnedIconLocations);
+			synchronized (warmIconLocations)
+			{
+				warmLearnedVersion = learnedVersion;
+				warmIconLocations.set(locations);
+			}
+		}
+		catch (RuntimeException e)
+		{
+			log.warn("Unable to warm up the icon locations", e);
+		}
+	}
+
+	/**
+	 * @return the tables loaded or compiled by the warm-up, or else tables compiled in memory and saved in the
+	 * background, as this runs on the client thread and so never reads the saved tables itself
+	 */
+	private CompiledTables getCompiledTables(int questTolerance)
+	{
+		CompiledTables tables = compiledTables;
+		if (tables == null || tables.getQuestTolerance() != questTolerance)
+		{
+			final int revision = client.getRevision();
+			final CompiledTables compiled = CompiledTables.compile(questTolerance);
+			executor.execute(() -> compiled.write(revision));
+			tables = compiled;
+			compiledTables = tables;
+		}
+		return tables;
+	}
+
+	private String[] buildTooltips()
+	{
+		final String[] table = new String[iconLocations.size()];
+		for (int index = 0; index < table.length; index++)
+		{
+			table[index] = getTooltip(iconLocations.getIcon(index), iconLocations.getQuest(index));
+		}
+		return table;
+	}
+
+	/**
+	 * @return the tooltip for the icon, or null where the core 'World Map' plugin already shows one
+	 */
+	private String getTooltip(MapIcons icon, Quest quest)
+	{
+		switch (icon)
+		{
+			case QUEST_START:
+				return quest != null ? quest.getName() : "Quest not yet identified in 'World Map Extended' plugin." ;
+			case AGILITY_TRAINING:
+				return worldMapAgilityCourseTooltips ? null : icon.getDefaultTooltip();
+			case AGILITY_SHORTCUT:
+				return worldMapAgilityShortcutTooltips ? null : icon.getDefaultTooltip();
+			case DUNGEON:
+				return worldMapDungeonTooltips ? null : icon.getDefaultTooltip();
+			case FARMING_PATCH:
+				return worldMapFarmingTooltips ? null : icon.getDefaultTooltip();
+			case FISHING_SPOT:
+				return worldMapFishingTooltips ? null : icon.getDefaultTooltip();
+			case HUNTER_TRAINING:
+				return worldMapHunterTooltips ? null : icon.getDefaultTooltip();
+			case MINIGAME:
+				return worldMapMinigameTooltips ? null : icon.getDefaultTooltip();
+			case MINING_SITE:
+				return worldMapMiningTooltips ? null : icon.getDefaultTooltip();
+			case RARE_TREES:
+				return worldMapRareTreesTooltips ? null : icon.getDefaultTooltip();
+			case TRANSPORTATION:
+				return worldMapTransportationTooltips ? null : icon.getDefaultTooltip();
+			default:
+				return icon.getDefaultTooltip();
+		}
 	}
 
 	private void getWhetherTooltipsShouldBeShown()
@@ -776,16 +1597,48 @@ public class BetterMapsPlugin extends Plugin
 			return;
 		}
 
+		final BetterMapsEvents.IconPass event = BetterMapsEvents.beginIconPass();
+		int regionsVisited = 0, regionsLearned = 0, iconsVisited = 0, iconsHidden = 0;
+		boolean iconImageCaptured = false;
+		final boolean zoomVisibilityChanged = zoomThresholds.updateHidden(worldMap.getWorldMapZoom(), zoomHiddenCategories);
+		final boolean clusterCellsChanged = clusterIcons && getClusterCellTiles(worldMap.getWorldMapZoom()) != clusterCellTiles;
+
 		WorldMapRegion[][] regions = wmm.getMapRegions();
+		final boolean shedCategoriesChanged = maxVisibleIcons > 0 && updateShedCategories(regions);
 		for (WorldMapRegion[] worldMapRegions : regions)
 		{
 			for (WorldMapRegion region : worldMapRegions)
 			{
-				for (WorldMapIcon icon : region.getMapIcons())
+				regionsVisited++;
+				if (learnedIconLocations.learn(region))
 				{
-					MapElementConfig iconConfig = client.getMapElementConfig(icon.getType());
+					regionsLearned++;
+				}
+				final int iconCount = loadRegionIcons(region);
+				iconsVisited += iconCount;
+				for (int i = 0; i < iconCount; i++)
+				{
+					MapElementConfig iconConfig = client.getMapElementConfig(regionIcons[i].getType());
 					SpritePixels iconSprite = iconConfig.getMapIcon(false); // Must be false otherwise nothing happens
-					if (wantedCategories.contains(iconConfig.getCategory()))
+					int iconCategory = iconConfig.getCategory();
+					final boolean drawnIcon = isDrawnCategory(iconCategory);
+					saveIconSprite(iconCategory, iconSprite);
+					if (questStartImage == null && iconCategory == MapIcons.QUEST_START.getCategory())
+					{
+						questStartImage = createIconImage(iconSprite, BLANK_QUEST_ICON);
+						iconImageCaptured |= drawnIcon;
+					}
+					else if (drawnIcon && iconCategory != MapIcons.QUEST_START.getCategory())
+					{
+						final MapIcons mapIcon = MapIcons.forCategory(iconCategory);
+						if (iconImages[mapIcon.ordinal()] == null)
+						{
+							iconImages[mapIcon.ordinal()] = createIconImage(iconSprite, BLANK_ICON);
+							iconImageCaptured = true;
+						}
+					}
+					if (iconCategory >= 0 && wantedCategories.get(iconCategory) && !zoomHiddenCategories.get(iconCategory)
+						&& !shedCategories.get(iconCategory) && !drawnIcon)
 					{
 						iconSprite.setOffsetX(0);
 						iconSprite.setOffsetY(0);
@@ -794,20 +1647,164 @@ public class BetterMapsPlugin extends Plugin
 					{
 						iconSprite.setOffsetX(OFFSET_TO_HIDE_ICON_SPRITES);
 						iconSprite.setOffsetY(OFFSET_TO_HIDE_ICON_SPRITES);
+						iconsHidden++;
 					}
 				}
 			}
 		}
+
+		if (event != null)
+		{
+			event.regionsVisited = regionsVisited;
+			event.regionsLearned = regionsLearned;
+			event.iconsVisited = iconsVisited;
+			event.iconsHidden = iconsHidden;
+			event.iconsShed = shedIconCount;
+			event.commit();
+		}
+
+		if (regionsLearned > 0)
+		{
+			rebuildIconLocations();
+		}
+		else if (iconImageCaptured || zoomVisibilityChanged || clusterCellsChanged || shedCategoriesChanged)
+		{
+			addTooltipsToWorldMap();
+		}
+	}
+
+	/**
+	 * Counts the icons in the loaded regions of the world map, which are those in view, and sheds the least important
+	 * categories until the count is within the maximum. Each icon in view has at most one tooltip carrying point, so
+	 * this limits those too.
+	 *
+	 * @return whether the shed categories have changed
+	 */
+	private boolean updateShedCategories(WorldMapRegion[][] regions)
+	{
+		densityBudget.clearCounts();
+		for (WorldMapRegion[] worldMapRegions : regions)
+		{
+			for (WorldMapRegion region : worldMapRegions)
+			{
+				final int iconCount = loadRegionIcons(region);
+				for (int i = 0; i < iconCount; i++)
+				{
+					final int iconCategory = client.getMapElementConfig(regionIcons[i].getType()).getCategory();
+					if (iconCategory >= 0 && !zoomHiddenCategories.get(iconCategory) && (wantedCategories.get(iconCategory)
+						|| (questStartIconsDrawn && iconCategory == MapIcons.QUEST_START.getCategory())))
+					{
+						densityBudget.count(iconCategory);
+					}
+				}
+			}
+		}
+
+		final boolean changed = densityBudget.updateShed(maxVisibleIcons, shedCategories);
+		shedIconCount = densityBudget.getShedIconCount();
+		return changed;
+	}
+
+	/**
+	 * Copies the region's icons into a reused array, so that the passes loop over them by index rather than allocating
+	 * an iterator for every region.
+	 *
+	 * @return the number of icons copied
+	 */
+	private int loadRegionIcons(WorldMapRegion region)
+	{
+		final Collection<WorldMapIcon> icons = region.getMapIcons();
+		final int iconCount = icons.size();
+		if (iconCount > regionIcons.length)
+		{
+			regionIcons = new WorldMapIcon[Math.max(iconCount, regionIcons.length * 2)];
+		}
+		icons.toArray(regionIcons);
+		return iconCount;
+	}
+
+	/**
+	 * Copies the game's sprite into the middle of an image the size of the blank icon, so that the drawn icon lines up
+	 * with where the original would be.
+	 */
+	/**
+	 * Saves the sprite of the icon category in the background, once per launch for each icon type, for rendering the
+	 * icon layer without the client.
+	 */
+	private void saveIconSprite(int category, SpritePixels sprite)
+	{
+		final MapIcons icon = MapIcons.forCategory(category);
+		if (icon == null || savedSprites.get(icon.ordinal()))
+		{
+			return;
+		}
+
+		savedSprites.set(icon.ordinal());
+		final BufferedImage image = sprite.toBufferedImage();
+		executor.execute(() -> IconSprites.save(icon, image));
+	}
+
+	private static BufferedImage createIconImage(SpritePixels sprite, BufferedImage blankIcon)
+	{
+		final BufferedImage spriteImage = sprite.toBufferedImage();
+		final BufferedImage image = new BufferedImage(blankIcon.getWidth(), blankIcon.getHeight(),
+			BufferedImage.TYPE_INT_ARGB);
+		final Graphics2D graphics = image.createGraphics();
+		graphics.drawImage(spriteImage, (image.getWidth() - spriteImage.getWidth()) / 2,
+			(image.getHeight() - spriteImage.getHeight()) / 2, null);
+		graphics.dispose();
+		return image;
+	}
+
+	/**
+	 * Rebuilds the tooltips from the latest learned icon locations, if they have already been built from older ones.
+	 */
+	private void rebuildIconLocations()
+	{
+		if (iconLocations != null)
+		{
+			iconLocations = null;
+			tooltips = null;
+			addTooltipsToWorldMap();
+		}
+	}
+
+	/**
+	 * @return the warmed up locations, or null if there are none or they were built from older learned locations
+	 */
+	private IconLocations takeWarmIconLocations()
+	{
+		synchronized (warmIconLocations)
+		{
+			final IconLocations locations = warmIconLocations.getAndSet(null);
+			return warmLearnedVersion == learnedIconLocations.getVersion() ? locations : null;
+		}
 	}
 
 	private void resetWorldMapIcons()
 	{
 		worldMapPointManager.removeIf(MapPoint.class::isInstance);
+		tooltipPointCount = 0;
 
+		questStartIconsDrawn = false;
+		clusterIcons = false;
+		areaRules.update("");
+		hiddenIcons.update("");
+		minimapIconRadius = 0;
+		playerPlaneOnly = false;
+		livePlane = ALL_PLANES;
+		maxVisibleIcons = 0;
+		shedCategories.clear();
+		shedIconCount = 0;
+		nearestIcon = null;
+		nearestIconsSource = null;
+		nearestIconTarget = null;
+		zoomThresholds.update("");
+		zoomHiddenCategories.clear();
 		wantedCategories.clear();
 		for (MapIcons iconType : MapIcons.values())
 		{
-			wantedCategories.add(iconType.getCategory());
+			wantedCategories.set(iconType.getCategory());
 		}
 		updateWorldMapIcons();
 	}
@@ -852,12 +1849,30 @@ public class BetterMapsPlugin extends Plugin
 			worldMapHunterTooltips = false;
 			worldMapFishingTooltips = false;
 		}
+
+		// Packed together so the tooltip pass can tell whether any have changed since the tooltips were built
+		coreTooltipFlags = (worldMapTransportationTooltips ? 1 : 0)
+			| (worldMapAgilityCourseTooltips ? 1 << 1 : 0)
+			| (worldMapAgilityShortcutTooltips ? 1 << 2 : 0)
+			| (worldMapMinigameTooltips ? 1 << 3 : 0)
+			| (worldMapFarmingTooltips ? 1 << 4 : 0)
+			| (worldMapRareTreesTooltips ? 1 << 5 : 0)
+			| (worldMapMiningTooltips ? 1 << 6 : 0)
+			| (worldMapDungeonTooltips ? 1 << 7 : 0)
+			| (worldMapHunterTooltips ? 1 << 8 : 0)
+			| (worldMapFishingTooltips ? 1 << 9 : 0);
 	}
 
 	@Subscribe
 	public void onGroundObjectSpawned(GroundObjectSpawned event)
 	{
+		final long start = handlerTimings.start(HandlerTimings.Handler.GROUND_OBJECT_SPAWNED);
 		checkObjects(event.getGroundObject(), event.getTile());
+		if (minimapIconRadius > 0 && event.getGroundObject() != null && event.getTile() != null)
+		{
+			cullBeyondMinimapRadius(event.getGroundObject(), event.getTile());
+		}
+		handlerTimings.record(HandlerTimings.Handler.GROUND_OBJECT_SPAWNED, start);
 	}
 
 	private void checkObjects(GroundObject obj, Tile tile)
@@ -867,10 +1882,17 @@ public class BetterMapsPlugin extends Plugin
 			return;
 		}
 
+		if ((!hiddenIcons.isEmpty() && hiddenIcons.isHidden(tile.getWorldLocation()))
+			|| (!areaRules.isEmpty() && isHiddenInArea(obj, tile)))
+		{
+			tile.setGroundObject(null);
+			return;
+		}
+
 		int groundObjectID = obj.getId();
-		if (QuestObjectLookup.objectsToQuests.containsKey(groundObjectID))
+		if (QuestObjectLookup.isQuestObject(groundObjectID))
 		{
-			if (!config.questStartIcon())
+			if (!config.questStartIcon() || isQuestHidden(QuestObjectLookup.getQuest(groundObjectID)))
 			{
 				tile.setGroundObject(null);
 			}
@@ -1643,8 +2665,56 @@ public class BetterMapsPlugin extends Plugin
 		}
 	}
 
+	/**
+	 * @return whether the ground object's map icon is hidden by an area rule where it is
+	 */
+	private boolean isHiddenInArea(GroundObject obj, Tile tile)
+	{
+		final int category = getMapIconCategory(obj);
+		return areaRules.hasRules(category) && areaRules.isHidden(category, tile.getWorldLocation());
+	}
+
+	/**
+	 * @return the category of the ground object's map icon, or -1 if it has none
+	 */
+	private int getMapIconCategory(GroundObject obj)
+	{
+		final ObjectComposition objectComposition = client.getObjectDefinition(obj.getId());
+		if (objectComposition == null || objectComposition.getMapIconId() < 0)
+		{
+			return -1;
+		}
+		return client.getMapElementConfig(objectComposition.getMapIconId()).getCategory();
+	}
+
+	/**
+	 * Culls the icon if it is beyond the minimap icon radius of the player, with a diagonal step counting as one. The
+	 * minimap is only drawn from the scene as it loads, so an icon removed or put back afterwards would not show until
+	 * the next load anyway, and the culling is left until the game loads the scene again around the player.
+	 */
+	private void cullBeyondMinimapRadius(GroundObject obj, Tile tile)
+	{
+		final Player player = client.getLocalPlayer();
+		if (player == null || tile.getGroundObject() != obj || getMapIconCategory(obj) < 0)
+		{
+			return;
+		}
+
+		final WorldPoint location = tile.getWorldLocation();
+		final WorldPoint playerLocation = player.getWorldLocation();
+		if (Math.max(Math.abs(location.getX() - playerLocation.getX()), Math.abs(location.getY() - playerLocation.getY()))
+			> minimapIconRadius)
+		{
+			tile.setGroundObject(null);
+		}
+	}
+
 	private void refreshSceneGroundObjects()
 	{
+		final long start = handlerTimings.start(HandlerTimings.Handler.REFRESH_SCENE);
+		final BetterMapsEvents.SceneRescan event = BetterMapsEvents.beginSceneRescan();
+		int tilesScanned = 0, groundObjectsRemoved = 0;
+
 		final Scene scene = client.getScene();
 		final Tile[][][] tiles = scene.getTiles();
 
@@ -1658,19 +2728,41 @@ public class BetterMapsPlugin extends Plugin
 					{
 						if (currentTile != null)
 						{
-							checkObjects(currentTile.getGroundObject(), currentTile);
+							final GroundObject groundObject = currentTile.getGroundObject();
+							checkObjects(groundObject, currentTile);
+							tilesScanned++;
+							if (groundObject != null && currentTile.getGroundObject() == null)
+							{
+								groundObjectsRemoved++;
+							}
 						}
 					}
 				}
 			}
 		}
+		if (event != null)
+		{
+			event.tilesScanned = tilesScanned;
+			event.groundObjectsRemoved = groundObjectsRemoved;
+			event.commit();
+		}
+		handlerTimings.record(HandlerTimings.Handler.REFRESH_SCENE, start);
+		reloadScene();
+	}
 
+	private void reloadScene()
+	{
 		// Ground Object updates but MiniMap doesn't refresh unless this is called
 		clientThread.invoke(() ->
 		{
 			if (client.getGameState() == GameState.LOGGED_IN)
 			{
+				final BetterMapsEvents.SceneReload reloadEvent = BetterMapsEvents.beginSceneReload();
 				client.setGameState(GameState.LOADING);
+				if (reloadEvent != null)
+				{
+					reloadEvent.commit();
+				}
 			}
 		});
 	}
@@ -0,0 +1,42 @@
+package com.bettermaps;
+
+import java.io.File;
+import java.util.function.Predicate;
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.client.RuneLite;
+
+/**
+ * The directory under the RuneLite directory which the plugin saves its files to. Each file is named for the client
+ * revision or plugin version it was saved by, so once a newer one has been saved the older ones are never read again
+ * and are deleted rather than left to build up.
+ */
+@Slf4j
+final class CacheDirectory
+{
+	static final File DIRECTORY = new File(RuneLite.RUNELITE_DIR, "better-maps");
+
+	private CacheDirectory()
+	{
+	}
+
+	/**
+	 * Deletes the files with the prefix which are not to be kept. This does disk I/O, so is not to be called on the
+	 * client thread.
+	 */
+	static void prune(String prefix, Predicate<String> isKept)
+	{
+		final File[] files = DIRECTORY.listFiles((directory, name) -> name.startsWith(prefix) && name.endsWith(".dat"));
+		if (files == null)
+		{
+			return;
+		}
+
+		for (File file : files)
+		{
+			if (!isKept.test(file.getName()) && !file.delete())
+			{
+				log.debug("Unable to delete the old file {}", file);
+			}
+		}
+	}
+}
@@ -0,0 +1,265 @@
+package com.bettermaps;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.api.Quest;
+import net.runelite.api.coords.WorldPoint;
+
+/**
+ * The location tables derived from {@link MapIcons} and {@link QuestLocationLookup}: the icon and packed location of
+ * every {@link MapIcons} location, and the quest matched to each Quest Start location. These are the same on every
+ * launch, so they are saved under the RuneLite directory and loaded back with a single memory-mapped read, which also
+ * saves building the quest location map at all.
+ * <p>
+ * The file is named by client revision, by the quest tolerance and by a checksum of the plugin classes the tables are
+ * built from and of the names of the client's {@link Quest} constants in order, as the saved quest ordinals index into
+ * them, so that switching between tolerances keeps a file for each rather than replacing one. Files saved for another
+ * revision or checksum are deleted once the current one has been saved. The whole file is checksummed, and anything
+ * which does not match is ignored and compiled again.
+ */
+@Slf4j
+final class CompiledTables
+{
+	private static final String FILE_PREFIX = "tables-";
+	private static final int MAGIC = 0x424D4354;
+	private static final int FORMAT_VERSION = 1;
+	private static final int HEADER_INTS = 6;
+	private static final int CHECKSUM_BYTES = Integer.BYTES;
+	private static final Class<?>[] SOURCE_CLASSES = {MapIcons.class, QuestLocationLookup.class};
+
+	private static final MapIcons[] ICONS = MapIcons.values();
+	private static final Quest[] QUESTS = Quest.values();
+
+	private final int[] iconOrdinals;
+	private final int[] packedPoints;
+	private final int[] questOrdinals;
+	@Getter
+	private final int questTolerance;
+
+	private CompiledTables(int[] iconOrdinals, int[] packedPoints, int[] questOrdinals, int questTolerance)
+	{
+		this.iconOrdinals = iconOrdinals;
+		this.packedPoints = packedPoints;
+		this.questOrdinals = questOrdinals;
+		this.questTolerance = questTolerance;
+	}
+
+	int size()
+	{
+		return iconOrdinals.length;
+	}
+
+	MapIcons getIcon(int index)
+	{
+		return ICONS[iconOrdinals[index]];
+	}
+
+	int getPackedPoint(int index)
+	{
+		return packedPoints[index];
+	}
+
+	/**
+	 * @return the quest matched to a Quest Start location, or null if there was none within the tolerance
+	 */
+	Quest getQuest(int index)
+	{
+		return questOrdinals[index] < 0 ? null : QUESTS[questOrdinals[index]];
+	}
+
+	static CompiledTables compile(int questTolerance)
+	{
+		int size = 0;
+		for (MapIcons icon : ICONS)
+		{
+			size += icon.getLocation().length;
+		}
+
+		final int[] iconOrdinals = new int[size];
+		final int[] packedPoints = new int[size];
+		final int[] questOrdinals = new int[size];
+		int index = 0;
+		for (MapIcons icon : ICONS)
+		{
+			for (WorldPoint location : icon.getLocation())
+			{
+				final Quest quest = icon == MapIcons.QUEST_START
+					? QuestLocationLookup.getNearestQuest(location, questTolerance) : null;
+				iconOrdinals[index] = icon.ordinal();
+				packedPoints[index] = PackedWorldPoint.pack(location);
+				questOrdinals[index] = quest == null ? -1 : quest.ordinal();
+				index++;
+			}
+		}
+		return new CompiledTables(iconOrdinals, packedPoints, questOrdinals, questTolerance);
+	}
+
+	/**
+	 * Saves the tables for the client revision. This does disk I/O, so is not to be called on the client thread.
+	 */
+	void write(int revision)
+	{
+		final File file = cacheFile(revision, questTolerance);
+		final int size = size();
+		final ByteBuffer buffer = ByteBuffer.allocate((HEADER_INTS + size * 3) * Integer.BYTES + CHECKSUM_BYTES);
+		buffer.putInt(MAGIC)
+			.putInt(FORMAT_VERSION)
+			.putInt(revision)
+			.putInt(PluginChecksum.VALUE)
+			.putInt(questTolerance)
+			.putInt(size);
+		for (int index = 0; index < size; index++)
+		{
+			buffer.putInt(iconOrdinals[index])
+				.putInt(packedPoints[index])
+				.putInt(questOrdinals[index]);
+		}
+		buffer.putInt(checksum(buffer.array(), buffer.position()));
+
+		final File temporaryFile = new File(file.getParentFile(), file.getName() + ".tmp");
+		try
+		{
+			Files.createDirectories(file.getParentFile().toPath());
+			Files.write(temporaryFile.toPath(), buffer.array());
+			Files.move(temporaryFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		}
+		catch (IOException e)
+		{
+			log.warn("Unable to save the compiled tables to {}", file, e);
+			return;
+		}
+
+		// Files for the other tolerances of this revision and plugin version are kept, for switching between them
+		final String prefix = FILE_PREFIX + revision + "-";
+		final String suffix = "-" + Integer.toHexString(PluginChecksum.VALUE) + ".dat";
+		CacheDirectory.prune(FILE_PREFIX, name -> name.startsWith(prefix) && name.endsWith(suffix));
+	}
+
+	/**
+	 * @return the tables saved for the client revision, or null if there are none for the revision, the plugin version
+	 * and the quest tolerance. This does disk I/O, so is not to be called on the client thread.
+	 */
+	static CompiledTables read(int revision, int questTolerance)
+	{
+		final File file = cacheFile(revision, questTolerance);
+		if (!file.exists())
+		{
+			return null;
+		}
+
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ))
+		{
+			final long length = channel.size();
+			if (length < HEADER_INTS * Integer.BYTES + CHECKSUM_BYTES || length > Integer.MAX_VALUE)
+			{
+				return null;
+			}
+
+			final MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, length);
+			final int bodyLength = (int) length - CHECKSUM_BYTES;
+			final CRC32 crc = new CRC32();
+			crc.update((ByteBuffer) mapped.duplicate().limit(bodyLength));
+			if ((int) crc.getValue() != mapped.getInt(bodyLength))
+			{
+				log.debug("Ignoring corrupt compiled tables: {}", file);
+				return null;
+			}
+
+			final IntBuffer ints = ((ByteBuffer) mapped.duplicate().limit(bodyLength)).asIntBuffer();
+			if (ints.get() != MAGIC || ints.get() != FORMAT_VERSION || ints.get() != revision
+				|| ints.get() != PluginChecksum.VALUE || ints.get() != questTolerance)
+			{
+				return null;
+			}
+
+			final int size = ints.get();
+			if (ints.remaining() != size * 3)
+			{
+				return null;
+			}
+
+			final int[] iconOrdinals = new int[size];
+			final int[] packedPoints = new int[size];
+			final int[] questOrdinals = new int[size];
+			for (int index = 0; index < size; index++)
+			{
+				iconOrdinals[index] = ints.get();
+				packedPoints[index] = ints.get();
+				questOrdinals[index] = ints.get();
+				if (iconOrdinals[index] < 0 || iconOrdinals[index] >= ICONS.length || questOrdinals[index] >= QUESTS.length)
+				{
+					return null;
+				}
+			}
+			return new CompiledTables(iconOrdinals, packedPoints, questOrdinals, questTolerance);
+		}
+		catch (IOException e)
+		{
+			log.warn("Unable to load the compiled tables from {}", file, e);
+			return null;
+		}
+	}
+
+	/**
+	 * @return a checksum of the class files the tables are compiled from and of the client's quests, which changes
+	 * whenever their contents or the quest order do
+	 */
+	private static int computePluginChecksum()
+	{
+		final CRC32 crc = new CRC32();
+		for (Quest quest : QUESTS)
+		{
+			crc.update(quest.name().getBytes(StandardCharsets.UTF_8));
+			crc.update(0);
+		}
+		for (Class<?> sourceClass : SOURCE_CLASSES)
+		{
+			try (InputStream in = sourceClass.getResourceAsStream(sourceClass.getSimpleName() + ".class"))
+			{
+				if (in != null)
+				{
+					crc.update(in.readAllBytes());
+				}
+			}
+			catch (IOException e)
+			{
+				log.debug("Unable to read {} for the compiled tables checksum", sourceClass, e);
+			}
+		}
+		return (int) crc.getValue();
+	}
+
+	private static int checksum(byte[] bytes, int length)
+	{
+		final CRC32 crc = new CRC32();
+		crc.update(bytes, 0, length);
+		return (int) crc.getValue();
+	}
+
+	private static File cacheFile(int revision, int questTolerance)
+	{
+		return new File(CacheDirectory.DIRECTORY, FILE_PREFIX + revision + "-" + questTolerance + "-"
+			+ Integer.toHexString(PluginChecksum.VALUE) + ".dat");
+	}
+
+	/**
+	 * Holds the plugin checksum, worked out once on first use. Reading the class files is disk I/O, so it is kept out
+	 * of the class initialisation which the client thread can also trigger, and is only done by reads and writes.
+	 */
+	private static final class PluginChecksum
+	{
+		private static final int VALUE = computePluginChecksum();
+	}
+}
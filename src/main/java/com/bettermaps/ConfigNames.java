@@ -0,0 +1,47 @@
+package com.bettermaps;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Matching of the names typed into the config's free text items, so that case, spaces and punctuation do not matter.
+ */
+final class ConfigNames
+{
+	private static final Map<String, MapIcons> ICONS_BY_NAME = new HashMap<>();
+
+	static
+	{
+		for (MapIcons icon : MapIcons.values())
+		{
+			ICONS_BY_NAME.put(normalise(icon.name()), icon);
+			ICONS_BY_NAME.put(normalise(icon.getDefaultTooltip()), icon);
+		}
+	}
+
+	private ConfigNames()
+	{
+	}
+
+	/**
+	 * @return the icon with the name or default tooltip, or null if there is none
+	 */
+	static MapIcons findIcon(String name)
+	{
+		return ICONS_BY_NAME.get(normalise(name));
+	}
+
+	static String normalise(String name)
+	{
+		final StringBuilder normalised = new StringBuilder(name.length());
+		for (int i = 0; i < name.length(); i++)
+		{
+			final char c = name.charAt(i);
+			if (Character.isLetterOrDigit(c))
+			{
+				normalised.append(Character.toLowerCase(c));
+			}
+		}
+		return normalised.toString();
+	}
+}
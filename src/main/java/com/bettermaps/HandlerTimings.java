@@ -0,0 +1,158 @@
+package com.bettermaps;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import javax.inject.Singleton;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Records how long each of the plugin's client thread handlers take, using a fixed set of power-of-two latency buckets
+ * per handler. Nothing is allocated when recording, and when disabled the cost is a single boolean check, so the
+ * timings can be left wired into every handler and only switched on from the 'Debug' config section when needed.
+ * <p>
+ * Where the JVM supports per-thread allocation counters, the bytes allocated by each handler are recorded too. Once
+ * warmed up, the world map icon pass and the ground object checks are expected to allocate nothing, so a non-zero
+ * figure for those handlers points at a regression.
+ */
+@Singleton
+class HandlerTimings
+{
+	enum Handler
+	{
+		SCRIPT_POST_FIRED("Script post fired"),
+		GROUND_OBJECT_SPAWNED("Ground object spawned"),
+		CONFIG_CHANGED("Config changed"),
+		GAME_TICK("Game tick"),
+		REFRESH_SCENE("Refresh scene");
+
+		@Getter
+		private final String displayName;
+
+		Handler(String displayName)
+		{
+			this.displayName = displayName;
+		}
+	}
+
+	// Bucket i holds every sample in the range [2^i, 2^(i+1)) nanoseconds, which covers anything up to several minutes
+	private static final int BUCKET_COUNT = 40;
+
+	private final long[][] buckets = new long[Handler.values().length][BUCKET_COUNT];
+	private final long[] counts = new long[Handler.values().length];
+	private final long[] maximums = new long[Handler.values().length];
+	private final long[] allocationStarts = new long[Handler.values().length];
+	private final long[] allocatedBytes = new long[Handler.values().length];
+	private final com.sun.management.ThreadMXBean threadBean = getAllocationTrackingThreadBean();
+
+	@Getter
+	@Setter
+	private boolean enabled;
+
+	/**
+	 * @return the start time to later pass to {@link #record}, or 0 when the timings are disabled
+	 */
+	long start(Handler handler)
+	{
+		if (!enabled)
+		{
+			return 0;
+		}
+
+		allocationStarts[handler.ordinal()] = currentThreadAllocatedBytes();
+		return System.nanoTime();
+	}
+
+	void record(Handler handler, long start)
+	{
+		if (start == 0)
+		{
+			return;
+		}
+
+		final long elapsed = Math.max(1, System.nanoTime() - start);
+		final int index = handler.ordinal();
+		allocatedBytes[index] += currentThreadAllocatedBytes() - allocationStarts[index];
+		buckets[index][Math.min(BUCKET_COUNT - 1, 63 - Long.numberOfLeadingZeros(elapsed))]++;
+		counts[index]++;
+		maximums[index] = Math.max(maximums[index], elapsed);
+	}
+
+	long getCount(Handler handler)
+	{
+		return counts[handler.ordinal()];
+	}
+
+	long getMaximum(Handler handler)
+	{
+		return maximums[handler.ordinal()];
+	}
+
+	boolean isAllocationTracked()
+	{
+		return threadBean != null;
+	}
+
+	/**
+	 * @return the mean number of bytes allocated on the calling thread per invocation of the handler
+	 */
+	long getAllocatedBytesPerCall(Handler handler)
+	{
+		final int index = handler.ordinal();
+		return counts[index] == 0 ? 0 : allocatedBytes[index] / counts[index];
+	}
+
+	/**
+	 * @return the upper bound, in nanoseconds, of the bucket the requested percentile falls within
+	 */
+	long getPercentile(Handler handler, double percentile)
+	{
+		final int index = handler.ordinal();
+		if (counts[index] == 0)
+		{
+			return 0;
+		}
+
+		final long target = (long) Math.ceil(counts[index] * percentile);
+		long seen = 0;
+		for (int bucket = 0; bucket < BUCKET_COUNT; bucket++)
+		{
+			seen += buckets[index][bucket];
+			if (seen >= target)
+			{
+				return Math.min(maximums[index], (1L << (bucket + 1)) - 1);
+			}
+		}
+		return maximums[index];
+	}
+
+	void reset()
+	{
+		for (int index = 0; index < counts.length; index++)
+		{
+			Arrays.fill(buckets[index], 0);
+			counts[index] = 0;
+			maximums[index] = 0;
+			allocatedBytes[index] = 0;
+		}
+	}
+
+	private long currentThreadAllocatedBytes()
+	{
+		return threadBean == null ? 0 : threadBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+	}
+
+	private static com.sun.management.ThreadMXBean getAllocationTrackingThreadBean()
+	{
+		final java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+		if (bean instanceof com.sun.management.ThreadMXBean)
+		{
+			final com.sun.management.ThreadMXBean allocationBean = (com.sun.management.ThreadMXBean) bean;
+			if (allocationBean.isThreadAllocatedMemorySupported() && allocationBean.isThreadAllocatedMemoryEnabled())
+			{
+				return allocationBean;
+			}
+		}
+		return null;
+	}
+}
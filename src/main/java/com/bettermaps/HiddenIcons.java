@@ -0,0 +1,105 @@
+package com.bettermaps;
+
+import java.util.BitSet;
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.api.coords.WorldPoint;
+
+/**
+ * The individual icon locations chosen to be hidden in the config, held as a set of packed locations so that checking
+ * a location is a single hash lookup. Callers check {@link #isEmpty()} first, so that nothing is packed or looked up
+ * while no icons are hidden.
+ */
+@Slf4j
+final class HiddenIcons
+{
+	private static final int PRESENT = 1;
+
+	private final PackedPointMap hidden = new PackedPointMap(16);
+	// The categories with an icon at a hidden location, for the icon locations they were last worked out from
+	private final BitSet categories = new BitSet();
+	private IconLocations resolvedLocations;
+	private String parsedValue = "";
+
+	boolean isEmpty()
+	{
+		return hidden.isEmpty();
+	}
+
+	boolean isHidden(WorldPoint point)
+	{
+		return hidden.containsKey(PackedWorldPoint.pack(point));
+	}
+
+	/**
+	 * @return whether the category has an icon at a hidden location
+	 */
+	boolean hasHiddenIcon(int category)
+	{
+		return category >= 0 && categories.get(category);
+	}
+
+	/**
+	 * Parses the 'x,y' or 'x,y,plane' locations from the config, one per line or separated by semicolons, if they have
+	 * changed since the last call.
+	 */
+	void update(String configValue)
+	{
+		if (configValue.equals(parsedValue))
+		{
+			return;
+		}
+
+		parsedValue = configValue;
+		hidden.clear();
+		categories.clear();
+		resolvedLocations = null;
+		for (String entry : configValue.split("[;\\n]"))
+		{
+			if (entry.isBlank())
+			{
+				continue;
+			}
+
+			final String[] coordinates = entry.split(",");
+			try
+			{
+				if (coordinates.length != 2 && coordinates.length != 3)
+				{
+					throw new IllegalArgumentException("Expected x,y or x,y,plane");
+				}
+				hidden.put(PackedWorldPoint.pack(Integer.parseInt(coordinates[0].trim()), Integer.parseInt(coordinates[1].trim()),
+					coordinates.length == 3 ? Integer.parseInt(coordinates[2].trim()) : 0), PRESENT);
+			}
+			catch (IllegalArgumentException e)
+			{
+				log.debug("Invalid location in hidden icons: {}", entry.trim());
+			}
+		}
+	}
+
+	/**
+	 * Works out which categories have an icon at a hidden location, if the locations have changed since the last call.
+	 */
+	void resolveCategories(IconLocations locations)
+	{
+		if (locations == resolvedLocations)
+		{
+			return;
+		}
+
+		resolvedLocations = locations;
+		categories.clear();
+		if (hidden.isEmpty())
+		{
+			return;
+		}
+
+		for (int index = 0; index < locations.size(); index++)
+		{
+			if (isHidden(locations.getPoint(index)))
+			{
+				categories.set(locations.getIcon(index).getCategory());
+			}
+		}
+	}
+}
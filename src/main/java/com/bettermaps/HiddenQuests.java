@@ -0,0 +1,71 @@
+package com.bettermaps;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.api.Quest;
+
+/**
+ * The quests chosen to be hidden in the config, parsed from their names into a bit set over the {@link Quest}
+ * ordinals, so that checking a quest costs the same however many are hidden.
+ */
+@Slf4j
+final class HiddenQuests
+{
+	private static final Map<String, Quest> QUESTS_BY_NAME = new HashMap<>();
+
+	static
+	{
+		for (Quest quest : Quest.values())
+		{
+			QUESTS_BY_NAME.put(ConfigNames.normalise(quest.getName()), quest);
+		}
+	}
+
+	private final BitSet hidden = new BitSet(Quest.values().length);
+	private String parsedValue = "";
+
+	boolean isHidden(Quest quest)
+	{
+		return quest != null && hidden.get(quest.ordinal());
+	}
+
+	boolean isEmpty()
+	{
+		return hidden.isEmpty();
+	}
+
+	/**
+	 * Parses the comma or line separated quest names from the config, if they have changed since the last call.
+	 * Names are matched ignoring case, spaces and punctuation.
+	 */
+	void update(String configValue)
+	{
+		if (configValue.equals(parsedValue))
+		{
+			return;
+		}
+
+		parsedValue = configValue;
+		hidden.clear();
+		for (String name : configValue.split("[,\\n]"))
+		{
+			final String normalisedName = ConfigNames.normalise(name);
+			if (normalisedName.isEmpty())
+			{
+				continue;
+			}
+
+			final Quest quest = QUESTS_BY_NAME.get(normalisedName);
+			if (quest != null)
+			{
+				hidden.set(quest.ordinal());
+			}
+			else
+			{
+				log.debug("Unknown quest in hidden quests: {}", name.trim());
+			}
+		}
+	}
+}
@@ -0,0 +1,126 @@
+package com.bettermaps;
+
+import java.util.Arrays;
+import java.util.function.IntPredicate;
+import net.runelite.api.coords.WorldPoint;
+
+/**
+ * Groups the icon locations into clusters with a single pass over a square grid, each icon joining the cluster of the
+ * grid cell it falls in. The grid is fixed to the world rather than to the view, so the clusters only change with the
+ * cell size, and panning the map never needs them to be worked out again.
+ * <p>
+ * The members of each cluster are held as a linked list through an array indexed by location, so building the
+ * clusters allocates nothing once the arrays have grown to fit.
+ */
+final class IconClusters
+{
+	private static final int NONE = -1;
+
+	private final PackedPointMap cellClusters = new PackedPointMap(1024);
+	private int[] firstMembers = new int[0];
+	private int[] lastMembers = new int[0];
+	private int[] counts = new int[0];
+	private long[] totalX = new long[0];
+	private long[] totalY = new long[0];
+	private int[] planes = new int[0];
+	private int[] nextMembers = new int[0];
+	private int size;
+
+	/**
+	 * Clusters every location accepted by the filter, in square cells of the given number of tiles.
+	 */
+	void build(IconLocations locations, IntPredicate filter, int cellTiles)
+	{
+		cellClusters.clear();
+		size = 0;
+		if (nextMembers.length < locations.size())
+		{
+			nextMembers = new int[locations.size()];
+		}
+
+		for (int index = 0; index < locations.size(); index++)
+		{
+			if (!filter.test(index))
+			{
+				continue;
+			}
+
+			final WorldPoint point = locations.getPoint(index);
+			final int cell = PackedWorldPoint.pack(point.getX() / cellTiles, point.getY() / cellTiles, point.getPlane());
+			int cluster = cellClusters.get(cell, NONE);
+			if (cluster == NONE)
+			{
+				cluster = addCluster(index, point.getPlane());
+				cellClusters.put(cell, cluster);
+			}
+			else
+			{
+				nextMembers[lastMembers[cluster]] = index;
+				lastMembers[cluster] = index;
+			}
+
+			nextMembers[index] = NONE;
+			counts[cluster]++;
+			totalX[cluster] += point.getX();
+			totalY[cluster] += point.getY();
+		}
+	}
+
+	int size()
+	{
+		return size;
+	}
+
+	int getCount(int cluster)
+	{
+		return counts[cluster];
+	}
+
+	/**
+	 * @return the location index of the first member of the cluster
+	 */
+	int getFirstMember(int cluster)
+	{
+		return firstMembers[cluster];
+	}
+
+	/**
+	 * @return the location index of the member after the given one in the same cluster, or -1 if it is the last
+	 */
+	int getNextMember(int index)
+	{
+		return nextMembers[index];
+	}
+
+	/**
+	 * @return the average location of the cluster's members
+	 */
+	WorldPoint getCentre(int cluster)
+	{
+		return new WorldPoint((int) (totalX[cluster] / counts[cluster]), (int) (totalY[cluster] / counts[cluster]),
+			planes[cluster]);
+	}
+
+	private int addCluster(int firstMember, int plane)
+	{
+		if (size == counts.length)
+		{
+			final int capacity = Math.max(64, size * 2);
+			firstMembers = Arrays.copyOf(firstMembers, capacity);
+			lastMembers = Arrays.copyOf(lastMembers, capacity);
+			counts = Arrays.copyOf(counts, capacity);
+			totalX = Arrays.copyOf(totalX, capacity);
+			totalY = Arrays.copyOf(totalY, capacity);
+			planes = Arrays.copyOf(planes, capacity);
+		}
+
+		final int cluster = size++;
+		firstMembers[cluster] = firstMember;
+		lastMembers[cluster] = firstMember;
+		counts[cluster] = 0;
+		totalX[cluster] = 0;
+		totalY[cluster] = 0;
+		planes[cluster] = plane;
+		return cluster;
+	}
+}
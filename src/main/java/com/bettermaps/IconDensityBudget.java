@@ -0,0 +1,128 @@
+package com.bettermaps;
+
+import java.util.BitSet;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * A limit on the number of icons shown in the world map's view, enforced by shedding whole categories, least important
+ * first, until the icons counted in view fit. The importance of each category is parsed from the config, with the
+ * listed icons kept longest in the order given and the rest shed before any of them. Map links are never shed.
+ */
+@Slf4j
+final class IconDensityBudget
+{
+	// Every category but map links, in the order they are shed
+	private int[] sheddingOrder = new int[0];
+	private final PackedPointMap counts = new PackedPointMap(128);
+	private int shedIconCount;
+	private String parsedValue;
+
+	/**
+	 * @return the number of icons in view hidden by the last {@link #updateShed} call
+	 */
+	int getShedIconCount()
+	{
+		return shedIconCount;
+	}
+
+	/**
+	 * Parses the config, the icon names most important first, separated by commas or new lines, if it has changed since
+	 * the last call.
+	 *
+	 * @return whether the order has changed
+	 */
+	boolean update(String configValue)
+	{
+		if (configValue.equals(parsedValue))
+		{
+			return false;
+		}
+
+		parsedValue = configValue;
+		final BitSet listed = new BitSet();
+		final MapIcons[] icons = MapIcons.values();
+		final int[] listedCategories = new int[icons.length];
+		int listedCount = 0;
+		for (String name : configValue.split("[,\\n]"))
+		{
+			if (name.isBlank())
+			{
+				continue;
+			}
+
+			final MapIcons icon = ConfigNames.findIcon(name);
+			if (icon == null)
+			{
+				log.debug("Unknown icon in icon priority: {}", name.trim());
+			}
+			else if (icon != MapIcons.MAP_LINK && !listed.get(icon.getCategory()))
+			{
+				listed.set(icon.getCategory());
+				listedCategories[listedCount++] = icon.getCategory();
+			}
+		}
+
+		// The unlisted icons, then the listed ones from the least important
+		sheddingOrder = new int[icons.length - 1];
+		int position = 0;
+		for (MapIcons icon : icons)
+		{
+			if (icon != MapIcons.MAP_LINK && !listed.get(icon.getCategory()))
+			{
+				sheddingOrder[position++] = icon.getCategory();
+			}
+		}
+		for (int i = listedCount - 1; i >= 0; i--)
+		{
+			sheddingOrder[position++] = listedCategories[i];
+		}
+		return true;
+	}
+
+	/**
+	 * Starts counting the icons in view again.
+	 */
+	void clearCounts()
+	{
+		counts.clear();
+	}
+
+	void count(int category)
+	{
+		counts.put(category, counts.get(category, 0) + 1);
+	}
+
+	/**
+	 * Sets the bit of every category shed to bring the icons counted down to the maximum, and clears the rest.
+	 *
+	 * @return whether any bit has changed
+	 */
+	boolean updateShed(int maximum, BitSet shed)
+	{
+		int total = 0;
+		for (int category : sheddingOrder)
+		{
+			total += counts.get(category, 0);
+		}
+		total += counts.get(MapIcons.MAP_LINK.getCategory(), 0);
+
+		boolean changed = false;
+		shedIconCount = 0;
+		for (int category : sheddingOrder)
+		{
+			final int count = counts.get(category, 0);
+			final boolean shedCategory = total > maximum && count > 0;
+			if (shedCategory)
+			{
+				total -= count;
+				shedIconCount += count;
+			}
+			if (shed.get(category) != shedCategory)
+			{
+				shed.set(category, shedCategory);
+				changed = true;
+			}
+		}
+		return changed;
+	}
+}
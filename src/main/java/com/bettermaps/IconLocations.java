@@ -0,0 +1,180 @@
+package com.bettermaps;
+
+import java.util.ArrayList;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.api.Quest;
+import net.runelite.api.coords.WorldPoint;
+
+/**
+ * A flattened view of the {@link MapIcons} locations, holding one entry per world map icon in parallel arrays. The
+ * tooltip pass then becomes a single loop over the entries rather than a nested loop over every category.
+ */
+@Slf4j
+final class IconLocations
+{
+	static final int PLANES = 4;
+
+	private final MapIcons[] icons;
+	private final WorldPoint[] points;
+	private final Quest[] quests;
+	private int questTolerance = -1;
+	// The indices of the locations on each plane, worked out when first needed
+	private int[][] planeIndices;
+
+	IconLocations(MapIcons[] icons, WorldPoint[] points)
+	{
+		if (icons.length != points.length)
+		{
+			throw new IllegalArgumentException("Every location must have an icon");
+		}
+
+		this.icons = icons;
+		this.points = points;
+		this.quests = new Quest[icons.length];
+	}
+
+	private IconLocations(MapIcons[] icons, WorldPoint[] points, Quest[] quests, int questTolerance)
+	{
+		this(icons, points);
+		System.arraycopy(quests, 0, this.quests, 0, quests.length);
+		this.questTolerance = questTolerance;
+	}
+
+	static IconLocations fromMapIcons()
+	{
+		int size = 0;
+		for (MapIcons icon : MapIcons.values())
+		{
+			size += icon.getLocation().length;
+		}
+
+		final MapIcons[] icons = new MapIcons[size];
+		final WorldPoint[] points = new WorldPoint[size];
+		int index = 0;
+		for (MapIcons icon : MapIcons.values())
+		{
+			for (WorldPoint location : icon.getLocation())
+			{
+				icons[index] = icon;
+				points[index] = location;
+				index++;
+			}
+		}
+		return new IconLocations(icons, points);
+	}
+
+	/**
+	 * Builds the locations from the compiled {@link MapIcons} tables, with those in any region learned from the game
+	 * replaced by the learned locations. The quests are taken from the tables, so only the learned Quest Start
+	 * locations are matched here.
+	 */
+	static IconLocations fromTables(CompiledTables tables, LearnedIconLocations learnedLocations)
+	{
+		final List<MapIcons> icons = new ArrayList<>();
+		final List<WorldPoint> points = new ArrayList<>();
+		final List<Quest> quests = new ArrayList<>();
+		for (int index = 0; index < tables.size(); index++)
+		{
+			final int packedPoint = tables.getPackedPoint(index);
+			if (!learnedLocations.isLearned(packedPoint))
+			{
+				icons.add(tables.getIcon(index));
+				points.add(PackedWorldPoint.toWorldPoint(packedPoint));
+				quests.add(tables.getQuest(index));
+			}
+		}
+
+		learnedLocations.forEach((packedPoint, category) ->
+		{
+			final MapIcons icon = MapIcons.forCategory(category);
+			final WorldPoint point = PackedWorldPoint.toWorldPoint(packedPoint);
+			icons.add(icon);
+			points.add(point);
+			quests.add(icon == MapIcons.QUEST_START ? QuestLocationLookup.getNearestQuest(point, tables.getQuestTolerance()) : null);
+		});
+		return new IconLocations(icons.toArray(new MapIcons[0]), points.toArray(new WorldPoint[0]),
+			quests.toArray(new Quest[0]), tables.getQuestTolerance());
+	}
+
+	int size()
+	{
+		return icons.length;
+	}
+
+	MapIcons getIcon(int index)
+	{
+		return icons[index];
+	}
+
+	WorldPoint getPoint(int index)
+	{
+		return points[index];
+	}
+
+	/**
+	 * @return the indices of the locations on the plane, in index order
+	 */
+	int[] getPlaneIndices(int plane)
+	{
+		if (planeIndices == null)
+		{
+			final int[] counts = new int[PLANES];
+			for (WorldPoint point : points)
+			{
+				counts[point.getPlane()]++;
+			}
+
+			planeIndices = new int[PLANES][];
+			for (int i = 0; i < PLANES; i++)
+			{
+				planeIndices[i] = new int[counts[i]];
+				counts[i] = 0;
+			}
+			for (int index = 0; index < points.length; index++)
+			{
+				final int pointPlane = points[index].getPlane();
+				planeIndices[pointPlane][counts[pointPlane]++] = index;
+			}
+		}
+		return planeIndices[plane];
+	}
+
+	/**
+	 * @return the quest started at a Quest Start location, as found by the last {@link #resolveQuests} call
+	 */
+	Quest getQuest(int index)
+	{
+		return quests[index];
+	}
+
+	/**
+	 * Matches every Quest Start location to the nearest known quest start within the tolerance. This is only done
+	 * again when the tolerance changes, so the tooltip rebuilds just read the result.
+	 *
+	 * @return whether the quests were matched again
+	 */
+	boolean resolveQuests(int tolerance)
+	{
+		if (tolerance == questTolerance)
+		{
+			return false;
+		}
+
+		questTolerance = tolerance;
+		for (int index = 0; index < icons.length; index++)
+		{
+			if (icons[index] != MapIcons.QUEST_START)
+			{
+				continue;
+			}
+
+			quests[index] = QuestLocationLookup.getNearestQuest(points[index], tolerance);
+			if (quests[index] == null)
+			{
+				log.debug("Quest icon at location {} not yet included.", points[index]);
+			}
+		}
+		return true;
+	}
+}
@@ -0,0 +1,177 @@
+package com.bettermaps;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+import net.runelite.api.Quest;
+import net.runelite.api.coords.WorldPoint;
+
+/**
+ * A search index over the name of every {@link MapIcons} location and every {@link QuestLocationLookup} quest start.
+ * Each word of each name is held in a sorted array, so the names with a word starting with a query word are found by
+ * a binary search followed by a scan of just the matching words. It is built once, as the names do not change.
+ */
+final class IconSearchIndex
+{
+	private static final String WORD_SEPARATORS = "[\\s\\-/]+";
+	private static final Quest[] QUESTS = Quest.values();
+
+	// The entries, sorted by name then location
+	private final String[] names;
+	private final int[] packedPoints;
+	// Every word of every name, sorted, and the entry each is from
+	private final String[] words;
+	private final int[] wordEntries;
+
+	private IconSearchIndex(String[] names, int[] packedPoints, String[] words, int[] wordEntries)
+	{
+		this.names = names;
+		this.packedPoints = packedPoints;
+		this.words = words;
+		this.wordEntries = wordEntries;
+	}
+
+	int size()
+	{
+		return names.length;
+	}
+
+	String getName(int entry)
+	{
+		return names[entry];
+	}
+
+	WorldPoint getPoint(int entry)
+	{
+		return PackedWorldPoint.toWorldPoint(packedPoints[entry]);
+	}
+
+	static IconSearchIndex build()
+	{
+		final List<Entry> entries = new ArrayList<>();
+		for (MapIcons icon : MapIcons.values())
+		{
+			// Quest starts are named by their quest instead
+			if (icon == MapIcons.QUEST_START)
+			{
+				continue;
+			}
+			for (WorldPoint location : icon.getLocation())
+			{
+				entries.add(new Entry(icon.getDefaultTooltip(), PackedWorldPoint.pack(location)));
+			}
+		}
+		QuestLocationLookup.forEach((packedPoint, questOrdinal) ->
+			entries.add(new Entry(QUESTS[questOrdinal].getName(), packedPoint)));
+		entries.sort(Comparator.comparing((Entry entry) -> entry.text).thenComparingInt(entry -> entry.value));
+
+		final String[] names = new String[entries.size()];
+		final int[] packedPoints = new int[entries.size()];
+		final List<Entry> entryWords = new ArrayList<>();
+		for (int index = 0; index < names.length; index++)
+		{
+			names[index] = entries.get(index).text;
+			packedPoints[index] = entries.get(index).value;
+			for (String word : names[index].split(WORD_SEPARATORS))
+			{
+				final String normalisedWord = ConfigNames.normalise(word);
+				if (!normalisedWord.isEmpty())
+				{
+					entryWords.add(new Entry(normalisedWord, index));
+				}
+			}
+		}
+		entryWords.sort(Comparator.comparing((Entry entry) -> entry.text).thenComparingInt(entry -> entry.value));
+
+		final String[] words = new String[entryWords.size()];
+		final int[] wordEntries = new int[entryWords.size()];
+		for (int i = 0; i < words.length; i++)
+		{
+			words[i] = entryWords.get(i).text;
+			wordEntries[i] = entryWords.get(i).value;
+		}
+		return new IconSearchIndex(names, packedPoints, words, wordEntries);
+	}
+
+	/**
+	 * Finds the entries with a word starting with each word of the query, ignoring case and punctuation, so that
+	 * "cook's ass" finds Cook's Assistant.
+	 *
+	 * @return the number of entries found, in name order, filling at most the length of the results
+	 */
+	int search(String query, int[] results)
+	{
+		BitSet matches = null;
+		for (String word : query.split(WORD_SEPARATORS))
+		{
+			final String prefix = ConfigNames.normalise(word);
+			if (prefix.isEmpty())
+			{
+				continue;
+			}
+
+			final BitSet wordMatches = new BitSet(names.length);
+			for (int i = lowerBound(prefix); i < words.length && words[i].startsWith(prefix); i++)
+			{
+				wordMatches.set(wordEntries[i]);
+			}
+
+			if (matches == null)
+			{
+				matches = wordMatches;
+			}
+			else
+			{
+				matches.and(wordMatches);
+			}
+		}
+
+		int found = 0;
+		if (matches != null)
+		{
+			for (int entry = matches.nextSetBit(0); entry >= 0 && found < results.length; entry = matches.nextSetBit(entry + 1))
+			{
+				results[found++] = entry;
+			}
+		}
+		return found;
+	}
+
+	/**
+	 * @return the index of the first word which is not before the prefix
+	 */
+	private int lowerBound(String prefix)
+	{
+		int low = 0;
+		int high = words.length;
+		while (low < high)
+		{
+			final int middle = (low + high) >>> 1;
+			if (words[middle].compareTo(prefix) < 0)
+			{
+				low = middle + 1;
+			}
+			else
+			{
+				high = middle;
+			}
+		}
+		return low;
+	}
+
+	/**
+	 * Text and a value while building, being either a name and its packed location or a word and its entry.
+	 */
+	private static final class Entry
+	{
+		private final String text;
+		private final int value;
+
+		private Entry(String text, int value)
+		{
+			this.text = text;
+			this.value = value;
+		}
+	}
+}
@@ -0,0 +1,130 @@
+package com.bettermaps;
+
+import java.awt.BorderLayout;
+import java.awt.Cursor;
+import java.awt.Dimension;
+import java.awt.GridLayout;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.util.function.Consumer;
+import javax.swing.JLabel;
+import javax.swing.JPanel;
+import javax.swing.border.EmptyBorder;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import net.runelite.api.coords.WorldPoint;
+import net.runelite.client.ui.ColorScheme;
+import net.runelite.client.ui.PluginPanel;
+import net.runelite.client.ui.components.IconTextField;
+
+/**
+ * A side panel for finding icons by name or quest, searching as each key is typed, and moving the world map to an icon
+ * when it is clicked.
+ */
+class IconSearchPanel extends PluginPanel
+{
+	private static final int MAX_RESULTS = 50;
+	private static final int SEARCH_BAR_HEIGHT = 30;
+
+	private final Consumer<WorldPoint> onSelected;
+	private final IconTextField searchBar = new IconTextField();
+	private final JPanel resultsPanel = new JPanel(new GridLayout(0, 1, 0, 2));
+	private final int[] results = new int[MAX_RESULTS];
+	private IconSearchIndex index;
+
+	/**
+	 * @param onSelected called on the Swing thread with the location of a clicked result
+	 */
+	IconSearchPanel(Consumer<WorldPoint> onSelected)
+	{
+		this.onSelected = onSelected;
+		setLayout(new BorderLayout(0, 6));
+		setBorder(new EmptyBorder(10, 10, 10, 10));
+		setBackground(ColorScheme.DARK_GRAY_COLOR);
+
+		searchBar.setIcon(IconTextField.Icon.SEARCH);
+		searchBar.setPreferredSize(new Dimension(PluginPanel.PANEL_WIDTH - 20, SEARCH_BAR_HEIGHT));
+		searchBar.setBackground(ColorScheme.DARKER_GRAY_COLOR);
+		searchBar.setHoverBackgroundColor(ColorScheme.DARK_GRAY_HOVER_COLOR);
+		searchBar.getDocument().addDocumentListener(new DocumentListener()
+		{
+			@Override
+			public void insertUpdate(DocumentEvent e)
+			{
+				search();
+			}
+
+			@Override
+			public void removeUpdate(DocumentEvent e)
+			{
+				search();
+			}
+
+			@Override
+			public void changedUpdate(DocumentEvent e)
+			{
+				search();
+			}
+		});
+
+		resultsPanel.setBackground(ColorScheme.DARK_GRAY_COLOR);
+		add(searchBar, BorderLayout.NORTH);
+		add(resultsPanel, BorderLayout.CENTER);
+	}
+
+	private void search()
+	{
+		// Built on the first search, rather than slowing down the plugin starting up for a panel which may not be used
+		if (index == null)
+		{
+			index = IconSearchIndex.build();
+		}
+
+		resultsPanel.removeAll();
+		final int found = index.search(searchBar.getText(), results);
+		for (int result = 0; result < found; result++)
+		{
+			resultsPanel.add(createResultRow(index.getName(results[result]), index.getPoint(results[result])));
+		}
+		resultsPanel.revalidate();
+		resultsPanel.repaint();
+	}
+
+	private JPanel createResultRow(String name, WorldPoint location)
+	{
+		final JPanel row = new JPanel(new BorderLayout());
+		row.setBorder(new EmptyBorder(4, 6, 4, 6));
+		row.setBackground(ColorScheme.DARKER_GRAY_COLOR);
+		row.setCursor(Cursor.getPredefinedCursor(Cursor.HAND_CURSOR));
+		row.setToolTipText("Show on the world map");
+
+		final JLabel nameLabel = new JLabel(name);
+		nameLabel.setForeground(ColorScheme.LIGHT_GRAY_COLOR);
+		final JLabel locationLabel = new JLabel(location.getX() + ", " + location.getY());
+		locationLabel.setForeground(ColorScheme.MEDIUM_GRAY_COLOR);
+		row.add(nameLabel, BorderLayout.CENTER);
+		row.add(locationLabel, BorderLayout.EAST);
+
+		row.addMouseListener(new MouseAdapter()
+		{
+			@Override
+			public void mouseClicked(MouseEvent e)
+			{
+				onSelected.accept(location);
+			}
+
+			@Override
+			public void mouseEntered(MouseEvent e)
+			{
+				row.setBackground(ColorScheme.DARK_GRAY_HOVER_COLOR);
+			}
+
+			@Override
+			public void mouseExited(MouseEvent e)
+			{
+				row.setBackground(ColorScheme.DARKER_GRAY_COLOR);
+			}
+		});
+		return row;
+	}
+}
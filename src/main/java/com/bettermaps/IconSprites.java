@@ -0,0 +1,48 @@
+package com.bettermaps;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import javax.imageio.ImageIO;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The icon sprites captured from the world map, saved as a PNG per icon type. The sprites are only available from the
+ * client, so saving them lets the icon layer be rendered without it.
+ */
+@Slf4j
+final class IconSprites
+{
+	static final File DIRECTORY = new File(CacheDirectory.DIRECTORY, "sprites");
+
+	private IconSprites()
+	{
+	}
+
+	static File file(File directory, MapIcons icon)
+	{
+		return new File(directory, icon.name().toLowerCase() + ".png");
+	}
+
+	/**
+	 * Saves the sprite of the icon type, replacing any saved on an earlier run in case the game has changed it. This
+	 * does disk I/O, so is not to be called on the client thread.
+	 */
+	static void save(MapIcons icon, BufferedImage image)
+	{
+		final File file = file(DIRECTORY, icon);
+		final File temporaryFile = new File(DIRECTORY, file.getName() + ".tmp");
+		try
+		{
+			Files.createDirectories(DIRECTORY.toPath());
+			ImageIO.write(image, "png", temporaryFile);
+			Files.move(temporaryFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		}
+		catch (IOException e)
+		{
+			log.debug("Unable to save the icon sprite to {}", file, e);
+		}
+	}
+}
@@ -0,0 +1,278 @@
+package com.bettermaps;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.BitSet;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.api.Client;
+import net.runelite.api.worldmap.WorldMapIcon;
+import net.runelite.api.worldmap.WorldMapRegion;
+
+/**
+ * The icon locations actually shown by the game, learned from the world map regions as they are loaded and saved
+ * under the RuneLite directory, with a separate file per client revision. Once a region has been learned, its
+ * learned locations replace the {@link MapIcons} locations within it, so the tooltips follow the game as it is updated.
+ * Files for earlier revisions are deleted once the current revision's has been saved.
+ * <p>
+ * Regions are learned on the client thread, while the file is read and written in the background on the client's
+ * executor, batching every region learned within {@link #WRITE_DELAY_SECONDS} into a single write.
+ */
+@Slf4j
+@Singleton
+class LearnedIconLocations
+{
+	private static final String FILE_PREFIX = "learned-icons-";
+	private static final int FORMAT_VERSION = 1;
+	private static final int WRITE_DELAY_SECONDS = 30;
+	private static final int REGION_COUNT = 1 << 16;
+
+	private final Client client;
+	private final ScheduledExecutorService executor;
+
+	private final BitSet learnedRegions = new BitSet(REGION_COUNT);
+	private final PackedPointMap categories = new PackedPointMap(4096);
+	private int revision = -1;
+	// Incremented whenever the learned locations change, so that anything built from them can tell it is out of date
+	private int version;
+	private ScheduledFuture<?> pendingWrite;
+
+	@Inject
+	LearnedIconLocations(Client client, ScheduledExecutorService executor)
+	{
+		this.client = client;
+		this.executor = executor;
+	}
+
+	/**
+	 * Starts learning for the current client revision, loading anything learned on an earlier run in the background.
+	 *
+	 * @param onLoaded called from the executor once earlier locations have been loaded
+	 */
+	void load(Runnable onLoaded)
+	{
+		final int clientRevision = client.getRevision();
+		synchronized (this)
+		{
+			if (revision == clientRevision)
+			{
+				return;
+			}
+
+			revision = clientRevision;
+			learnedRegions.clear();
+			categories.clear();
+			version++;
+		}
+
+		executor.execute(() ->
+		{
+			if (read(clientRevision))
+			{
+				onLoaded.run();
+			}
+		});
+	}
+
+	/**
+	 * Saves anything learned since the last write straight away, rather than waiting for the batch.
+	 */
+	synchronized void flush()
+	{
+		if (pendingWrite != null && pendingWrite.cancel(false))
+		{
+			pendingWrite = null;
+			executor.execute(this::write);
+		}
+	}
+
+	/**
+	 * Learns the icons of a loaded world map region, if it has not already been learned for this revision.
+	 *
+	 * @return whether the region was newly learned
+	 */
+	synchronized boolean learn(WorldMapRegion region)
+	{
+		final int regionId = region.getRegionX() << 8 | region.getRegionY();
+		if (revision < 0 || learnedRegions.get(regionId))
+		{
+			return false;
+		}
+
+		learnedRegions.set(regionId);
+		version++;
+		for (WorldMapIcon icon : region.getMapIcons())
+		{
+			final int category = client.getMapElementConfig(icon.getType()).getCategory();
+			if (MapIcons.forCategory(category) != null)
+			{
+				categories.put(PackedWorldPoint.pack(icon.getCoordinate()), category);
+			}
+		}
+
+		if (pendingWrite == null || pendingWrite.isDone())
+		{
+			pendingWrite = executor.schedule(this::write, WRITE_DELAY_SECONDS, TimeUnit.SECONDS);
+		}
+		return true;
+	}
+
+	/**
+	 * @return whether the location is within a learned region, in which case its {@link MapIcons} location is replaced
+	 */
+	synchronized boolean isLearned(int packedPoint)
+	{
+		return learnedRegions.get(regionId(packedPoint));
+	}
+
+	synchronized int getVersion()
+	{
+		return version;
+	}
+
+	/**
+	 * Calls the consumer with the location and map element category of every learned icon.
+	 */
+	synchronized void forEach(PackedPointMap.EntryConsumer consumer)
+	{
+		categories.forEach(consumer);
+	}
+
+	private boolean read(int fileRevision)
+	{
+		final File file = cacheFile(fileRevision);
+		if (!file.exists())
+		{
+			return false;
+		}
+
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file))))
+		{
+			if (in.readInt() != FORMAT_VERSION || in.readInt() != fileRevision)
+			{
+				log.debug("Ignoring learned icon locations in an old format: {}", file);
+				return false;
+			}
+
+			final BitSet fileRegions = new BitSet(REGION_COUNT);
+			final int regionCount = in.readInt();
+			for (int i = 0; i < regionCount; i++)
+			{
+				fileRegions.set(in.readInt());
+			}
+
+			final int entryCount = in.readInt();
+			final int[] packedPoints = new int[entryCount];
+			final int[] pointCategories = new int[entryCount];
+			for (int i = 0; i < entryCount; i++)
+			{
+				packedPoints[i] = in.readInt();
+				pointCategories[i] = in.readInt();
+			}
+
+			synchronized (this)
+			{
+				if (revision != fileRevision)
+				{
+					return false;
+				}
+
+				// Regions learned while the file was being read are newer, so are kept over those in the file
+				fileRegions.andNot(learnedRegions);
+				for (int i = 0; i < entryCount; i++)
+				{
+					if (fileRegions.get(regionId(packedPoints[i])) && MapIcons.forCategory(pointCategories[i]) != null)
+					{
+						categories.put(packedPoints[i], pointCategories[i]);
+					}
+				}
+				learnedRegions.or(fileRegions);
+				version++;
+			}
+
+			log.debug("Loaded {} learned icon locations from {} regions", entryCount, regionCount);
+			return true;
+		}
+		catch (IOException e)
+		{
+			log.warn("Unable to load the learned icon locations from {}", file, e);
+			return false;
+		}
+	}
+
+	private void write()
+	{
+		final int fileRevision;
+		final int[] regionIds;
+		final int[] packedPoints;
+		final int[] pointCategories;
+		synchronized (this)
+		{
+			fileRevision = revision;
+			regionIds = learnedRegions.stream().toArray();
+			packedPoints = new int[categories.size()];
+			pointCategories = new int[categories.size()];
+			final int[] index = {0};
+			categories.forEach((packedPoint, category) ->
+			{
+				packedPoints[index[0]] = packedPoint;
+				pointCategories[index[0]] = category;
+				index[0]++;
+			});
+		}
+
+		final File file = cacheFile(fileRevision);
+		final File temporaryFile = new File(CacheDirectory.DIRECTORY, file.getName() + ".tmp");
+		try
+		{
+			Files.createDirectories(CacheDirectory.DIRECTORY.toPath());
+			try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temporaryFile))))
+			{
+				out.writeInt(FORMAT_VERSION);
+				out.writeInt(fileRevision);
+				out.writeInt(regionIds.length);
+				for (int regionId : regionIds)
+				{
+					out.writeInt(regionId);
+				}
+				out.writeInt(packedPoints.length);
+				for (int i = 0; i < packedPoints.length; i++)
+				{
+					out.writeInt(packedPoints[i]);
+					out.writeInt(pointCategories[i]);
+				}
+			}
+			Files.move(temporaryFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		}
+		catch (IOException e)
+		{
+			log.warn("Unable to save the learned icon locations to {}", file, e);
+			return;
+		}
+
+		// Only the current revision's file is ever read, so those learned under earlier revisions are deleted
+		CacheDirectory.prune(FILE_PREFIX, name -> name.equals(file.getName()));
+	}
+
+	private static File cacheFile(int fileRevision)
+	{
+		return new File(CacheDirectory.DIRECTORY, FILE_PREFIX + fileRevision + ".dat");
+	}
+
+	private static int regionId(int packedPoint)
+	{
+		return (PackedWorldPoint.getX(packedPoint) >> 6) << 8 | (PackedWorldPoint.getY(packedPoint) >> 6);
+	}
+}
@@ -3079,10 +3079,35 @@ public enum MapIcons
 	private final String defaultTooltip;
 	private final int category;
 
+	private static final MapIcons[] BY_CATEGORY;
+
+	static
+	{
+		int maxCategory = 0;
+		for (MapIcons icon : values())
+		{
+			maxCategory = Math.max(maxCategory, icon.category);
+		}
+
+		BY_CATEGORY = new MapIcons[maxCategory + 1];
+		for (MapIcons icon : values())
+		{
+			BY_CATEGORY[icon.category] = icon;
+		}
+	}
+
 	MapIcons(int category, String defaultTooltip, WorldPoint... location)
 	{
 		this.location = location;
 		this.defaultTooltip = defaultTooltip;
 		this.category = category;
 	}
+
+	/**
+	 * @return the icon type shown for the map element category, or null if it is not one handled by this plugin
+	 */
+	static MapIcons forCategory(int category)
+	{
+		return category >= 0 && category < BY_CATEGORY.length ? BY_CATEGORY[category] : null;
+	}
 }
\ No newline at end of file
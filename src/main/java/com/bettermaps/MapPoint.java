@@ -34,7 +34,9 @@ class MapPoint extends WorldMapPoint
 {
 	enum Type
 	{
-		DEFAULT
+		DEFAULT,
+		CLUSTER,
+		NEAREST
 	}
 
 	@Getter
@@ -0,0 +1,95 @@
+package com.bettermaps;
+
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Graphics2D;
+import java.awt.Polygon;
+import java.awt.RenderingHints;
+import javax.inject.Inject;
+import net.runelite.api.Client;
+import net.runelite.api.Perspective;
+import net.runelite.api.Player;
+import net.runelite.api.Point;
+import net.runelite.api.coords.WorldPoint;
+import net.runelite.client.ui.overlay.Overlay;
+import net.runelite.client.ui.overlay.OverlayLayer;
+import net.runelite.client.ui.overlay.OverlayPosition;
+
+/**
+ * Points the way on the minimap to the nearest icon found by the plugin, with a ring around it once it is on the
+ * minimap and an arrow at the edge until then.
+ */
+class NearestIconOverlay extends Overlay
+{
+	// Each tile is 4 pixels across on the minimap, as in Perspective.localToMinimap
+	private static final int TILE_PIXELS = 4;
+	private static final int ARROW_DISTANCE = 64;
+	private static final int ARROW_LENGTH = 10;
+	private static final int ARROW_WIDTH = 6;
+	private static final int RING_SIZE = 12;
+	// Also used for the rings marking the nearest icons on the world map
+	static final Color COLOUR = new Color(0, 255, 255, 220);
+
+	private final Client client;
+	private final BetterMapsPlugin plugin;
+
+	@Inject
+	private NearestIconOverlay(Client client, BetterMapsPlugin plugin)
+	{
+		super(plugin);
+		this.client = client;
+		this.plugin = plugin;
+		setPosition(OverlayPosition.DYNAMIC);
+		setLayer(OverlayLayer.ABOVE_WIDGETS);
+	}
+
+	@Override
+	public Dimension render(Graphics2D graphics)
+	{
+		final WorldPoint target = plugin.getNearestIconTarget();
+		final Player player = client.getLocalPlayer();
+		if (target == null || player == null)
+		{
+			return null;
+		}
+
+		final Point playerPoint = Perspective.localToMinimap(client, player.getLocalLocation());
+		final WorldPoint playerLocation = player.getWorldLocation();
+		if (playerPoint == null || target.equals(playerLocation))
+		{
+			return null;
+		}
+
+		// Rotated with the minimap, as in Perspective.localToMinimap
+		final int dx = target.getX() - playerLocation.getX();
+		final int dy = target.getY() - playerLocation.getY();
+		final int angle = client.getCameraYawTarget() & 0x7FF;
+		final int sin = Perspective.SINE[angle];
+		final int cos = Perspective.COSINE[angle];
+		final double x = (double) (dy * sin + cos * dx) / (1 << 16) * TILE_PIXELS;
+		final double y = (double) (sin * dx - dy * cos) / (1 << 16) * TILE_PIXELS;
+		final double distance = Math.hypot(x, y);
+
+		graphics.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+		graphics.setColor(COLOUR);
+		if (distance <= ARROW_DISTANCE)
+		{
+			graphics.setStroke(new BasicStroke(2));
+			graphics.drawOval((int) Math.round(playerPoint.getX() + x) - RING_SIZE / 2,
+				(int) Math.round(playerPoint.getY() + y) - RING_SIZE / 2, RING_SIZE, RING_SIZE);
+			return null;
+		}
+
+		final double unitX = x / distance, unitY = y / distance;
+		final double tipX = playerPoint.getX() + unitX * ARROW_DISTANCE;
+		final double tipY = playerPoint.getY() + unitY * ARROW_DISTANCE;
+		final double baseX = tipX - unitX * ARROW_LENGTH, baseY = tipY - unitY * ARROW_LENGTH;
+		final Polygon arrow = new Polygon();
+		arrow.addPoint((int) Math.round(tipX), (int) Math.round(tipY));
+		arrow.addPoint((int) Math.round(baseX - unitY * ARROW_WIDTH), (int) Math.round(baseY + unitX * ARROW_WIDTH));
+		arrow.addPoint((int) Math.round(baseX + unitY * ARROW_WIDTH), (int) Math.round(baseY - unitX * ARROW_WIDTH));
+		graphics.fillPolygon(arrow);
+		return null;
+	}
+}
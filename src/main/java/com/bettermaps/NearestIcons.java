@@ -0,0 +1,195 @@
+package com.bettermaps;
+
+import java.util.Arrays;
+import java.util.function.IntPredicate;
+
+/**
+ * A spatial index over the icon locations, bucketed by category and map region, for finding the nearest icons of a
+ * category to a location. The buckets are held in flat arrays, sorted so that each bucket's members are contiguous, and
+ * a query visits the regions in rings outwards from the location, stopping once no closer icon can remain. Every
+ * location is indexed, and a query skips those its filter rejects, so the index only changes with the locations.
+ * <p>
+ * Distances are in tiles, measured the way the player moves, with a diagonal step counting as one. An icon on another
+ * plane is not left out, as the stairs may be close by, but counts as {@link #PLANE_PENALTY} tiles further away for
+ * each plane between it and the location, so an icon on the same plane is preferred unless it is much further.
+ */
+final class NearestIcons
+{
+	private static final int REGION_SHIFT = 6;
+	private static final int REGION_SIZE = 1 << REGION_SHIFT;
+	private static final int NONE = -1;
+	static final int PLANE_PENALTY = 32;
+
+	// The bucket of each category and region key
+	private final PackedPointMap buckets = new PackedPointMap(1024);
+	// The slot of each category in categoryBounds, which holds its minimum and maximum region x and y
+	private final PackedPointMap categorySlots = new PackedPointMap(128);
+	private int[] categoryBounds = new int[0];
+	private int[] bucketStarts = new int[0];
+	// The location indices and packed locations of the members, in bucket order
+	private int[] members = new int[0];
+	private int[] memberPoints = new int[0];
+	// The distance of each result, reused across queries
+	private int[] distances = new int[0];
+
+	/**
+	 * Indexes every location.
+	 */
+	void build(IconLocations locations)
+	{
+		buckets.clear();
+		categorySlots.clear();
+
+		// Sorting by key then index puts each bucket's members together, in location order
+		final int count = locations.size();
+		final long[] sorted = new long[count];
+		for (int index = 0; index < count; index++)
+		{
+			final int category = locations.getIcon(index).getCategory();
+			final int x = locations.getPoint(index).getX(), y = locations.getPoint(index).getY();
+			sorted[index] = (long) bucketKey(category, x >> REGION_SHIFT, y >> REGION_SHIFT) << 32 | index;
+		}
+		Arrays.sort(sorted);
+
+		members = new int[count];
+		memberPoints = new int[count];
+		bucketStarts = new int[count + 1];
+		categoryBounds = new int[0];
+		int bucketCount = 0;
+		for (int i = 0; i < count; i++)
+		{
+			final int key = (int) (sorted[i] >>> 32);
+			final int index = (int) sorted[i];
+			members[i] = index;
+			memberPoints[i] = PackedWorldPoint.pack(locations.getPoint(index));
+			if (i == 0 || key != (int) (sorted[i - 1] >>> 32))
+			{
+				buckets.put(key, bucketCount);
+				bucketStarts[bucketCount++] = i;
+				addToBounds(key >>> 16, (key >>> 8) & 0xFF, key & 0xFF);
+			}
+		}
+		bucketStarts[bucketCount] = count;
+	}
+
+	/**
+	 * Finds the nearest icons of the category to the location which are accepted by the filter, filling the results
+	 * with their location indices, nearest first.
+	 *
+	 * @return the number of icons found, which is less than the length of the results only if there are no more
+	 */
+	int findNearest(int category, int x, int y, int plane, IntPredicate filter, int[] results)
+	{
+		final int slot = categorySlots.get(category, NONE);
+		if (slot == NONE || results.length == 0)
+		{
+			return 0;
+		}
+
+		final int regionX = x >> REGION_SHIFT, regionY = y >> REGION_SHIFT;
+		final int minX = categoryBounds[slot * 4], minY = categoryBounds[slot * 4 + 1];
+		final int maxX = categoryBounds[slot * 4 + 2], maxY = categoryBounds[slot * 4 + 3];
+		final int lastRing = Math.max(Math.max(regionX - minX, maxX - regionX), Math.max(regionY - minY, maxY - regionY));
+		if (distances.length < results.length)
+		{
+			distances = new int[results.length];
+		}
+		int found = 0;
+		for (int ring = 0; ring <= lastRing; ring++)
+		{
+			// Every tile in the ring is at least this far, wherever the location is within its region, and the plane
+			// penalty only ever adds to it
+			if (found == results.length && distances[found - 1] <= (ring - 1) * REGION_SIZE)
+			{
+				break;
+			}
+
+			for (int ringX = Math.max(minX, regionX - ring); ringX <= Math.min(maxX, regionX + ring); ringX++)
+			{
+				if (ringX == regionX - ring || ringX == regionX + ring)
+				{
+					for (int ringY = Math.max(minY, regionY - ring); ringY <= Math.min(maxY, regionY + ring); ringY++)
+					{
+						found = addRegion(category, ringX, ringY, x, y, plane, filter, results, found);
+					}
+				}
+				else
+				{
+					// Only the top and bottom of the ring are in the columns between its sides
+					if (regionY - ring >= minY)
+					{
+						found = addRegion(category, ringX, regionY - ring, x, y, plane, filter, results, found);
+					}
+					if (regionY + ring <= maxY)
+					{
+						found = addRegion(category, ringX, regionY + ring, x, y, plane, filter, results, found);
+					}
+				}
+			}
+		}
+		return found;
+	}
+
+	/**
+	 * Adds the region's icons of the category accepted by the filter to the results, where they are nearer than those
+	 * already found.
+	 *
+	 * @return the number of results found
+	 */
+	private int addRegion(int category, int regionX, int regionY, int x, int y, int plane, IntPredicate filter,
+		int[] results, int found)
+	{
+		final int bucket = buckets.get(bucketKey(category, regionX, regionY), NONE);
+		if (bucket == NONE)
+		{
+			return found;
+		}
+
+		for (int member = bucketStarts[bucket]; member < bucketStarts[bucket + 1]; member++)
+		{
+			final int point = memberPoints[member];
+			final int distance = Math.max(Math.abs(PackedWorldPoint.getX(point) - x), Math.abs(PackedWorldPoint.getY(point) - y))
+				+ Math.abs(PackedWorldPoint.getPlane(point) - plane) * PLANE_PENALTY;
+			if ((found == results.length && distance >= distances[found - 1]) || !filter.test(members[member]))
+			{
+				continue;
+			}
+
+			// Insertion into the results, which are kept sorted by distance
+			int position = found == results.length ? found - 1 : found++;
+			while (position > 0 && distances[position - 1] > distance)
+			{
+				distances[position] = distances[position - 1];
+				results[position] = results[position - 1];
+				position--;
+			}
+			distances[position] = distance;
+			results[position] = members[member];
+		}
+		return found;
+	}
+
+	private void addToBounds(int category, int regionX, int regionY)
+	{
+		int slot = categorySlots.get(category, NONE);
+		if (slot == NONE)
+		{
+			slot = categoryBounds.length / 4;
+			categorySlots.put(category, slot);
+			categoryBounds = Arrays.copyOf(categoryBounds, categoryBounds.length + 4);
+			categoryBounds[slot * 4] = categoryBounds[slot * 4 + 2] = regionX;
+			categoryBounds[slot * 4 + 1] = categoryBounds[slot * 4 + 3] = regionY;
+			return;
+		}
+
+		categoryBounds[slot * 4] = Math.min(categoryBounds[slot * 4], regionX);
+		categoryBounds[slot * 4 + 1] = Math.min(categoryBounds[slot * 4 + 1], regionY);
+		categoryBounds[slot * 4 + 2] = Math.max(categoryBounds[slot * 4 + 2], regionX);
+		categoryBounds[slot * 4 + 3] = Math.max(categoryBounds[slot * 4 + 3], regionY);
+	}
+
+	private static int bucketKey(int category, int regionX, int regionY)
+	{
+		return category << 16 | regionX << 8 | regionY;
+	}
+}
@@ -0,0 +1,132 @@
+package com.bettermaps;
+
+import java.util.Arrays;
+
+/**
+ * An open addressing hash map from a {@link PackedWorldPoint} to an int value, held in two int arrays. Lookups neither
+ * box nor allocate, and the table grows by doubling whenever it becomes half full.
+ */
+final class PackedPointMap
+{
+	// All bits set would be x and y of 32767 on plane 3, which is well outside the game world
+	private static final int EMPTY = -1;
+
+	private int[] keys;
+	private int[] values;
+	private int size;
+
+	PackedPointMap(int expectedSize)
+	{
+		allocate(Integer.highestOneBit(Math.max(2, expectedSize) * 4 - 1));
+	}
+
+	int size()
+	{
+		return size;
+	}
+
+	boolean isEmpty()
+	{
+		return size == 0;
+	}
+
+	boolean containsKey(int packedPoint)
+	{
+		return keys[indexOf(packedPoint)] != EMPTY;
+	}
+
+	/**
+	 * @return the value stored for the location, or missingValue if there is none
+	 */
+	int get(int packedPoint, int missingValue)
+	{
+		final int index = indexOf(packedPoint);
+		return keys[index] == EMPTY ? missingValue : values[index];
+	}
+
+	void put(int packedPoint, int value)
+	{
+		if (packedPoint == EMPTY)
+		{
+			throw new IllegalArgumentException("Not a valid packed location");
+		}
+
+		int index = indexOf(packedPoint);
+		if (keys[index] == EMPTY)
+		{
+			if ((size + 1) * 2 > keys.length)
+			{
+				grow();
+				index = indexOf(packedPoint);
+			}
+			keys[index] = packedPoint;
+			size++;
+		}
+		values[index] = value;
+	}
+
+	void clear()
+	{
+		Arrays.fill(keys, EMPTY);
+		size = 0;
+	}
+
+	/**
+	 * Calls the consumer with every key and value, in no particular order.
+	 */
+	void forEach(EntryConsumer consumer)
+	{
+		for (int index = 0; index < keys.length; index++)
+		{
+			if (keys[index] != EMPTY)
+			{
+				consumer.accept(keys[index], values[index]);
+			}
+		}
+	}
+
+	interface EntryConsumer
+	{
+		void accept(int packedPoint, int value);
+	}
+
+	private int indexOf(int packedPoint)
+	{
+		final int mask = keys.length - 1;
+		int index = mix(packedPoint) & mask;
+		while (keys[index] != EMPTY && keys[index] != packedPoint)
+		{
+			index = (index + 1) & mask;
+		}
+		return index;
+	}
+
+	private void grow()
+	{
+		final int[] oldKeys = keys;
+		final int[] oldValues = values;
+		allocate(oldKeys.length * 2);
+		for (int index = 0; index < oldKeys.length; index++)
+		{
+			if (oldKeys[index] != EMPTY)
+			{
+				final int newIndex = indexOf(oldKeys[index]);
+				keys[newIndex] = oldKeys[index];
+				values[newIndex] = oldValues[index];
+			}
+		}
+	}
+
+	private void allocate(int capacity)
+	{
+		keys = new int[capacity];
+		values = new int[capacity];
+		Arrays.fill(keys, EMPTY);
+	}
+
+	private static int mix(int key)
+	{
+		final int hash = key * 0x9E3779B9;
+		return hash ^ (hash >>> 16);
+	}
+}
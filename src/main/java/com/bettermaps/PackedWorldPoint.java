@@ -0,0 +1,48 @@
+package com.bettermaps;
+
+import net.runelite.api.coords.WorldPoint;
+
+/**
+ * Packs a world location into a single int, 15 bits each for x and y and 2 bits for the plane, so that locations can
+ * be stored in primitive arrays and compared without creating or hashing a {@link WorldPoint}.
+ */
+final class PackedWorldPoint
+{
+	private static final int COORDINATE_BITS = 15;
+	private static final int COORDINATE_MASK = (1 << COORDINATE_BITS) - 1;
+	private static final int PLANE_MASK = 0b11;
+
+	private PackedWorldPoint()
+	{
+	}
+
+	static int pack(int x, int y, int plane)
+	{
+		return (plane & PLANE_MASK) << (COORDINATE_BITS * 2) | (y & COORDINATE_MASK) << COORDINATE_BITS | (x & COORDINATE_MASK);
+	}
+
+	static int pack(WorldPoint worldPoint)
+	{
+		return pack(worldPoint.getX(), worldPoint.getY(), worldPoint.getPlane());
+	}
+
+	static int getX(int packed)
+	{
+		return packed & COORDINATE_MASK;
+	}
+
+	static int getY(int packed)
+	{
+		return (packed >>> COORDINATE_BITS) & COORDINATE_MASK;
+	}
+
+	static int getPlane(int packed)
+	{
+		return (packed >>> (COORDINATE_BITS * 2)) & PLANE_MASK;
+	}
+
+	static WorldPoint toWorldPoint(int packed)
+	{
+		return new WorldPoint(getX(packed), getY(packed), getPlane(packed));
+	}
+}
@@ -1,192 +1,263 @@
 package com.bettermaps;
 
-import java.util.Map;
-import static java.util.Map.entry;
 import lombok.extern.slf4j.Slf4j;
 import net.runelite.api.Quest;
 import net.runelite.api.coords.WorldPoint;
 
+/**
+ * Maps the location of each quest start icon to its quest. The locations are held as {@link PackedWorldPoint}s against
+ * {@link Quest} ordinals, so a lookup neither creates nor hashes a {@link WorldPoint}.
+ */
 @Slf4j
 public class QuestLocationLookup
 {
-	final static Map<WorldPoint, Quest> locationsToQuests = Map.<WorldPoint, Quest>ofEntries(
-		entry(new WorldPoint(1663, 3672, 0), Quest.A_KINGDOM_DIVIDED),
-		entry(new WorldPoint(3672, 3224, 0), Quest.A_NIGHT_AT_THE_THEATRE),
-		entry(new WorldPoint(3085, 3251, 0), Quest.A_PORCINE_OF_INTEREST),
-		entry(new WorldPoint(3307, 3454, 0), Quest.A_SOULS_BANE),
-		entry(new WorldPoint(2917, 3557, 0), Quest.A_TAIL_OF_TWO_CATS),
-		entry(new WorldPoint(3668, 3216, 0), Quest.A_TASTE_OF_HOPE),
-		entry(new WorldPoint(3094, 3360, 0), Quest.ANIMAL_MAGNETISM),
-		entry(new WorldPoint(2799, 5428, 0), Quest.ANOTHER_SLICE_OF_HAM),
-		entry(new WorldPoint(1553, 3033, 0), Quest.AT_FIRST_LIGHT),
-		entry(new WorldPoint(3001, 3436, 0), Quest.BELOW_ICE_MOUNTAIN),
-		entry(new WorldPoint(3308, 2779, 0), Quest.BENEATH_CURSED_SANDS),
-		entry(new WorldPoint(2823, 10168, 0), Quest.BETWEEN_A_ROCK),
-		entry(new WorldPoint(2629, 2981, 0), Quest.BIG_CHOMPY_BIRD_HUNTING),
-		entry(new WorldPoint(2591, 3335, 0), Quest.BIOHAZARD),
-		entry(new WorldPoint(2959, 3336, 1), Quest.BLACK_KNIGHTS_FORTRESS),
-		entry(new WorldPoint(3259, 3450, 0), Quest.BONE_VOYAGE),
-		entry(new WorldPoint(3674, 3496, 0), Quest.CABIN_FEVER),
-		entry(new WorldPoint(3224, 3428, 0), Quest.CHILDREN_OF_THE_SUN),
-		entry(new WorldPoint(1825, 3690, 1), Quest.CLIENT_OF_KOUREND),
-		entry(new WorldPoint(2568, 3249, 0), Quest.CLOCK_TOWER),
-		entry(new WorldPoint(2593, 3265, 0), Quest.COLD_WAR),
-		entry(new WorldPoint(3280, 2770, 0), Quest.CONTACT),
-		entry(new WorldPoint(3209, 3215, 0), Quest.COOKS_ASSISTANT),
-		entry(new WorldPoint(3487, 3485, 0), Quest.CREATURE_OF_FENKENSTRAIN),
-		entry(new WorldPoint(3503, 3037, 0), Quest.CURSE_OF_THE_EMPTY_LORD),
-		entry(new WorldPoint(3493, 9588, 0), Quest.DARKNESS_OF_HALLOWVALE),
-		entry(new WorldPoint(1412, 2937, 0), Quest.DEATH_ON_THE_ISLE),
-		entry(new WorldPoint(2897, 3529, 0), Quest.DEATH_PLATEAU),
-		entry(new WorldPoint(3316, 9613, 0), Quest.DEATH_TO_THE_DORGESHUUN),
-		entry(new WorldPoint(3281, 3501, 0), Quest.DEFENDER_OF_VARROCK),
-		entry(new WorldPoint(3204, 3424, 0), Quest.DEMON_SLAYER),
-		entry(new WorldPoint(3177, 3043, 0), Quest.DESERT_TREASURE_I),
-		entry(new WorldPoint(3507, 2971, 1), Quest.DESERT_TREASURE_II__THE_FALLEN_EMPIRE),
-		entry(new WorldPoint(3405, 3492, 0), Quest.DEVIOUS_MINDS),
-		entry(new WorldPoint(2952, 3450, 0), Quest.DORICS_QUEST),
-		entry(new WorldPoint(3190, 3362, 0), Quest.DRAGON_SLAYER_I),
-		entry(new WorldPoint(2456, 2868, 0), Quest.DRAGON_SLAYER_II),
-		entry(new WorldPoint(2144, 10346, 0), Quest.DREAM_MENTOR),
-		entry(new WorldPoint(2916, 3484, 0), Quest.DRUIDIC_RITUAL),
-		entry(new WorldPoint(2566, 3461, 0), Quest.DWARF_CANNON),
-		entry(new WorldPoint(2896, 3426, 1), Quest.EADGARS_RUSE),
-		entry(new WorldPoint(2605, 3264, 0), Quest.EAGLES_PEAK),
-		entry(new WorldPoint(2714, 3482, 0), Quest.ELEMENTAL_WORKSHOP_I),
-		entry(new WorldPoint(3364, 3335, 0), Quest.ELEMENTAL_WORKSHOP_II),
-		entry(new WorldPoint(3190, 2926, 0), Quest.ENAKHRAS_LAMENT),
-		entry(new WorldPoint(2809, 3356, 0), Quest.ENLIGHTENED_JOURNEY),
-		entry(new WorldPoint(3109, 3330, 0), Quest.ERNEST_THE_CHICKEN),
-		entry(new WorldPoint(1719, 3165, 0), Quest.ETHICALLY_ACQUIRED_ANTIQUITIES),
-		entry(new WorldPoint(3075, 3259, 0), Quest.FAIRYTALE_I__GROWING_PAINS),
-		entry(new WorldPoint(3078, 3258, 0), Quest.FAIRYTALE_II__CURE_A_QUEEN),
-		entry(new WorldPoint(3278, 3404, 0), Quest.FAMILY_CREST),
-		entry(new WorldPoint(2566, 3197, 0), Quest.FIGHT_ARENA),
-		entry(new WorldPoint(2820, 3487, 0), Quest.FISHING_CONTEST),
-		entry(new WorldPoint(2875, 3483, 0), Quest.FISHING_CONTEST),
-		entry(new WorldPoint(2826, 10215, 0), Quest.FORGETTABLE_TALE),
-		entry(new WorldPoint(3227, 3477, 0), Quest.GARDEN_OF_TRANQUILLITY),
-		entry(new WorldPoint(3149, 3411, 0), Quest.GERTRUDES_CAT),
-		entry(new WorldPoint(1247, 3686, 0), Quest.GETTING_AHEAD),
-		entry(new WorldPoint(3677, 3510, 0), Quest.GHOSTS_AHOY),
-		entry(new WorldPoint(2957, 3509, 0), Quest.GOBLIN_DIPLOMACY),
-		entry(new WorldPoint(2890, 3454, 0), Quest.GRIM_TALES),
-		entry(new WorldPoint(3443, 3258, 0), Quest.HAUNTED_MINE),
-		entry(new WorldPoint(2565, 3271, 0), Quest.HAZEEL_CULT),
-		entry(new WorldPoint(2903, 3511, 0), Quest.HEROES_QUEST),
-		entry(new WorldPoint(2763, 3513, 0), Quest.HOLY_GRAIL),
-		entry(new WorldPoint(2507, 3635, 0), Quest.HORROR_FROM_THE_DEEP),
-		entry(new WorldPoint(3314, 2849, 0), Quest.ICTHLARINS_LITTLE_HELPER),
-		entry(new WorldPoint(3102, 3164, 1), Quest.IMP_CATCHER),
-		entry(new WorldPoint(3505, 9839, 0), Quest.IN_AID_OF_THE_MYREQUE),
-		entry(new WorldPoint(3502, 3477, 0), Quest.IN_SEARCH_OF_THE_MYREQUE),
-		entry(new WorldPoint(2809, 3086, 0), Quest.JUNGLE_POTION),
-		entry(new WorldPoint(2741, 3554, 0), Quest.KINGS_RANSOM),
-		entry(new WorldPoint(3318, 9616, 0), Quest.LAND_OF_THE_GOBLINS),
-		entry(new WorldPoint(2722, 3366, 0), Quest.LEGENDS_QUEST),
-		entry(new WorldPoint(3149, 3205, 0), Quest.LOST_CITY),
-		entry(new WorldPoint(2618, 3691, 0), Quest.LUNAR_DIPLOMACY),
-		entry(new WorldPoint(2904, 10092, 0), Quest.MAKING_FRIENDS_WITH_MY_ARM),
-		entry(new WorldPoint(2435, 3346, 0), Quest.MAKING_HISTORY),
-		entry(new WorldPoint(1753, 3073, 0), Quest.MEAT_AND_GREET),
-		entry(new WorldPoint(2761, 3516, 0), Quest.MERLINS_CRYSTAL),
-		entry(new WorldPoint(3235, 3155, 0), Quest.MISTHALIN_MYSTERY),
-		entry(new WorldPoint(2465, 3498, 0), Quest.MONKEY_MADNESS_I),
-		entry(new WorldPoint(2466, 3496, 0), Quest.MONKEY_MADNESS_II),
-		entry(new WorldPoint(2605, 3211, 0), Quest.MONKS_FRIEND),
-		entry(new WorldPoint(2810, 3672, 0), Quest.MOUNTAIN_DAUGHTER),
-		entry(new WorldPoint(2204, 3160, 0), Quest.MOURNINGS_END_PART_I),
-		entry(new WorldPoint(2288, 3147, 0), Quest.MOURNINGS_END_PART_I),
-		entry(new WorldPoint(2352, 3172, 0), Quest.MOURNINGS_END_PART_II),
-		entry(new WorldPoint(2740, 3562, 0), Quest.MURDER_MYSTERY),
-		entry(new WorldPoint(2908, 10088, 0), Quest.MY_ARMS_BIG_ADVENTURE),
-		entry(new WorldPoint(3423, 9886, 0), Quest.NATURE_SPIRIT),
-		entry(new WorldPoint(2438, 3185, 0), Quest.OBSERVATORY_QUEST),
-		entry(new WorldPoint(2723, 3729, 0), Quest.OLAFS_QUEST),
-		entry(new WorldPoint(2834, 2985, 0), Quest.ONE_SMALL_FAVOUR),
-		entry(new WorldPoint(1434, 3122, 0), Quest.PERILOUS_MOONS),
-		entry(new WorldPoint(3051, 3252, 0), Quest.PIRATES_TREASURE),
-		entry(new WorldPoint(2568, 3332, 0), Quest.PLAGUE_CITY),
-		entry(new WorldPoint(3219, 3473, 0), Quest.PRIEST_IN_PERIL),
-		entry(new WorldPoint(3301, 3163, 0), Quest.PRINCE_ALI_RESCUE),
-		entry(new WorldPoint(3359, 3504, 0), Quest.RAG_AND_BONE_MAN_I),
-		entry(new WorldPoint(3361, 3507, 0), Quest.RAG_AND_BONE_MAN_II),
-		entry(new WorldPoint(3152, 3409, 0), Quest.RATCATCHERS),
-		entry(new WorldPoint(3206, 3213, 0), Quest.RECIPE_FOR_DISASTER),
-		entry(new WorldPoint(2962, 3338, 1), Quest.RECRUITMENT_DRIVE),
-		entry(new WorldPoint(2575, 3293, 1), Quest.REGICIDE),
-		entry(new WorldPoint(3210, 3423, 0), Quest.ROMEO__JULIET),
-		entry(new WorldPoint(2205, 3157, 0), Quest.ROVING_ELVES),
-		entry(new WorldPoint(2287, 3144, 0), Quest.ROVING_ELVES),
-		entry(new WorldPoint(2497, 3857, 1), Quest.ROYAL_TROUBLE),
-		entry(new WorldPoint(3677, 3535, 0), Quest.RUM_DEAL),
-		entry(new WorldPoint(3211, 3224, 1), Quest.RUNE_MYSTERIES),
-		entry(new WorldPoint(2700, 3404, 1), Quest.SCORPION_CATCHER),
-		entry(new WorldPoint(1246, 3166, 0), Quest.SCRAMBLED),
-		entry(new WorldPoint(2715, 3302, 0), Quest.SEA_SLUG),
-		entry(new WorldPoint(2569, 3276, 0), Quest.SECRETS_OF_THE_NORTH),
-		entry(new WorldPoint(3481, 3278, 0), Quest.SHADES_OF_MORTTON),
-		entry(new WorldPoint(3270, 3159, 0), Quest.SHADOW_OF_THE_STORM),
-		entry(new WorldPoint(1395, 3356, 0), Quest.SHADOWS_OF_CUSTODIA),
-		entry(new WorldPoint(2616, 3299, 0), Quest.SHEEP_HERDER),
-		entry(new WorldPoint(3187, 3272, 0), Quest.SHEEP_SHEARER),
-		entry(new WorldPoint(3208, 3495, 0), Quest.SHIELD_OF_ARRAV),
-		entry(new WorldPoint(2882, 2951, 0), Quest.SHILO_VILLAGE),
-		entry(new WorldPoint(3728, 3319, 0), Quest.SINS_OF_THE_FATHER),
-		entry(new WorldPoint(3361, 3146, 0), Quest.SLEEPING_GIANTS),
-		entry(new WorldPoint(2567, 3335, 0), Quest.SONG_OF_THE_ELVES),
-		entry(new WorldPoint(3441, 2911, 0), Quest.SPIRITS_OF_THE_ELID),
-		entry(new WorldPoint(2345, 3652, 0), Quest.SWAN_SONG),
-		entry(new WorldPoint(2779, 3087, 1), Quest.TAI_BWO_WANNAI_TRIO),
-		entry(new WorldPoint(1541, 3570, 0), Quest.TALE_OF_THE_RIGHTEOUS),
-		entry(new WorldPoint(3251, 9517, 0), Quest.TEARS_OF_GUTHIX),
-		entry(new WorldPoint(2571, 3320, 0), Quest.TEMPLE_OF_IKOV),
-		entry(new WorldPoint(3284, 3232, 0), Quest.TEMPLE_OF_THE_EYE),
-		entry(new WorldPoint(1699, 3742, 0), Quest.THE_ASCENT_OF_ARCEUUS),
-		entry(new WorldPoint(3029, 3273, 0), Quest.THE_CORSAIR_CURSE),
-		entry(new WorldPoint(1781, 3570, 0), Quest.THE_DEPTHS_OF_DESPAIR),
-		entry(new WorldPoint(3363, 3341, 0), Quest.THE_DIG_SITE),
-		entry(new WorldPoint(2405, 9817, 0), Quest.THE_EYES_OF_GLOUPHRIE),
-		entry(new WorldPoint(3301, 3211, 0), Quest.THE_FEUD),
-		entry(new WorldPoint(1677, 3168, 0), Quest.THE_FINAL_DAWN),
-		entry(new WorldPoint(1482, 3748, 0), Quest.THE_FORSAKEN_TOWER),
-		entry(new WorldPoint(2656, 3669, 0), Quest.THE_FREMENNIK_EXILES),
-		entry(new WorldPoint(2645, 3711, 0), Quest.THE_FREMENNIK_ISLES),
-		entry(new WorldPoint(2658, 3667, 0), Quest.THE_FREMENNIK_TRIALS),
-		entry(new WorldPoint(1311, 3472, 0), Quest.THE_GARDEN_OF_DEATH),
-		entry(new WorldPoint(2841, 10129, 0), Quest.THE_GIANT_DWARF),
-		entry(new WorldPoint(3487, 3089, 0), Quest.THE_GOLEM),
-		entry(new WorldPoint(2464, 3494, 0), Quest.THE_GRAND_TREE),
-		entry(new WorldPoint(3681, 2963, 0), Quest.THE_GREAT_BRAIN_ROBBERY),
-		entry(new WorldPoint(2551, 3101, 0), Quest.THE_HAND_IN_THE_SAND),
-		entry(new WorldPoint(1452, 3173, 0), Quest.THE_HEART_OF_DARKNESS),
-		entry(new WorldPoint(2976, 3342, 0), Quest.THE_KNIGHTS_SWORD),
-		entry(new WorldPoint(3210, 3220, 1), Quest.THE_LOST_TRIBE),
-		entry(new WorldPoint(2539, 3171, 0), Quest.THE_PATH_OF_GLOUPHRIE),
-		entry(new WorldPoint(1795, 3782, 0), Quest.THE_QUEEN_OF_THIEVES),
-		entry(new WorldPoint(3240, 3210, 0), Quest.THE_RESTLESS_GHOST),
-		entry(new WorldPoint(1682, 2975, 0), Quest.THE_RIBBITING_TALE_OF_A_LILY_PAD_LABOUR_DISPUTE),
-		entry(new WorldPoint(2994, 3374, 0), Quest.THE_SLUG_MENACE),
-		entry(new WorldPoint(3302, 3113, 0), Quest.THE_TOURIST_TRAP),
-		entry(new WorldPoint(2497, 3861, 1), Quest.THRONE_OF_MISCELLANIA),
-		entry(new WorldPoint(2640, 3218, 0), Quest.TOWER_OF_LIFE),
-		entry(new WorldPoint(2542, 3169, 0), Quest.TREE_GNOME_VILLAGE),
-		entry(new WorldPoint(2790, 3182, 0), Quest.TRIBAL_TOTEM),
-		entry(new WorldPoint(2890, 10097, 0), Quest.TROLL_ROMANCE),
-		entry(new WorldPoint(2893, 3528, 0), Quest.TROLL_STRONGHOLD),
-		entry(new WorldPoint(1685, 3141, 0), Quest.TWILIGHTS_PROMISE),
-		entry(new WorldPoint(2578, 3295, 1), Quest.UNDERGROUND_PASS),
-		entry(new WorldPoint(3096, 3266, 0), Quest.VAMPYRE_SLAYER),
-		entry(new WorldPoint(2998, 3372, 0), Quest.WANTED),
-		entry(new WorldPoint(2545, 3112, 1), Quest.WATCHTOWER),
-		entry(new WorldPoint(2521, 3498, 0), Quest.WATERFALL_QUEST),
-		entry(new WorldPoint(3265, 3333, 0), Quest.WHAT_LIES_BELOW),
-		entry(new WorldPoint(2905, 3450, 0), Quest.WHILE_GUTHIX_SLEEPS),
-		entry(new WorldPoint(2927, 3456, 0), Quest.WITCHS_HOUSE),
-		entry(new WorldPoint(2968, 3204, 0), Quest.WITCHS_POTION),
-		entry(new WorldPoint(3226, 3242, 0), Quest.X_MARKS_THE_SPOT),
-		entry(new WorldPoint(2442, 3051, 0), Quest.ZOGRE_FLESH_EATERS),
+	private final static Quest[] QUESTS = Quest.values();
+	private final static PackedPointMap locationsToQuests = new PackedPointMap(180);
 
-		entry(new WorldPoint(3084, 3123, 0), Quest.COOKS_ASSISTANT) // Actually the Lumbridge Tutorial
-		);
+	static
+	{
+		location(1663, 3672, 0, Quest.A_KINGDOM_DIVIDED);
+		location(3672, 3224, 0, Quest.A_NIGHT_AT_THE_THEATRE);
+		location(3085, 3251, 0, Quest.A_PORCINE_OF_INTEREST);
+		location(3307, 3454, 0, Quest.A_SOULS_BANE);
+		location(2917, 3557, 0, Quest.A_TAIL_OF_TWO_CATS);
+		location(3668, 3216, 0, Quest.A_TASTE_OF_HOPE);
+		location(3094, 3360, 0, Quest.ANIMAL_MAGNETISM);
+		location(2799, 5428, 0, Quest.ANOTHER_SLICE_OF_HAM);
+		location(1553, 3033, 0, Quest.AT_FIRST_LIGHT);
+		location(3001, 3436, 0, Quest.BELOW_ICE_MOUNTAIN);
+		location(3308, 2779, 0, Quest.BENEATH_CURSED_SANDS);
+		location(2823, 10168, 0, Quest.BETWEEN_A_ROCK);
+		location(2629, 2981, 0, Quest.BIG_CHOMPY_BIRD_HUNTING);
+		location(2591, 3335, 0, Quest.BIOHAZARD);
+		location(2959, 3336, 1, Quest.BLACK_KNIGHTS_FORTRESS);
+		location(3259, 3450, 0, Quest.BONE_VOYAGE);
+		location(3674, 3496, 0, Quest.CABIN_FEVER);
+		location(3224, 3428, 0, Quest.CHILDREN_OF_THE_SUN);
+		location(1825, 3690, 1, Quest.CLIENT_OF_KOUREND);
+		location(2568, 3249, 0, Quest.CLOCK_TOWER);
+		location(2593, 3265, 0, Quest.COLD_WAR);
+		location(3280, 2770, 0, Quest.CONTACT);
+		location(3209, 3215, 0, Quest.COOKS_ASSISTANT);
+		location(3487, 3485, 0, Quest.CREATURE_OF_FENKENSTRAIN);
+		location(3503, 3037, 0, Quest.CURSE_OF_THE_EMPTY_LORD);
+		location(3493, 9588, 0, Quest.DARKNESS_OF_HALLOWVALE);
+		location(1412, 2937, 0, Quest.DEATH_ON_THE_ISLE);
+		location(2897, 3529, 0, Quest.DEATH_PLATEAU);
+		location(3316, 9613, 0, Quest.DEATH_TO_THE_DORGESHUUN);
+		location(3281, 3501, 0, Quest.DEFENDER_OF_VARROCK);
+		location(3204, 3424, 0, Quest.DEMON_SLAYER);
+		location(3177, 3043, 0, Quest.DESERT_TREASURE_I);
+		location(3507, 2971, 1, Quest.DESERT_TREASURE_II__THE_FALLEN_EMPIRE);
+		location(3405, 3492, 0, Quest.DEVIOUS_MINDS);
+		location(2952, 3450, 0, Quest.DORICS_QUEST);
+		location(3190, 3362, 0, Quest.DRAGON_SLAYER_I);
+		location(2456, 2868, 0, Quest.DRAGON_SLAYER_II);
+		location(2144, 10346, 0, Quest.DREAM_MENTOR);
+		location(2916, 3484, 0, Quest.DRUIDIC_RITUAL);
+		location(2566, 3461, 0, Quest.DWARF_CANNON);
+		location(2896, 3426, 1, Quest.EADGARS_RUSE);
+		location(2605, 3264, 0, Quest.EAGLES_PEAK);
+		location(2714, 3482, 0, Quest.ELEMENTAL_WORKSHOP_I);
+		location(3364, 3335, 0, Quest.ELEMENTAL_WORKSHOP_II);
+		location(3190, 2926, 0, Quest.ENAKHRAS_LAMENT);
+		location(2809, 3356, 0, Quest.ENLIGHTENED_JOURNEY);
+		location(3109, 3330, 0, Quest.ERNEST_THE_CHICKEN);
+		location(1719, 3165, 0, Quest.ETHICALLY_ACQUIRED_ANTIQUITIES);
+		location(3075, 3259, 0, Quest.FAIRYTALE_I__GROWING_PAINS);
+		location(3078, 3258, 0, Quest.FAIRYTALE_II__CURE_A_QUEEN);
+		location(3278, 3404, 0, Quest.FAMILY_CREST);
+		location(2566, 3197, 0, Quest.FIGHT_ARENA);
+		location(2820, 3487, 0, Quest.FISHING_CONTEST);
+		location(2875, 3483, 0, Quest.FISHING_CONTEST);
+		location(2826, 10215, 0, Quest.FORGETTABLE_TALE);
+		location(3227, 3477, 0, Quest.GARDEN_OF_TRANQUILLITY);
+		location(3149, 3411, 0, Quest.GERTRUDES_CAT);
+		location(1247, 3686, 0, Quest.GETTING_AHEAD);
+		location(3677, 3510, 0, Quest.GHOSTS_AHOY);
+		location(2957, 3509, 0, Quest.GOBLIN_DIPLOMACY);
+		location(2890, 3454, 0, Quest.GRIM_TALES);
+		location(3443, 3258, 0, Quest.HAUNTED_MINE);
+		location(2565, 3271, 0, Quest.HAZEEL_CULT);
+		location(2903, 3511, 0, Quest.HEROES_QUEST);
+		location(2763, 3513, 0, Quest.HOLY_GRAIL);
+		location(2507, 3635, 0, Quest.HORROR_FROM_THE_DEEP);
+		location(3314, 2849, 0, Quest.ICTHLARINS_LITTLE_HELPER);
+		location(3102, 3164, 1, Quest.IMP_CATCHER);
+		location(3505, 9839, 0, Quest.IN_AID_OF_THE_MYREQUE);
+		location(3502, 3477, 0, Quest.IN_SEARCH_OF_THE_MYREQUE);
+		location(2809, 3086, 0, Quest.JUNGLE_POTION);
+		location(2741, 3554, 0, Quest.KINGS_RANSOM);
+		location(3318, 9616, 0, Quest.LAND_OF_THE_GOBLINS);
+		location(2722, 3366, 0, Quest.LEGENDS_QUEST);
+		location(3149, 3205, 0, Quest.LOST_CITY);
+		location(2618, 3691, 0, Quest.LUNAR_DIPLOMACY);
+		location(2904, 10092, 0, Quest.MAKING_FRIENDS_WITH_MY_ARM);
+		location(2435, 3346, 0, Quest.MAKING_HISTORY);
+		location(1753, 3073, 0, Quest.MEAT_AND_GREET);
+		location(2761, 3516, 0, Quest.MERLINS_CRYSTAL);
+		location(3235, 3155, 0, Quest.MISTHALIN_MYSTERY);
+		location(2465, 3498, 0, Quest.MONKEY_MADNESS_I);
+		location(2466, 3496, 0, Quest.MONKEY_MADNESS_II);
+		location(2605, 3211, 0, Quest.MONKS_FRIEND);
+		location(2810, 3672, 0, Quest.MOUNTAIN_DAUGHTER);
+		location(2204, 3160, 0, Quest.MOURNINGS_END_PART_I);
+		location(2288, 3147, 0, Quest.MOURNINGS_END_PART_I);
+		location(2352, 3172, 0, Quest.MOURNINGS_END_PART_II);
+		location(2740, 3562, 0, Quest.MURDER_MYSTERY);
+		location(2908, 10088, 0, Quest.MY_ARMS_BIG_ADVENTURE);
+		location(3423, 9886, 0, Quest.NATURE_SPIRIT);
+		location(2438, 3185, 0, Quest.OBSERVATORY_QUEST);
+		location(2723, 3729, 0, Quest.OLAFS_QUEST);
+		location(2834, 2985, 0, Quest.ONE_SMALL_FAVOUR);
+		location(1434, 3122, 0, Quest.PERILOUS_MOONS);
+		location(3051, 3252, 0, Quest.PIRATES_TREASURE);
+		location(2568, 3332, 0, Quest.PLAGUE_CITY);
+		location(3219, 3473, 0, Quest.PRIEST_IN_PERIL);
+		location(3301, 3163, 0, Quest.PRINCE_ALI_RESCUE);
+		location(3359, 3504, 0, Quest.RAG_AND_BONE_MAN_I);
+		location(3361, 3507, 0, Quest.RAG_AND_BONE_MAN_II);
+		location(3152, 3409, 0, Quest.RATCATCHERS);
+		location(3206, 3213, 0, Quest.RECIPE_FOR_DISASTER);
+		location(2962, 3338, 1, Quest.RECRUITMENT_DRIVE);
+		location(2575, 3293, 1, Quest.REGICIDE);
+		location(3210, 3423, 0, Quest.ROMEO__JULIET);
+		location(2205, 3157, 0, Quest.ROVING_ELVES);
+		location(2287, 3144, 0, Quest.ROVING_ELVES);
+		location(2497, 3857, 1, Quest.ROYAL_TROUBLE);
+		location(3677, 3535, 0, Quest.RUM_DEAL);
+		location(3211, 3224, 1, Quest.RUNE_MYSTERIES);
+		location(2700, 3404, 1, Quest.SCORPION_CATCHER);
+		location(1246, 3166, 0, Quest.SCRAMBLED);
+		location(2715, 3302, 0, Quest.SEA_SLUG);
+		location(2569, 3276, 0, Quest.SECRETS_OF_THE_NORTH);
+		location(3481, 3278, 0, Quest.SHADES_OF_MORTTON);
+		location(3270, 3159, 0, Quest.SHADOW_OF_THE_STORM);
+		location(1395, 3356, 0, Quest.SHADOWS_OF_CUSTODIA);
+		location(2616, 3299, 0, Quest.SHEEP_HERDER);
+		location(3187, 3272, 0, Quest.SHEEP_SHEARER);
+		location(3208, 3495, 0, Quest.SHIELD_OF_ARRAV);
+		location(2882, 2951, 0, Quest.SHILO_VILLAGE);
+		location(3728, 3319, 0, Quest.SINS_OF_THE_FATHER);
+		location(3361, 3146, 0, Quest.SLEEPING_GIANTS);
+		location(2567, 3335, 0, Quest.SONG_OF_THE_ELVES);
+		location(3441, 2911, 0, Quest.SPIRITS_OF_THE_ELID);
+		location(2345, 3652, 0, Quest.SWAN_SONG);
+		location(2779, 3087, 1, Quest.TAI_BWO_WANNAI_TRIO);
+		location(1541, 3570, 0, Quest.TALE_OF_THE_RIGHTEOUS);
+		location(3251, 9517, 0, Quest.TEARS_OF_GUTHIX);
+		location(2571, 3320, 0, Quest.TEMPLE_OF_IKOV);
+		location(3284, 3232, 0, Quest.TEMPLE_OF_THE_EYE);
+		location(1699, 3742, 0, Quest.THE_ASCENT_OF_ARCEUUS);
+		location(3029, 3273, 0, Quest.THE_CORSAIR_CURSE);
+		location(1781, 3570, 0, Quest.THE_DEPTHS_OF_DESPAIR);
+		location(3363, 3341, 0, Quest.THE_DIG_SITE);
+		location(2405, 9817, 0, Quest.THE_EYES_OF_GLOUPHRIE);
+		location(3301, 3211, 0, Quest.THE_FEUD);
+		location(1677, 3168, 0, Quest.THE_FINAL_DAWN);
+		location(1482, 3748, 0, Quest.THE_FORSAKEN_TOWER);
+		location(2656, 3669, 0, Quest.THE_FREMENNIK_EXILES);
+		location(2645, 3711, 0, Quest.THE_FREMENNIK_ISLES);
+		location(2658, 3667, 0, Quest.THE_FREMENNIK_TRIALS);
+		location(1311, 3472, 0, Quest.THE_GARDEN_OF_DEATH);
+		location(2841, 10129, 0, Quest.THE_GIANT_DWARF);
+		location(3487, 3089, 0, Quest.THE_GOLEM);
+		location(2464, 3494, 0, Quest.THE_GRAND_TREE);
+		location(3681, 2963, 0, Quest.THE_GREAT_BRAIN_ROBBERY);
+		location(2551, 3101, 0, Quest.THE_HAND_IN_THE_SAND);
+		location(1452, 3173, 0, Quest.THE_HEART_OF_DARKNESS);
+		location(2976, 3342, 0, Quest.THE_KNIGHTS_SWORD);
+		location(3210, 3220, 1, Quest.THE_LOST_TRIBE);
+		location(2539, 3171, 0, Quest.THE_PATH_OF_GLOUPHRIE);
+		location(1795, 3782, 0, Quest.THE_QUEEN_OF_THIEVES);
+		location(3240, 3210, 0, Quest.THE_RESTLESS_GHOST);
+		location(1682, 2975, 0, Quest.THE_RIBBITING_TALE_OF_A_LILY_PAD_LABOUR_DISPUTE);
+		location(2994, 3374, 0, Quest.THE_SLUG_MENACE);
+		location(3302, 3113, 0, Quest.THE_TOURIST_TRAP);
+		location(2497, 3861, 1, Quest.THRONE_OF_MISCELLANIA);
+		location(2640, 3218, 0, Quest.TOWER_OF_LIFE);
+		location(2542, 3169, 0, Quest.TREE_GNOME_VILLAGE);
+		location(2790, 3182, 0, Quest.TRIBAL_TOTEM);
+		location(2890, 10097, 0, Quest.TROLL_ROMANCE);
+		location(2893, 3528, 0, Quest.TROLL_STRONGHOLD);
+		location(1685, 3141, 0, Quest.TWILIGHTS_PROMISE);
+		location(2578, 3295, 1, Quest.UNDERGROUND_PASS);
+		location(3096, 3266, 0, Quest.VAMPYRE_SLAYER);
+		location(2998, 3372, 0, Quest.WANTED);
+		location(2545, 3112, 1, Quest.WATCHTOWER);
+		location(2521, 3498, 0, Quest.WATERFALL_QUEST);
+		location(3265, 3333, 0, Quest.WHAT_LIES_BELOW);
+		location(2905, 3450, 0, Quest.WHILE_GUTHIX_SLEEPS);
+		location(2927, 3456, 0, Quest.WITCHS_HOUSE);
+		location(2968, 3204, 0, Quest.WITCHS_POTION);
+		location(3226, 3242, 0, Quest.X_MARKS_THE_SPOT);
+		location(2442, 3051, 0, Quest.ZOGRE_FLESH_EATERS);
+
+		location(3084, 3123, 0, Quest.COOKS_ASSISTANT); // Actually the Lumbridge Tutorial
+	}
+
+	private static void location(int x, int y, int plane, Quest quest)
+	{
+		locationsToQuests.put(PackedWorldPoint.pack(x, y, plane), quest.ordinal());
+	}
+
+	/**
+	 * @return the quest started at the location, or null if there is no quest known there
+	 */
+	static Quest getQuest(int packedLocation)
+	{
+		final int questOrdinal = locationsToQuests.get(packedLocation, -1);
+		return questOrdinal < 0 ? null : QUESTS[questOrdinal];
+	}
+
+	static Quest getQuest(WorldPoint location)
+	{
+		return getQuest(PackedWorldPoint.pack(location));
+	}
+
+	/**
+	 * Calls the consumer with the location and {@link Quest} ordinal of every known quest start.
+	 */
+	static void forEach(PackedPointMap.EntryConsumer consumer)
+	{
+		locationsToQuests.forEach(consumer);
+	}
+
+	/**
+	 * Finds the quest started closest to the location, on the same plane, searching every tile within the tolerance.
+	 * This lets an icon which has been shifted slightly by a game update still be matched to its quest.
+	 *
+	 * @return the closest quest, or null if there is none within the tolerance
+	 */
+	static Quest getNearestQuest(WorldPoint location, int tolerance)
+	{
+		final Quest exactMatch = getQuest(location);
+		if (exactMatch != null || tolerance <= 0)
+		{
+			return exactMatch;
+		}
+
+		int nearestOrdinal = -1;
+		int nearestDistance = Integer.MAX_VALUE;
+		for (int dx = -tolerance; dx <= tolerance; dx++)
+		{
+			for (int dy = -tolerance; dy <= tolerance; dy++)
+			{
+				final int distance = dx * dx + dy * dy;
+				if (distance >= nearestDistance)
+				{
+					continue;
+				}
+
+				final int questOrdinal = locationsToQuests.get(
+					PackedWorldPoint.pack(location.getX() + dx, location.getY() + dy, location.getPlane()), -1);
+				if (questOrdinal >= 0)
+				{
+					nearestOrdinal = questOrdinal;
+					nearestDistance = distance;
+				}
+			}
+		}
+		return nearestOrdinal < 0 ? null : QUESTS[nearestOrdinal];
+	}
 }
\ No newline at end of file
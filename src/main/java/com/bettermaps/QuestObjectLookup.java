@@ -1,186 +1,232 @@
 package com.bettermaps;
 
+import java.util.Arrays;
 import java.util.Map;
 import lombok.extern.slf4j.Slf4j;
 import net.runelite.api.Quest;
 import net.runelite.api.gameval.ObjectID;
 
+/**
+ * Maps the quest start icon ground objects to their quests. The object ids all fall within a narrow range, so they are
+ * held in a dense array of {@link Quest} ordinals offset by the lowest id, and any object outside of the range can be
+ * rejected with two comparisons.
+ */
 @Slf4j
 public class QuestObjectLookup
 {
-	final static Map<Integer, Quest> objectsToQuests = Map.<Integer, Quest>ofEntries(
-		Map.entry(ObjectID.QUEST_START_ICON_ANIMALMAGNETISM, Quest.ANIMAL_MAGNETISM),
-		Map.entry(ObjectID.QUEST_START_ICON_ANOTHERSLICEOFHAM, Quest.ANOTHER_SLICE_OF_HAM),
-		Map.entry(ObjectID.QUEST_START_ICON_ASCENTOFARCEUUS, Quest.THE_ASCENT_OF_ARCEUUS),
-		Map.entry(ObjectID.QUEST_START_ICON_ATFIRSTLIGHT, Quest.AT_FIRST_LIGHT),
-		Map.entry(ObjectID.QUEST_START_ICON_BELOWICEMOUNTAIN, Quest.BELOW_ICE_MOUNTAIN),
-		Map.entry(ObjectID.QUEST_START_ICON_BENEATHCURSEDSANDS, Quest.BENEATH_CURSED_SANDS),
-		Map.entry(ObjectID.QUEST_START_ICON_BETWEENAROCK, Quest.BETWEEN_A_ROCK),
-		Map.entry(ObjectID.QUEST_START_ICON_BIGCHOMPYBIRDHUNTING, Quest.BIG_CHOMPY_BIRD_HUNTING),
-		Map.entry(ObjectID.QUEST_START_ICON_BIOHAZARD, Quest.BIOHAZARD),
-		Map.entry(ObjectID.QUEST_START_ICON_BLACKKNIGHTSFORTRESS, Quest.BLACK_KNIGHTS_FORTRESS),
-		Map.entry(ObjectID.QUEST_START_ICON_BONEVOYAGE, Quest.BONE_VOYAGE),
-		Map.entry(ObjectID.QUEST_START_ICON_CABINFEVER, Quest.CABIN_FEVER),
-		Map.entry(ObjectID.QUEST_START_ICON_CHILDRENOFTHESUN, Quest.CHILDREN_OF_THE_SUN),
-		Map.entry(ObjectID.QUEST_START_ICON_CLIENTOFKOUREND, Quest.CLIENT_OF_KOUREND),
-		Map.entry(ObjectID.QUEST_START_ICON_CLOCKTOWER, Quest.CLOCK_TOWER),
-		Map.entry(ObjectID.QUEST_START_ICON_COLDWAR, Quest.COLD_WAR),
-		Map.entry(ObjectID.QUEST_START_ICON_CONTACT, Quest.CONTACT),
-		Map.entry(ObjectID.QUEST_START_ICON_COOKSASSISTANT, Quest.COOKS_ASSISTANT),
-		Map.entry(ObjectID.QUEST_START_ICON_CORSAIRCURSE, Quest.THE_CORSAIR_CURSE),
-		Map.entry(ObjectID.QUEST_START_ICON_CREATUREOFFENKENSTRAIN, Quest.CREATURE_OF_FENKENSTRAIN),
-		Map.entry(ObjectID.QUEST_START_ICON_CURSEOFARRAV, Quest.CURSE_OF_THE_EMPTY_LORD),
-		Map.entry(ObjectID.QUEST_START_ICON_DARKNESSOFHALLOWVALE, Quest.DARKNESS_OF_HALLOWVALE),
-		Map.entry(ObjectID.QUEST_START_ICON_DEATHONTHEISLE, Quest.DEATH_ON_THE_ISLE),
-		Map.entry(ObjectID.QUEST_START_ICON_DEATHPLATEAU, Quest.DEATH_PLATEAU),
-		Map.entry(ObjectID.QUEST_START_ICON_DEATHTOTHEDORGESHUUN, Quest.DEATH_TO_THE_DORGESHUUN),
-		Map.entry(ObjectID.QUEST_START_ICON_DEFENDEROFVARROCK, Quest.DEFENDER_OF_VARROCK),
-		Map.entry(ObjectID.QUEST_START_ICON_DEMONSLAYER, Quest.DEMON_SLAYER),
-		Map.entry(ObjectID.QUEST_START_ICON_DEPTHSOFDESPAIR, Quest.THE_DEPTHS_OF_DESPAIR),
-		Map.entry(ObjectID.QUEST_START_ICON_DESERTTREASURE, Quest.DESERT_TREASURE_I),
-		Map.entry(ObjectID.QUEST_START_ICON_DESERTTREASURE2, Quest.DESERT_TREASURE_II__THE_FALLEN_EMPIRE),
-		Map.entry(ObjectID.QUEST_START_ICON_DEVIOUSMINDS, Quest.DEVIOUS_MINDS),
-		Map.entry(ObjectID.QUEST_START_ICON_DIGSITE, Quest.THE_DIG_SITE),
-		Map.entry(ObjectID.QUEST_START_ICON_DORICS, Quest.DORICS_QUEST),
-		Map.entry(ObjectID.QUEST_START_ICON_DRAGONSLAYER1, Quest.DRAGON_SLAYER_I),
-		Map.entry(ObjectID.QUEST_START_ICON_DRAGONSLAYER2, Quest.DRAGON_SLAYER_II),
-		Map.entry(ObjectID.QUEST_START_ICON_DREAMMENTOR, Quest.DREAM_MENTOR),
-		Map.entry(ObjectID.QUEST_START_ICON_DRUIDICRITUAL, Quest.DRUIDIC_RITUAL),
-		Map.entry(ObjectID.QUEST_START_ICON_DWARFCANNON, Quest.DWARF_CANNON),
-		Map.entry(ObjectID.QUEST_START_ICON_EADGARSRUSE, Quest.EADGARS_RUSE),
-		Map.entry(ObjectID.QUEST_START_ICON_EAGLESPEAK, Quest.EAGLES_PEAK),
-		Map.entry(ObjectID.QUEST_START_ICON_ELEMENTALWORKSHOP1, Quest.ELEMENTAL_WORKSHOP_I),
-		Map.entry(ObjectID.QUEST_START_ICON_ELEMENTALWORKSHOP2, Quest.ELEMENTAL_WORKSHOP_II),
-		Map.entry(ObjectID.QUEST_START_ICON_ENAKHRASLAMENT, Quest.ENAKHRAS_LAMENT),
-		Map.entry(ObjectID.QUEST_START_ICON_ENLIGHTENEDJOURNEY, Quest.ENLIGHTENED_JOURNEY),
-		Map.entry(ObjectID.QUEST_START_ICON_ERNESTTHECHICKEN, Quest.ERNEST_THE_CHICKEN),
-		Map.entry(ObjectID.QUEST_START_ICON_ETHICALLYACQUIREDANTIQUITIES, Quest.ETHICALLY_ACQUIRED_ANTIQUITIES),
-		Map.entry(ObjectID.QUEST_START_ICON_EYESOFGLOUPHRIE, Quest.THE_EYES_OF_GLOUPHRIE),
-		Map.entry(ObjectID.QUEST_START_ICON_FAIRYTALE1, Quest.FAIRYTALE_I__GROWING_PAINS),
-		Map.entry(ObjectID.QUEST_START_ICON_FAIRYTALE2, Quest.FAIRYTALE_II__CURE_A_QUEEN),
-		Map.entry(ObjectID.QUEST_START_ICON_FAMILYCREST, Quest.FAMILY_CREST),
-		Map.entry(ObjectID.QUEST_START_ICON_FEUD, Quest.FAMILY_PEST),
-		Map.entry(ObjectID.QUEST_START_ICON_FIGHTARENA, Quest.THE_FEUD),
-		Map.entry(ObjectID.QUEST_START_ICON_FINALDAWN, Quest.FIGHT_ARENA),
-		Map.entry(ObjectID.QUEST_START_ICON_FISHINGCONTEST, Quest.FISHING_CONTEST),
-		Map.entry(ObjectID.QUEST_START_ICON_FORGETTABLETALE, Quest.FORGETTABLE_TALE),
-		Map.entry(ObjectID.QUEST_START_ICON_FORSAKENTOWER, Quest.THE_FORSAKEN_TOWER),
-		Map.entry(ObjectID.QUEST_START_ICON_FREMENNIKEXILES, Quest.THE_FREMENNIK_EXILES),
-		Map.entry(ObjectID.QUEST_START_ICON_FREMENNIKISLES, Quest.THE_FREMENNIK_ISLES),
-		Map.entry(ObjectID.QUEST_START_ICON_FREMENNIKTRIALS, Quest.THE_FREMENNIK_TRIALS),
-		Map.entry(ObjectID.QUEST_START_ICON_GARDENOFDEATH, Quest.THE_GARDEN_OF_DEATH),
-		Map.entry(ObjectID.QUEST_START_ICON_GARDENOFTRANQUILLITY, Quest.GARDEN_OF_TRANQUILLITY),
-		Map.entry(ObjectID.QUEST_START_ICON_GERTRUDESCAT, Quest.GERTRUDES_CAT),
-		Map.entry(ObjectID.QUEST_START_ICON_GETTINGAHEAD, Quest.GETTING_AHEAD),
-		Map.entry(ObjectID.QUEST_START_ICON_GHOSTSAHOY, Quest.GHOSTS_AHOY),
-		Map.entry(ObjectID.QUEST_START_ICON_GIANTDWARF, Quest.THE_GIANT_DWARF),
-		Map.entry(ObjectID.QUEST_START_ICON_GOBLINDIPLOMACY, Quest.GOBLIN_DIPLOMACY),
-		Map.entry(ObjectID.QUEST_START_ICON_GOLEM, Quest.THE_GOLEM),
-		Map.entry(ObjectID.QUEST_START_ICON_GRANDTREE, Quest.THE_GRAND_TREE),
-		Map.entry(ObjectID.QUEST_START_ICON_GREATBRAINROBBERY, Quest.THE_GREAT_BRAIN_ROBBERY),
-		Map.entry(ObjectID.QUEST_START_ICON_GRIMTALES, Quest.GRIM_TALES),
-		Map.entry(ObjectID.QUEST_START_ICON_HANDINTHESAND, Quest.THE_HAND_IN_THE_SAND),
-		Map.entry(ObjectID.QUEST_START_ICON_HAUNTEDMINE, Quest.HAUNTED_MINE),
-		Map.entry(ObjectID.QUEST_START_ICON_HAZEELCULT, Quest.HAZEEL_CULT),
-		Map.entry(ObjectID.QUEST_START_ICON_HEARTOFDARKNESS, Quest.THE_HEART_OF_DARKNESS),
-		Map.entry(ObjectID.QUEST_START_ICON_HEROES, Quest.HEROES_QUEST),
-		Map.entry(ObjectID.QUEST_START_ICON_HOLYGRAIL, Quest.HOLY_GRAIL),
-		Map.entry(ObjectID.QUEST_START_ICON_HORRORFROMTHEDEEP, Quest.HORROR_FROM_THE_DEEP),
-		Map.entry(ObjectID.QUEST_START_ICON_ICTHLARINSLITTLEHELPER, Quest.ICTHLARINS_LITTLE_HELPER),
-		Map.entry(ObjectID.QUEST_START_ICON_IMPCATCHER, Quest.IMP_CATCHER),
-		Map.entry(ObjectID.QUEST_START_ICON_INAIDOFTHEMYREQUE, Quest.IN_AID_OF_THE_MYREQUE),
-		Map.entry(ObjectID.QUEST_START_ICON_INSEARCHOFTHEMYREQUE, Quest.IN_SEARCH_OF_THE_MYREQUE),
-		Map.entry(ObjectID.QUEST_START_ICON_JUNGLEPOTION, Quest.JUNGLE_POTION),
-		Map.entry(ObjectID.QUEST_START_ICON_KINGDOMDIVIDED, Quest.A_KINGDOM_DIVIDED),
-		Map.entry(ObjectID.QUEST_START_ICON_KINGSRANSOM, Quest.KINGS_RANSOM),
-		Map.entry(ObjectID.QUEST_START_ICON_KNIGHTSSWORD, Quest.THE_KNIGHTS_SWORD),
-		Map.entry(ObjectID.QUEST_START_ICON_LANDOFTHEGOBLINS, Quest.LAND_OF_THE_GOBLINS),
-		Map.entry(ObjectID.QUEST_START_ICON_LEGENDS, Quest.LEGENDS_QUEST),
-		Map.entry(ObjectID.QUEST_START_ICON_LOSTCITY, Quest.LOST_CITY),
-		Map.entry(ObjectID.QUEST_START_ICON_LOSTTRIBE, Quest.THE_LOST_TRIBE),
-		Map.entry(ObjectID.QUEST_START_ICON_LUNARDIPLOMACY, Quest.LUNAR_DIPLOMACY),
-		Map.entry(ObjectID.QUEST_START_ICON_MAKINGFRIENDSWITHMYARM, Quest.MAKING_FRIENDS_WITH_MY_ARM),
-		Map.entry(ObjectID.QUEST_START_ICON_MAKINGHISTORY, Quest.MAKING_HISTORY),
-		Map.entry(ObjectID.QUEST_START_ICON_MEATANDGREET, Quest.MEAT_AND_GREET),
-		Map.entry(ObjectID.QUEST_START_ICON_MERLINSCRYSTAL, Quest.MERLINS_CRYSTAL),
-		Map.entry(ObjectID.QUEST_START_ICON_MISTHALINMYSTERY, Quest.MISTHALIN_MYSTERY),
-		Map.entry(ObjectID.QUEST_START_ICON_MONKEYMADNESS1, Quest.MONKEY_MADNESS_I),
-		Map.entry(ObjectID.QUEST_START_ICON_MONKEYMADNESS2, Quest.MONKEY_MADNESS_II),
-		Map.entry(ObjectID.QUEST_START_ICON_MONKSFRIEND, Quest.MONKS_FRIEND),
-		Map.entry(ObjectID.QUEST_START_ICON_MOUNTAINDAUGHTER, Quest.MOUNTAIN_DAUGHTER),
-		Map.entry(ObjectID.QUEST_START_ICON_MOURNINGSENDPART1, Quest.MOURNINGS_END_PART_I),
-		Map.entry(ObjectID.QUEST_START_ICON_MOURNINGSENDPART2, Quest.MOURNINGS_END_PART_II),
-		Map.entry(ObjectID.QUEST_START_ICON_MURDERMYSTERY, Quest.MURDER_MYSTERY),
-		Map.entry(ObjectID.QUEST_START_ICON_MYARMSBIGADVENTURE, Quest.MY_ARMS_BIG_ADVENTURE),
-		Map.entry(ObjectID.QUEST_START_ICON_NATURESPIRIT, Quest.NATURE_SPIRIT),
-		Map.entry(ObjectID.QUEST_START_ICON_NIGHTATTHETHEATRE, Quest.A_NIGHT_AT_THE_THEATRE),
-		Map.entry(ObjectID.QUEST_START_ICON_OBSERVATORY, Quest.OBSERVATORY_QUEST),
-		Map.entry(ObjectID.QUEST_START_ICON_OLAFS, Quest.OLAFS_QUEST),
-		Map.entry(ObjectID.QUEST_START_ICON_ONESMALLFAVOUR, Quest.ONE_SMALL_FAVOUR),
-		Map.entry(ObjectID.QUEST_START_ICON_PATHOFGLOUPHRIE, Quest.THE_PATH_OF_GLOUPHRIE),
-		Map.entry(ObjectID.QUEST_START_ICON_PERILOUSMOONS, Quest.PERILOUS_MOONS),
-		Map.entry(ObjectID.QUEST_START_ICON_PIRATESTREASURE, Quest.PIRATES_TREASURE),
-		Map.entry(ObjectID.QUEST_START_ICON_PLAGUECITY, Quest.PLAGUE_CITY),
-		Map.entry(ObjectID.QUEST_START_ICON_PORCINEOFINTEREST, Quest.A_PORCINE_OF_INTEREST),
-		Map.entry(ObjectID.QUEST_START_ICON_PRIESTINPERIL, Quest.PRIEST_IN_PERIL),
-		Map.entry(ObjectID.QUEST_START_ICON_PRINCEALIRESCUE, Quest.PRINCE_ALI_RESCUE),
-		Map.entry(ObjectID.QUEST_START_ICON_QUEENOFTHIEVES, Quest.THE_QUEEN_OF_THIEVES),
-		Map.entry(ObjectID.QUEST_START_ICON_RAGANDBONEMAN1, Quest.RAG_AND_BONE_MAN_I),
-		Map.entry(ObjectID.QUEST_START_ICON_RAGANDBONEMAN2, Quest.RAG_AND_BONE_MAN_II),
-		Map.entry(ObjectID.QUEST_START_ICON_RATCATCHERS, Quest.RATCATCHERS),
-		Map.entry(ObjectID.QUEST_START_ICON_RECIPEFORDISASTER, Quest.RECIPE_FOR_DISASTER),
-		Map.entry(ObjectID.QUEST_START_ICON_RECRUITMENTDRIVE, Quest.RECRUITMENT_DRIVE),
-		Map.entry(ObjectID.QUEST_START_ICON_REGICIDE, Quest.REGICIDE),
-		Map.entry(ObjectID.QUEST_START_ICON_RESTLESSGHOST, Quest.THE_RESTLESS_GHOST),
-		Map.entry(ObjectID.QUEST_START_ICON_RIBBITINGTALE, Quest.THE_RIBBITING_TALE_OF_A_LILY_PAD_LABOUR_DISPUTE),
-		Map.entry(ObjectID.QUEST_START_ICON_ROMEOANDJULIET, Quest.ROMEO__JULIET),
-		Map.entry(ObjectID.QUEST_START_ICON_ROVINGELVES, Quest.ROVING_ELVES),
-		Map.entry(ObjectID.QUEST_START_ICON_ROYALTROUBLE, Quest.ROYAL_TROUBLE),
-		Map.entry(ObjectID.QUEST_START_ICON_RUMDEAL, Quest.RUM_DEAL),
-		Map.entry(ObjectID.QUEST_START_ICON_RUNEMYSTERIES, Quest.RUNE_MYSTERIES),
-		Map.entry(ObjectID.QUEST_START_ICON_SCORPIONCATCHER, Quest.SCORPION_CATCHER),
-		Map.entry(ObjectID.QUEST_START_ICON_SCRAMBLED, Quest.SCRAMBLED),
-		Map.entry(ObjectID.QUEST_START_ICON_SEASLUG, Quest.SEA_SLUG),
-		Map.entry(ObjectID.QUEST_START_ICON_SECRETSOFTHENORTH, Quest.SECRETS_OF_THE_NORTH),
-		Map.entry(ObjectID.QUEST_START_ICON_SHADESOFMORTTON, Quest.SHADES_OF_MORTTON),
-		Map.entry(ObjectID.QUEST_START_ICON_SHADOWOFTHESTORM, Quest.SHADOW_OF_THE_STORM),
-		Map.entry(ObjectID.QUEST_START_ICON_SHADOWSOFCUSTODIA, Quest.SHADOWS_OF_CUSTODIA),
-		Map.entry(ObjectID.QUEST_START_ICON_SHEEPHERDER, Quest.SHEEP_HERDER),
-		Map.entry(ObjectID.QUEST_START_ICON_SHEEPSHEARER, Quest.SHEEP_SHEARER),
-		Map.entry(ObjectID.QUEST_START_ICON_SHIELDOFARRAV, Quest.SHIELD_OF_ARRAV),
-		Map.entry(ObjectID.QUEST_START_ICON_SHILOVILLAGE, Quest.SHILO_VILLAGE),
-		Map.entry(ObjectID.QUEST_START_ICON_SINSOFTHEFATHER, Quest.SINS_OF_THE_FATHER),
-		Map.entry(ObjectID.QUEST_START_ICON_SLEEPINGGIANTS, Quest.SKIPPY_AND_THE_MOGRES),
-		Map.entry(ObjectID.QUEST_START_ICON_SLUGMENACE, Quest.THE_SLUG_MENACE),
-		Map.entry(ObjectID.QUEST_START_ICON_SONGOFTHEELVES, Quest.SONG_OF_THE_ELVES),
-		Map.entry(ObjectID.QUEST_START_ICON_SOULSBANE, Quest.A_SOULS_BANE),
-		Map.entry(ObjectID.QUEST_START_ICON_SPIRITSOFTHEELID, Quest.SPIRITS_OF_THE_ELID),
-		Map.entry(ObjectID.QUEST_START_ICON_SWANSONG, Quest.SWAN_SONG),
-		Map.entry(ObjectID.QUEST_START_ICON_TAIBWOWANNAITRIO, Quest.TAI_BWO_WANNAI_TRIO),
-		Map.entry(ObjectID.QUEST_START_ICON_TAILOFTWOCATS, Quest.A_TAIL_OF_TWO_CATS),
-		Map.entry(ObjectID.QUEST_START_ICON_TALEOFTHERIGHTEOUS, Quest.TALE_OF_THE_RIGHTEOUS),
-		Map.entry(ObjectID.QUEST_START_ICON_TASTEOFHOPE, Quest.A_TASTE_OF_HOPE),
-		Map.entry(ObjectID.QUEST_START_ICON_TEARSOFGUTHIX, Quest.TEARS_OF_GUTHIX),
-		Map.entry(ObjectID.QUEST_START_ICON_TEMPLEOFIKOV, Quest.TEMPLE_OF_IKOV),
-		Map.entry(ObjectID.QUEST_START_ICON_TEMPLEOFTHEEYE, Quest.TEMPLE_OF_THE_EYE),
-		Map.entry(ObjectID.QUEST_START_ICON_THRONEOFMISCELLANIA, Quest.THRONE_OF_MISCELLANIA),
-		Map.entry(ObjectID.QUEST_START_ICON_TOURISTTRAP, Quest.THE_TOURIST_TRAP),
-		Map.entry(ObjectID.QUEST_START_ICON_TOWEROFLIFE, Quest.TOWER_OF_LIFE),
-		Map.entry(ObjectID.QUEST_START_ICON_TREEGNOMEVILLAGE, Quest.TREE_GNOME_VILLAGE),
-		Map.entry(ObjectID.QUEST_START_ICON_TRIBALTOTEM, Quest.TRIBAL_TOTEM),
-		Map.entry(ObjectID.QUEST_START_ICON_TROLLROMANCE, Quest.TROLL_ROMANCE),
-		Map.entry(ObjectID.QUEST_START_ICON_TROLLSTRONGHOLD, Quest.TROLL_STRONGHOLD),
-		Map.entry(ObjectID.QUEST_START_ICON_TWILIGHTSPROMISE, Quest.TWILIGHTS_PROMISE),
-		Map.entry(ObjectID.QUEST_START_ICON_UNDERGROUNDPASS, Quest.UNDERGROUND_PASS),
-		Map.entry(ObjectID.QUEST_START_ICON_VAMPYRESLAYER, Quest.VAMPYRE_SLAYER),
-		Map.entry(ObjectID.QUEST_START_ICON_WANTED, Quest.WANTED),
-		Map.entry(ObjectID.QUEST_START_ICON_WATCHTOWER, Quest.WATCHTOWER),
-		Map.entry(ObjectID.QUEST_START_ICON_WATERFALL, Quest.WATERFALL_QUEST),
-		Map.entry(ObjectID.QUEST_START_ICON_WHATLIESBELOW, Quest.WHAT_LIES_BELOW),
-		Map.entry(ObjectID.QUEST_START_ICON_WHILEGUTHIXSLEEPS, Quest.WHILE_GUTHIX_SLEEPS),
-		Map.entry(ObjectID.QUEST_START_ICON_WITCHSHOUSE, Quest.WITCHS_HOUSE),
-		Map.entry(ObjectID.QUEST_START_ICON_WITCHSPOTION, Quest.WITCHS_POTION),
-		Map.entry(ObjectID.QUEST_START_ICON_XMARKSTHESPOT, Quest.X_MARKS_THE_SPOT),
-		Map.entry(ObjectID.QUEST_START_ICON_ZOGREFLESHEATERS, Quest.ZOGRE_FLESH_EATERS)
-	);
+	private final static Quest[] QUESTS = Quest.values();
+	private final static short NO_QUEST = -1;
+
+	private final static int minObjectId;
+	private final static int maxObjectId;
+	private final static short[] questOrdinals;
+
+	static
+	{
+		final Map<Integer, Quest> objectsToQuests = questStartObjects();
+		minObjectId = objectsToQuests.keySet().stream().mapToInt(Integer::intValue).min().orElse(0);
+		maxObjectId = objectsToQuests.keySet().stream().mapToInt(Integer::intValue).max().orElse(-1);
+
+		questOrdinals = new short[maxObjectId - minObjectId + 1];
+		Arrays.fill(questOrdinals, NO_QUEST);
+		objectsToQuests.forEach((objectId, quest) -> questOrdinals[objectId - minObjectId] = (short) quest.ordinal());
+	}
+
+	private static Map<Integer, Quest> questStartObjects()
+	{
+		return Map.ofEntries(
+			Map.entry(ObjectID.QUEST_START_ICON_ANIMALMAGNETISM, Quest.ANIMAL_MAGNETISM),
+			Map.entry(ObjectID.QUEST_START_ICON_ANOTHERSLICEOFHAM, Quest.ANOTHER_SLICE_OF_HAM),
+			Map.entry(ObjectID.QUEST_START_ICON_ASCENTOFARCEUUS, Quest.THE_ASCENT_OF_ARCEUUS),
+			Map.entry(ObjectID.QUEST_START_ICON_ATFIRSTLIGHT, Quest.AT_FIRST_LIGHT),
+			Map.entry(ObjectID.QUEST_START_ICON_BELOWICEMOUNTAIN, Quest.BELOW_ICE_MOUNTAIN),
+			Map.entry(ObjectID.QUEST_START_ICON_BENEATHCURSEDSANDS, Quest.BENEATH_CURSED_SANDS),
+			Map.entry(ObjectID.QUEST_START_ICON_BETWEENAROCK, Quest.BETWEEN_A_ROCK),
+			Map.entry(ObjectID.QUEST_START_ICON_BIGCHOMPYBIRDHUNTING, Quest.BIG_CHOMPY_BIRD_HUNTING),
+			Map.entry(ObjectID.QUEST_START_ICON_BIOHAZARD, Quest.BIOHAZARD),
+			Map.entry(ObjectID.QUEST_START_ICON_BLACKKNIGHTSFORTRESS, Quest.BLACK_KNIGHTS_FORTRESS),
+			Map.entry(ObjectID.QUEST_START_ICON_BONEVOYAGE, Quest.BONE_VOYAGE),
+			Map.entry(ObjectID.QUEST_START_ICON_CABINFEVER, Quest.CABIN_FEVER),
+			Map.entry(ObjectID.QUEST_START_ICON_CHILDRENOFTHESUN, Quest.CHILDREN_OF_THE_SUN),
+			Map.entry(ObjectID.QUEST_START_ICON_CLIENTOFKOUREND, Quest.CLIENT_OF_KOUREND),
+			Map.entry(ObjectID.QUEST_START_ICON_CLOCKTOWER, Quest.CLOCK_TOWER),
+			Map.entry(ObjectID.QUEST_START_ICON_COLDWAR, Quest.COLD_WAR),
+			Map.entry(ObjectID.QUEST_START_ICON_CONTACT, Quest.CONTACT),
+			Map.entry(ObjectID.QUEST_START_ICON_COOKSASSISTANT, Quest.COOKS_ASSISTANT),
+			Map.entry(ObjectID.QUEST_START_ICON_CORSAIRCURSE, Quest.THE_CORSAIR_CURSE),
+			Map.entry(ObjectID.QUEST_START_ICON_CREATUREOFFENKENSTRAIN, Quest.CREATURE_OF_FENKENSTRAIN),
+			Map.entry(ObjectID.QUEST_START_ICON_CURSEOFARRAV, Quest.CURSE_OF_THE_EMPTY_LORD),
+			Map.entry(ObjectID.QUEST_START_ICON_DARKNESSOFHALLOWVALE, Quest.DARKNESS_OF_HALLOWVALE),
+			Map.entry(ObjectID.QUEST_START_ICON_DEATHONTHEISLE, Quest.DEATH_ON_THE_ISLE),
+			Map.entry(ObjectID.QUEST_START_ICON_DEATHPLATEAU, Quest.DEATH_PLATEAU),
+			Map.entry(ObjectID.QUEST_START_ICON_DEATHTOTHEDORGESHUUN, Quest.DEATH_TO_THE_DORGESHUUN),
+			Map.entry(ObjectID.QUEST_START_ICON_DEFENDEROFVARROCK, Quest.DEFENDER_OF_VARROCK),
+			Map.entry(ObjectID.QUEST_START_ICON_DEMONSLAYER, Quest.DEMON_SLAYER),
+			Map.entry(ObjectID.QUEST_START_ICON_DEPTHSOFDESPAIR, Quest.THE_DEPTHS_OF_DESPAIR),
+			Map.entry(ObjectID.QUEST_START_ICON_DESERTTREASURE, Quest.DESERT_TREASURE_I),
+			Map.entry(ObjectID.QUEST_START_ICON_DESERTTREASURE2, Quest.DESERT_TREASURE_II__THE_FALLEN_EMPIRE),
+			Map.entry(ObjectID.QUEST_START_ICON_DEVIOUSMINDS, Quest.DEVIOUS_MINDS),
+			Map.entry(ObjectID.QUEST_START_ICON_DIGSITE, Quest.THE_DIG_SITE),
+			Map.entry(ObjectID.QUEST_START_ICON_DORICS, Quest.DORICS_QUEST),
+			Map.entry(ObjectID.QUEST_START_ICON_DRAGONSLAYER1, Quest.DRAGON_SLAYER_I),
+			Map.entry(ObjectID.QUEST_START_ICON_DRAGONSLAYER2, Quest.DRAGON_SLAYER_II),
+			Map.entry(ObjectID.QUEST_START_ICON_DREAMMENTOR, Quest.DREAM_MENTOR),
+			Map.entry(ObjectID.QUEST_START_ICON_DRUIDICRITUAL, Quest.DRUIDIC_RITUAL),
+			Map.entry(ObjectID.QUEST_START_ICON_DWARFCANNON, Quest.DWARF_CANNON),
+			Map.entry(ObjectID.QUEST_START_ICON_EADGARSRUSE, Quest.EADGARS_RUSE),
+			Map.entry(ObjectID.QUEST_START_ICON_EAGLESPEAK, Quest.EAGLES_PEAK),
+			Map.entry(ObjectID.QUEST_START_ICON_ELEMENTALWORKSHOP1, Quest.ELEMENTAL_WORKSHOP_I),
+			Map.entry(ObjectID.QUEST_START_ICON_ELEMENTALWORKSHOP2, Quest.ELEMENTAL_WORKSHOP_II),
+			Map.entry(ObjectID.QUEST_START_ICON_ENAKHRASLAMENT, Quest.ENAKHRAS_LAMENT),
+			Map.entry(ObjectID.QUEST_START_ICON_ENLIGHTENEDJOURNEY, Quest.ENLIGHTENED_JOURNEY),
+			Map.entry(ObjectID.QUEST_START_ICON_ERNESTTHECHICKEN, Quest.ERNEST_THE_CHICKEN),
+			Map.entry(ObjectID.QUEST_START_ICON_ETHICALLYACQUIREDANTIQUITIES, Quest.ETHICALLY_ACQUIRED_ANTIQUITIES),
+			Map.entry(ObjectID.QUEST_START_ICON_EYESOFGLOUPHRIE, Quest.THE_EYES_OF_GLOUPHRIE),
+			Map.entry(ObjectID.QUEST_START_ICON_FAIRYTALE1, Quest.FAIRYTALE_I__GROWING_PAINS),
+			Map.entry(ObjectID.QUEST_START_ICON_FAIRYTALE2, Quest.FAIRYTALE_II__CURE_A_QUEEN),
+			Map.entry(ObjectID.QUEST_START_ICON_FAMILYCREST, Quest.FAMILY_CREST),
+			Map.entry(ObjectID.QUEST_START_ICON_FEUD, Quest.FAMILY_PEST),
+			Map.entry(ObjectID.QUEST_START_ICON_FIGHTARENA, Quest.THE_FEUD),
+			Map.entry(ObjectID.QUEST_START_ICON_FINALDAWN, Quest.FIGHT_ARENA),
+			Map.entry(ObjectID.QUEST_START_ICON_FISHINGCONTEST, Quest.FISHING_CONTEST),
+			Map.entry(ObjectID.QUEST_START_ICON_FORGETTABLETALE, Quest.FORGETTABLE_TALE),
+			Map.entry(ObjectID.QUEST_START_ICON_FORSAKENTOWER, Quest.THE_FORSAKEN_TOWER),
+			Map.entry(ObjectID.QUEST_START_ICON_FREMENNIKEXILES, Quest.THE_FREMENNIK_EXILES),
+			Map.entry(ObjectID.QUEST_START_ICON_FREMENNIKISLES, Quest.THE_FREMENNIK_ISLES),
+			Map.entry(ObjectID.QUEST_START_ICON_FREMENNIKTRIALS, Quest.THE_FREMENNIK_TRIALS),
+			Map.entry(ObjectID.QUEST_START_ICON_GARDENOFDEATH, Quest.THE_GARDEN_OF_DEATH),
+			Map.entry(ObjectID.QUEST_START_ICON_GARDENOFTRANQUILLITY, Quest.GARDEN_OF_TRANQUILLITY),
+			Map.entry(ObjectID.QUEST_START_ICON_GERTRUDESCAT, Quest.GERTRUDES_CAT),
+			Map.entry(ObjectID.QUEST_START_ICON_GETTINGAHEAD, Quest.GETTING_AHEAD),
+			Map.entry(ObjectID.QUEST_START_ICON_GHOSTSAHOY, Quest.GHOSTS_AHOY),
+			Map.entry(ObjectID.QUEST_START_ICON_GIANTDWARF, Quest.THE_GIANT_DWARF),
+			Map.entry(ObjectID.QUEST_START_ICON_GOBLINDIPLOMACY, Quest.GOBLIN_DIPLOMACY),
+			Map.entry(ObjectID.QUEST_START_ICON_GOLEM, Quest.THE_GOLEM),
+			Map.entry(ObjectID.QUEST_START_ICON_GRANDTREE, Quest.THE_GRAND_TREE),
+			Map.entry(ObjectID.QUEST_START_ICON_GREATBRAINROBBERY, Quest.THE_GREAT_BRAIN_ROBBERY),
+			Map.entry(ObjectID.QUEST_START_ICON_GRIMTALES, Quest.GRIM_TALES),
+			Map.entry(ObjectID.QUEST_START_ICON_HANDINTHESAND, Quest.THE_HAND_IN_THE_SAND),
+			Map.entry(ObjectID.QUEST_START_ICON_HAUNTEDMINE, Quest.HAUNTED_MINE),
+			Map.entry(ObjectID.QUEST_START_ICON_HAZEELCULT, Quest.HAZEEL_CULT),
+			Map.entry(ObjectID.QUEST_START_ICON_HEARTOFDARKNESS, Quest.THE_HEART_OF_DARKNESS),
+			Map.entry(ObjectID.QUEST_START_ICON_HEROES, Quest.HEROES_QUEST),
+			Map.entry(ObjectID.QUEST_START_ICON_HOLYGRAIL, Quest.HOLY_GRAIL),
+			Map.entry(ObjectID.QUEST_START_ICON_HORRORFROMTHEDEEP, Quest.HORROR_FROM_THE_DEEP),
+			Map.entry(ObjectID.QUEST_START_ICON_ICTHLARINSLITTLEHELPER, Quest.ICTHLARINS_LITTLE_HELPER),
+			Map.entry(ObjectID.QUEST_START_ICON_IMPCATCHER, Quest.IMP_CATCHER),
+			Map.entry(ObjectID.QUEST_START_ICON_INAIDOFTHEMYREQUE, Quest.IN_AID_OF_THE_MYREQUE),
+			Map.entry(ObjectID.QUEST_START_ICON_INSEARCHOFTHEMYREQUE, Quest.IN_SEARCH_OF_THE_MYREQUE),
+			Map.entry(ObjectID.QUEST_START_ICON_JUNGLEPOTION, Quest.JUNGLE_POTION),
+			Map.entry(ObjectID.QUEST_START_ICON_KINGDOMDIVIDED, Quest.A_KINGDOM_DIVIDED),
+			Map.entry(ObjectID.QUEST_START_ICON_KINGSRANSOM, Quest.KINGS_RANSOM),
+			Map.entry(ObjectID.QUEST_START_ICON_KNIGHTSSWORD, Quest.THE_KNIGHTS_SWORD),
+			Map.entry(ObjectID.QUEST_START_ICON_LANDOFTHEGOBLINS, Quest.LAND_OF_THE_GOBLINS),
+			Map.entry(ObjectID.QUEST_START_ICON_LEGENDS, Quest.LEGENDS_QUEST),
+			Map.entry(ObjectID.QUEST_START_ICON_LOSTCITY, Quest.LOST_CITY),
+			Map.entry(ObjectID.QUEST_START_ICON_LOSTTRIBE, Quest.THE_LOST_TRIBE),
+			Map.entry(ObjectID.QUEST_START_ICON_LUNARDIPLOMACY, Quest.LUNAR_DIPLOMACY),
+			Map.entry(ObjectID.QUEST_START_ICON_MAKINGFRIENDSWITHMYARM, Quest.MAKING_FRIENDS_WITH_MY_ARM),
+			Map.entry(ObjectID.QUEST_START_ICON_MAKINGHISTORY, Quest.MAKING_HISTORY),
+			Map.entry(ObjectID.QUEST_START_ICON_MEATANDGREET, Quest.MEAT_AND_GREET),
+			Map.entry(ObjectID.QUEST_START_ICON_MERLINSCRYSTAL, Quest.MERLINS_CRYSTAL),
+			Map.entry(ObjectID.QUEST_START_ICON_MISTHALINMYSTERY, Quest.MISTHALIN_MYSTERY),
+			Map.entry(ObjectID.QUEST_START_ICON_MONKEYMADNESS1, Quest.MONKEY_MADNESS_I),
+			Map.entry(ObjectID.QUEST_START_ICON_MONKEYMADNESS2, Quest.MONKEY_MADNESS_II),
+			Map.entry(ObjectID.QUEST_START_ICON_MONKSFRIEND, Quest.MONKS_FRIEND),
+			Map.entry(ObjectID.QUEST_START_ICON_MOUNTAINDAUGHTER, Quest.MOUNTAIN_DAUGHTER),
+			Map.entry(ObjectID.QUEST_START_ICON_MOURNINGSENDPART1, Quest.MOURNINGS_END_PART_I),
+			Map.entry(ObjectID.QUEST_START_ICON_MOURNINGSENDPART2, Quest.MOURNINGS_END_PART_II),
+			Map.entry(ObjectID.QUEST_START_ICON_MURDERMYSTERY, Quest.MURDER_MYSTERY),
+			Map.entry(ObjectID.QUEST_START_ICON_MYARMSBIGADVENTURE, Quest.MY_ARMS_BIG_ADVENTURE),
+			Map.entry(ObjectID.QUEST_START_ICON_NATURESPIRIT, Quest.NATURE_SPIRIT),
+			Map.entry(ObjectID.QUEST_START_ICON_NIGHTATTHETHEATRE, Quest.A_NIGHT_AT_THE_THEATRE),
+			Map.entry(ObjectID.QUEST_START_ICON_OBSERVATORY, Quest.OBSERVATORY_QUEST),
+			Map.entry(ObjectID.QUEST_START_ICON_OLAFS, Quest.OLAFS_QUEST),
+			Map.entry(ObjectID.QUEST_START_ICON_ONESMALLFAVOUR, Quest.ONE_SMALL_FAVOUR),
+			Map.entry(ObjectID.QUEST_START_ICON_PATHOFGLOUPHRIE, Quest.THE_PATH_OF_GLOUPHRIE),
+			Map.entry(ObjectID.QUEST_START_ICON_PERILOUSMOONS, Quest.PERILOUS_MOONS),
+			Map.entry(ObjectID.QUEST_START_ICON_PIRATESTREASURE, Quest.PIRATES_TREASURE),
+			Map.entry(ObjectID.QUEST_START_ICON_PLAGUECITY, Quest.PLAGUE_CITY),
+			Map.entry(ObjectID.QUEST_START_ICON_PORCINEOFINTEREST, Quest.A_PORCINE_OF_INTEREST),
+			Map.entry(ObjectID.QUEST_START_ICON_PRIESTINPERIL, Quest.PRIEST_IN_PERIL),
+			Map.entry(ObjectID.QUEST_START_ICON_PRINCEALIRESCUE, Quest.PRINCE_ALI_RESCUE),
+			Map.entry(ObjectID.QUEST_START_ICON_QUEENOFTHIEVES, Quest.THE_QUEEN_OF_THIEVES),
+			Map.entry(ObjectID.QUEST_START_ICON_RAGANDBONEMAN1, Quest.RAG_AND_BONE_MAN_I),
+			Map.entry(ObjectID.QUEST_START_ICON_RAGANDBONEMAN2, Quest.RAG_AND_BONE_MAN_II),
+			Map.entry(ObjectID.QUEST_START_ICON_RATCATCHERS, Quest.RATCATCHERS),
+			Map.entry(ObjectID.QUEST_START_ICON_RECIPEFORDISASTER, Quest.RECIPE_FOR_DISASTER),
+			Map.entry(ObjectID.QUEST_START_ICON_RECRUITMENTDRIVE, Quest.RECRUITMENT_DRIVE),
+			Map.entry(ObjectID.QUEST_START_ICON_REGICIDE, Quest.REGICIDE),
+			Map.entry(ObjectID.QUEST_START_ICON_RESTLESSGHOST, Quest.THE_RESTLESS_GHOST),
+			Map.entry(ObjectID.QUEST_START_ICON_RIBBITINGTALE, Quest.THE_RIBBITING_TALE_OF_A_LILY_PAD_LABOUR_DISPUTE),
+			Map.entry(ObjectID.QUEST_START_ICON_ROMEOANDJULIET, Quest.ROMEO__JULIET),
+			Map.entry(ObjectID.QUEST_START_ICON_ROVINGELVES, Quest.ROVING_ELVES),
+			Map.entry(ObjectID.QUEST_START_ICON_ROYALTROUBLE, Quest.ROYAL_TROUBLE),
+			Map.entry(ObjectID.QUEST_START_ICON_RUMDEAL, Quest.RUM_DEAL),
+			Map.entry(ObjectID.QUEST_START_ICON_RUNEMYSTERIES, Quest.RUNE_MYSTERIES),
+			Map.entry(ObjectID.QUEST_START_ICON_SCORPIONCATCHER, Quest.SCORPION_CATCHER),
+			Map.entry(ObjectID.QUEST_START_ICON_SCRAMBLED, Quest.SCRAMBLED),
+			Map.entry(ObjectID.QUEST_START_ICON_SEASLUG, Quest.SEA_SLUG),
+			Map.entry(ObjectID.QUEST_START_ICON_SECRETSOFTHENORTH, Quest.SECRETS_OF_THE_NORTH),
+			Map.entry(ObjectID.QUEST_START_ICON_SHADESOFMORTTON, Quest.SHADES_OF_MORTTON),
+			Map.entry(ObjectID.QUEST_START_ICON_SHADOWOFTHESTORM, Quest.SHADOW_OF_THE_STORM),
+			Map.entry(ObjectID.QUEST_START_ICON_SHADOWSOFCUSTODIA, Quest.SHADOWS_OF_CUSTODIA),
+			Map.entry(ObjectID.QUEST_START_ICON_SHEEPHERDER, Quest.SHEEP_HERDER),
+			Map.entry(ObjectID.QUEST_START_ICON_SHEEPSHEARER, Quest.SHEEP_SHEARER),
+			Map.entry(ObjectID.QUEST_START_ICON_SHIELDOFARRAV, Quest.SHIELD_OF_ARRAV),
+			Map.entry(ObjectID.QUEST_START_ICON_SHILOVILLAGE, Quest.SHILO_VILLAGE),
+			Map.entry(ObjectID.QUEST_START_ICON_SINSOFTHEFATHER, Quest.SINS_OF_THE_FATHER),
+			Map.entry(ObjectID.QUEST_START_ICON_SLEEPINGGIANTS, Quest.SKIPPY_AND_THE_MOGRES),
+			Map.entry(ObjectID.QUEST_START_ICON_SLUGMENACE, Quest.THE_SLUG_MENACE),
+			Map.entry(ObjectID.QUEST_START_ICON_SONGOFTHEELVES, Quest.SONG_OF_THE_ELVES),
+			Map.entry(ObjectID.QUEST_START_ICON_SOULSBANE, Quest.A_SOULS_BANE),
+			Map.entry(ObjectID.QUEST_START_ICON_SPIRITSOFTHEELID, Quest.SPIRITS_OF_THE_ELID),
+			Map.entry(ObjectID.QUEST_START_ICON_SWANSONG, Quest.SWAN_SONG),
+			Map.entry(ObjectID.QUEST_START_ICON_TAIBWOWANNAITRIO, Quest.TAI_BWO_WANNAI_TRIO),
+			Map.entry(ObjectID.QUEST_START_ICON_TAILOFTWOCATS, Quest.A_TAIL_OF_TWO_CATS),
+			Map.entry(ObjectID.QUEST_START_ICON_TALEOFTHERIGHTEOUS, Quest.TALE_OF_THE_RIGHTEOUS),
+			Map.entry(ObjectID.QUEST_START_ICON_TASTEOFHOPE, Quest.A_TASTE_OF_HOPE),
+			Map.entry(ObjectID.QUEST_START_ICON_TEARSOFGUTHIX, Quest.TEARS_OF_GUTHIX),
+			Map.entry(ObjectID.QUEST_START_ICON_TEMPLEOFIKOV, Quest.TEMPLE_OF_IKOV),
+			Map.entry(ObjectID.QUEST_START_ICON_TEMPLEOFTHEEYE, Quest.TEMPLE_OF_THE_EYE),
+			Map.entry(ObjectID.QUEST_START_ICON_THRONEOFMISCELLANIA, Quest.THRONE_OF_MISCELLANIA),
+			Map.entry(ObjectID.QUEST_START_ICON_TOURISTTRAP, Quest.THE_TOURIST_TRAP),
+			Map.entry(ObjectID.QUEST_START_ICON_TOWEROFLIFE, Quest.TOWER_OF_LIFE),
+			Map.entry(ObjectID.QUEST_START_ICON_TREEGNOMEVILLAGE, Quest.TREE_GNOME_VILLAGE),
+			Map.entry(ObjectID.QUEST_START_ICON_TRIBALTOTEM, Quest.TRIBAL_TOTEM),
+			Map.entry(ObjectID.QUEST_START_ICON_TROLLROMANCE, Quest.TROLL_ROMANCE),
+			Map.entry(ObjectID.QUEST_START_ICON_TROLLSTRONGHOLD, Quest.TROLL_STRONGHOLD),
+			Map.entry(ObjectID.QUEST_START_ICON_TWILIGHTSPROMISE, Quest.TWILIGHTS_PROMISE),
+			Map.entry(ObjectID.QUEST_START_ICON_UNDERGROUNDPASS, Quest.UNDERGROUND_PASS),
+			Map.entry(ObjectID.QUEST_START_ICON_VAMPYRESLAYER, Quest.VAMPYRE_SLAYER),
+			Map.entry(ObjectID.QUEST_START_ICON_WANTED, Quest.WANTED),
+			Map.entry(ObjectID.QUEST_START_ICON_WATCHTOWER, Quest.WATCHTOWER),
+			Map.entry(ObjectID.QUEST_START_ICON_WATERFALL, Quest.WATERFALL_QUEST),
+			Map.entry(ObjectID.QUEST_START_ICON_WHATLIESBELOW, Quest.WHAT_LIES_BELOW),
+			Map.entry(ObjectID.QUEST_START_ICON_WHILEGUTHIXSLEEPS, Quest.WHILE_GUTHIX_SLEEPS),
+			Map.entry(ObjectID.QUEST_START_ICON_WITCHSHOUSE, Quest.WITCHS_HOUSE),
+			Map.entry(ObjectID.QUEST_START_ICON_WITCHSPOTION, Quest.WITCHS_POTION),
+			Map.entry(ObjectID.QUEST_START_ICON_XMARKSTHESPOT, Quest.X_MARKS_THE_SPOT),
+			Map.entry(ObjectID.QUEST_START_ICON_ZOGREFLESHEATERS, Quest.ZOGRE_FLESH_EATERS)
+		);
+	}
+
+	static boolean isQuestObject(int objectId)
+	{
+		return objectId >= minObjectId && objectId <= maxObjectId && questOrdinals[objectId - minObjectId] != NO_QUEST;
+	}
+
+	/**
+	 * @return the quest started by the ground object, or null if it is not a quest start icon
+	 */
+	static Quest getQuest(int objectId)
+	{
+		if (objectId < minObjectId || objectId > maxObjectId)
+		{
+			return null;
+		}
+
+		final short questOrdinal = questOrdinals[objectId - minObjectId];
+		return questOrdinal == NO_QUEST ? null : QUESTS[questOrdinal];
+	}
 }
\ No newline at end of file
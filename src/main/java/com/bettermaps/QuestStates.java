@@ -0,0 +1,105 @@
+package com.bettermaps;
+
+import java.util.BitSet;
+import net.runelite.api.Client;
+import net.runelite.api.Quest;
+import net.runelite.api.QuestState;
+
+/**
+ * The quests the player has completed, cached in a bit set over the {@link Quest} ordinals. Working out the state of a
+ * quest runs a client script, so the icon, tooltip and ground object paths only ever read the bit set, and it is only
+ * refreshed in full on login and when the quest points change. A completed quest can not become incomplete again, so a
+ * refresh only checks the quests not yet known to be completed.
+ * <p>
+ * Miniquests give no quest points, so their completion message starts a sweep instead, which checks a few of the quests
+ * not yet completed each game tick until it has been through them all.
+ */
+final class QuestStates
+{
+	private static final Quest[] QUESTS = Quest.values();
+
+	private final BitSet completed = new BitSet(QUESTS.length);
+	private int sweepOrdinal;
+	// The quests left to visit in the running sweep
+	private int sweepRemaining;
+	// Whether another sweep is to follow the running one, as a quest was completed after it started
+	private boolean sweepQueued;
+
+	boolean isCompleted(Quest quest)
+	{
+		return quest != null && completed.get(quest.ordinal());
+	}
+
+	/**
+	 * Checks every quest not yet known to be completed. Must be called on the client thread.
+	 *
+	 * @return whether any quest has been newly completed
+	 */
+	boolean refresh(Client client)
+	{
+		boolean changed = false;
+		for (int ordinal = completed.nextClearBit(0); ordinal < QUESTS.length; ordinal = completed.nextClearBit(ordinal + 1))
+		{
+			if (QUESTS[ordinal].getState(client) == QuestState.FINISHED)
+			{
+				completed.set(ordinal);
+				changed = true;
+			}
+		}
+		return changed;
+	}
+
+	/**
+	 * Starts a sweep, as a quest may have been completed without the quest points changing. A running sweep is left to
+	 * finish rather than restarted, with one more sweep following it.
+	 */
+	void startSweep()
+	{
+		if (sweepRemaining > 0)
+		{
+			sweepQueued = true;
+			return;
+		}
+		sweepRemaining = QUESTS.length;
+	}
+
+	/**
+	 * Checks up to the maximum number of quests not yet known to be completed, carrying on from where the last call
+	 * stopped, if a sweep has been started. Must be called on the client thread.
+	 *
+	 * @return whether any quest has been newly completed
+	 */
+	boolean sweep(Client client, int maximumChecks)
+	{
+		boolean changed = false;
+		int checks = 0;
+		while (sweepRemaining > 0 && checks < maximumChecks)
+		{
+			sweepRemaining--;
+			final int ordinal = sweepOrdinal;
+			sweepOrdinal = (sweepOrdinal + 1) % QUESTS.length;
+			if (!completed.get(ordinal))
+			{
+				checks++;
+				if (QUESTS[ordinal].getState(client) == QuestState.FINISHED)
+				{
+					completed.set(ordinal);
+					changed = true;
+				}
+			}
+			if (sweepRemaining == 0 && sweepQueued)
+			{
+				sweepQueued = false;
+				sweepRemaining = QUESTS.length;
+			}
+		}
+		return changed;
+	}
+
+	void reset()
+	{
+		completed.clear();
+		sweepRemaining = 0;
+		sweepQueued = false;
+	}
+}
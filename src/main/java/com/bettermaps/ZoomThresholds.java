@@ -0,0 +1,105 @@
+package com.bettermaps;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The minimum world map zoom at which each icon category is shown, parsed from the config. Below its minimum zoom, a
+ * category is treated as hidden by both the icon pass and the tooltips, so a zoomed out map has fewer icons to draw
+ * and fewer points to hit test.
+ */
+@Slf4j
+final class ZoomThresholds
+{
+	// The categories with a minimum zoom, and that zoom, in parallel arrays
+	private int[] categories = new int[0];
+	private float[] minimumZooms = new float[0];
+	private String parsedValue = "";
+
+	boolean isEmpty()
+	{
+		return categories.length == 0;
+	}
+
+	/**
+	 * Parses the config, one 'Icon name: zoom' entry per line or separated by commas, if it has changed since the
+	 * last call. Any later entry for an icon already given is ignored.
+	 *
+	 * @return whether the thresholds have changed
+	 */
+	boolean update(String configValue)
+	{
+		if (configValue.equals(parsedValue))
+		{
+			return false;
+		}
+
+		parsedValue = configValue;
+		final BitSet parsed = new BitSet();
+		final int[] parsedCategories = new int[MapIcons.values().length];
+		final float[] parsedZooms = new float[parsedCategories.length];
+		int count = 0;
+		for (String entry : configValue.split("[,\\n]"))
+		{
+			if (count == parsedCategories.length)
+			{
+				break;
+			}
+			if (entry.isBlank())
+			{
+				continue;
+			}
+
+			final int separator = Math.max(entry.lastIndexOf(':'), entry.lastIndexOf('='));
+			final MapIcons icon = separator < 0 ? null : ConfigNames.findIcon(entry.substring(0, separator));
+			if (icon == null)
+			{
+				log.debug("Unknown icon in minimum zoom levels: {}", entry.trim());
+				continue;
+			}
+			if (parsed.get(icon.getCategory()))
+			{
+				// Only the first entry for an icon counts
+				log.debug("Repeated icon in minimum zoom levels: {}", entry.trim());
+				continue;
+			}
+
+			try
+			{
+				parsedCategories[count] = icon.getCategory();
+				parsedZooms[count] = Float.parseFloat(entry.substring(separator + 1).trim());
+				parsed.set(icon.getCategory());
+				count++;
+			}
+			catch (NumberFormatException e)
+			{
+				log.debug("Invalid zoom in minimum zoom levels: {}", entry.trim());
+			}
+		}
+
+		categories = Arrays.copyOf(parsedCategories, count);
+		minimumZooms = Arrays.copyOf(parsedZooms, count);
+		return true;
+	}
+
+	/**
+	 * Sets the bit of every category which is below its minimum at the zoom, and clears the rest.
+	 *
+	 * @return whether any bit has changed
+	 */
+	boolean updateHidden(float zoom, BitSet hidden)
+	{
+		boolean changed = false;
+		for (int i = 0; i < categories.length; i++)
+		{
+			final boolean belowMinimum = zoom < minimumZooms[i];
+			if (hidden.get(categories[i]) != belowMinimum)
+			{
+				hidden.set(categories[i], belowMinimum);
+				changed = true;
+			}
+		}
+		return changed;
+	}
+}
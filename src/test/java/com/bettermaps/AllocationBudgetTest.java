@@ -0,0 +1,152 @@
+package com.bettermaps;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.management.ManagementFactory;
+import net.runelite.api.Client;
+import net.runelite.api.GroundObject;
+import net.runelite.api.Scene;
+import net.runelite.api.Tile;
+import net.runelite.api.gameval.ObjectID;
+import net.runelite.api.worldmap.MapElementConfig;
+import net.runelite.api.worldmap.WorldMapRegion;
+import net.runelite.client.ui.overlay.worldmap.WorldMapPointManager;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Assume;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Checks that the icon pass and the ground object checks allocate nothing once warmed up, as they run every frame the
+ * world map is open and for every ground object spawned. Allocation is measured with the per-thread allocation
+ * counters, less what the faked client allocates in passing arguments through its proxies.
+ * <p>
+ * The build runs the tests without escape analysis, as with the few types in the fixtures the JIT would otherwise
+ * remove short lived objects, such as iterators, which it cannot remove in the client.
+ */
+public class AllocationBudgetTest
+{
+	private static final int WARMUP_PASSES = 2_000;
+	private static final int MEASURED_PASSES = 500;
+	private static final int CALIBRATION_CALLS = 10_000;
+	// Less than any object, so a single allocation per pass fails
+	private static final long BUDGET_BYTES_PER_PASS = 8;
+	private static final int OFFSET_TO_HIDE = 25000;
+
+	private static com.sun.management.ThreadMXBean threadBean;
+	private static long argumentArrayBytes;
+	private static long boxedArgumentBytes;
+
+	@BeforeClass
+	public static void calibrate()
+	{
+		Assume.assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+		threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+		Assume.assumeTrue(threadBean.isThreadAllocatedMemorySupported());
+		threadBean.setThreadAllocatedMemoryEnabled(true);
+
+		// A fake call with a cached box argument allocates only the array, and one with a large int a box as well
+		final MapElementConfig elementConfig = BenchmarkFixtures.elementConfigs()[0];
+		final long arrayBytes = measureCalls(() -> elementConfig.getMapIcon(false).setOffsetX(0));
+		final long boxedBytes = measureCalls(() -> elementConfig.getMapIcon(false).setOffsetX(OFFSET_TO_HIDE));
+		argumentArrayBytes = arrayBytes / 2;
+		boxedArgumentBytes = boxedBytes - arrayBytes;
+	}
+
+	@Test
+	public void iconPassAllocatesNothing() throws Throwable
+	{
+		final IconLocations locations = IconLocations.fromMapIcons();
+		final WorldMapRegion[][] regions = BenchmarkFixtures.regionGrid(locations);
+		final Client client = BenchmarkFixtures.client(regions, BenchmarkFixtures.elementConfigs(), null);
+		final BetterMapsPlugin plugin = BenchmarkFixtures.plugin(client, BenchmarkFixtures.defaultConfig(),
+			new WorldMapPointManager());
+		BenchmarkFixtures.setField(plugin, "iconLocations", locations);
+
+		final MethodHandle iconPass = MethodHandles.privateLookupIn(BetterMapsPlugin.class, MethodHandles.lookup())
+			.findVirtual(BetterMapsPlugin.class, "updateWorldMapIcons", MethodType.methodType(void.class))
+			.bindTo(plugin);
+
+		assertWithinBudget("icon pass", () ->
+		{
+			iconPass.invokeExact();
+		});
+	}
+
+	@Test
+	public void groundObjectChecksAllocateNothing() throws Throwable
+	{
+		final Scene scene = BenchmarkFixtures.scene(ObjectID.BANK_STORE_ICON, 1);
+		final Client client = BenchmarkFixtures.client(new WorldMapRegion[0][], BenchmarkFixtures.elementConfigs(), scene);
+		final BetterMapsPlugin plugin = BenchmarkFixtures.plugin(client, BenchmarkFixtures.defaultConfig(),
+			new WorldMapPointManager());
+
+		final MethodHandle checkObjects = MethodHandles.privateLookupIn(BetterMapsPlugin.class, MethodHandles.lookup())
+			.findVirtual(BetterMapsPlugin.class, "checkObjects",
+				MethodType.methodType(void.class, GroundObject.class, Tile.class))
+			.bindTo(plugin);
+
+		final Tile[] tiles = scene.getTiles()[0][0];
+		final GroundObject groundObject = tiles[0].getGroundObject();
+		final GroundObject questObject = BenchmarkFixtures.scene(ObjectID.QUEST_START_ICON_ANIMALMAGNETISM, 1)
+			.getTiles()[0][0][0].getGroundObject();
+		assertWithinBudget("ground object checks", () ->
+		{
+			for (Tile tile : tiles)
+			{
+				checkObjects.invokeExact(groundObject, tile);
+				checkObjects.invokeExact(questObject, tile);
+			}
+		});
+	}
+
+	private static void assertWithinBudget(String name, Pass pass) throws Throwable
+	{
+		for (int i = 0; i < WARMUP_PASSES; i++)
+		{
+			pass.run();
+		}
+
+		final long argumentArrays = BenchmarkFixtures.getArgumentArrays();
+		final long boxedArguments = BenchmarkFixtures.getBoxedArguments();
+		final long start = threadBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+		for (int i = 0; i < MEASURED_PASSES; i++)
+		{
+			pass.run();
+		}
+		final long allocated = threadBean.getThreadAllocatedBytes(Thread.currentThread().getId()) - start;
+
+		final long fakeBytes = (BenchmarkFixtures.getArgumentArrays() - argumentArrays) * argumentArrayBytes
+			+ (BenchmarkFixtures.getBoxedArguments() - boxedArguments) * boxedArgumentBytes;
+		final long bytesPerPass = (allocated - fakeBytes) / MEASURED_PASSES;
+		assertTrue(name + " allocated " + bytesPerPass + " bytes per pass", bytesPerPass <= BUDGET_BYTES_PER_PASS);
+	}
+
+	/**
+	 * @return the bytes allocated per call, with each call going through two fakes
+	 */
+	private static long measureCalls(Runnable call)
+	{
+		for (int i = 0; i < CALIBRATION_CALLS; i++)
+		{
+			call.run();
+		}
+
+		final long argumentArrays = BenchmarkFixtures.getArgumentArrays();
+		final long start = threadBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+		for (int i = 0; i < CALIBRATION_CALLS; i++)
+		{
+			call.run();
+		}
+		final long allocated = threadBean.getThreadAllocatedBytes(Thread.currentThread().getId()) - start;
+		assertEquals(2L * CALIBRATION_CALLS, BenchmarkFixtures.getArgumentArrays() - argumentArrays);
+		return Math.round((double) allocated / CALIBRATION_CALLS);
+	}
+
+	private interface Pass
+	{
+		void run() throws Throwable;
+	}
+}
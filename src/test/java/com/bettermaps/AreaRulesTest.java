@@ -0,0 +1,163 @@
+package com.bettermaps;
+
+import java.util.ArrayList;
+import java.util.List;
+import net.runelite.api.coords.WorldPoint;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+/**
+ * Compares the compiled {@link AreaRules} against testing every rule's area directly, for the icon locations and for
+ * every tile around each rule, so that the tiles along region borders and polygon edges are all covered.
+ */
+public class AreaRulesTest
+{
+	// Tiles either side of each rule's bounds which are checked as well
+	private static final int MARGIN = 3;
+
+	@Test
+	public void rectanglesMatchBruteForce()
+	{
+		// Crossing region borders, with the corners given in either order
+		assertMatchesBruteForce(
+			rectangle(MapIcons.BANK, 3190, 3390, 3300, 3520),
+			rectangle(MapIcons.ALTAR, 3263, 3263, 3200, 3200),
+			rectangle(MapIcons.ANVIL, 3000, 3000, 3000, 3000));
+	}
+
+	@Test
+	public void concavePolygonsMatchBruteForce()
+	{
+		// A U shape across several regions, and an arrow head whose slanted edges cross tile centres
+		assertMatchesBruteForce(
+			polygon(MapIcons.BANK, 3000, 3000, 3200, 3000, 3200, 3300, 3100, 3150, 3000, 3300),
+			polygon(MapIcons.ALTAR, 2900, 3400, 3100, 3500, 2900, 3600, 2950, 3500));
+	}
+
+	@Test
+	public void slantedAndSelfIntersectingPolygonsMatchBruteForce()
+	{
+		// A thin sliver whose edges are almost parallel, and a bow tie whose halves overlap in the middle
+		assertMatchesBruteForce(
+			polygon(MapIcons.BANK, 3100, 3100, 3227, 3101, 3100, 3103),
+			polygon(MapIcons.QUEST_START, 3150, 3150, 3250, 3250, 3250, 3150, 3150, 3250));
+	}
+
+	private static Rule rectangle(MapIcons icon, int x1, int y1, int x2, int y2)
+	{
+		return new Rule(icon, new int[]{x1, y1, x2, y2}, true);
+	}
+
+	private static Rule polygon(MapIcons icon, int... vertices)
+	{
+		return new Rule(icon, vertices, false);
+	}
+
+	private static void assertMatchesBruteForce(Rule... rules)
+	{
+		final StringBuilder config = new StringBuilder();
+		for (Rule rule : rules)
+		{
+			config.append(rule.icon.name()).append(':');
+			for (int i = 0; i < rule.vertices.length; i += 2)
+			{
+				config.append(' ').append(rule.vertices[i]).append(',').append(rule.vertices[i + 1]);
+			}
+			config.append('\n');
+		}
+		final AreaRules areaRules = new AreaRules();
+		assertTrue(areaRules.update(config.toString()));
+
+		final List<int[]> tiles = new ArrayList<>();
+		final IconLocations locations = BenchmarkFixtures.scale(IconLocations.fromMapIcons(), 2);
+		for (int index = 0; index < locations.size(); index++)
+		{
+			final WorldPoint point = locations.getPoint(index);
+			tiles.add(new int[]{point.getX(), point.getY()});
+		}
+		for (Rule rule : rules)
+		{
+			int minX = Integer.MAX_VALUE, minY = Integer.MAX_VALUE, maxX = 0, maxY = 0;
+			for (int i = 0; i < rule.vertices.length; i += 2)
+			{
+				minX = Math.min(minX, rule.vertices[i]);
+				maxX = Math.max(maxX, rule.vertices[i]);
+				minY = Math.min(minY, rule.vertices[i + 1]);
+				maxY = Math.max(maxY, rule.vertices[i + 1]);
+			}
+			for (int x = minX - MARGIN; x <= maxX + MARGIN; x++)
+			{
+				for (int y = minY - MARGIN; y <= maxY + MARGIN; y++)
+				{
+					tiles.add(new int[]{x, y});
+				}
+			}
+		}
+
+		int hidden = 0;
+		for (int[] tile : tiles)
+		{
+			for (MapIcons icon : MapIcons.values())
+			{
+				final boolean expected = isHiddenByBruteForce(rules, icon, tile[0], tile[1]);
+				assertEquals(icon + " at " + tile[0] + "," + tile[1], expected,
+					areaRules.isHidden(icon.getCategory(), tile[0], tile[1]));
+				hidden += expected ? 1 : 0;
+			}
+		}
+		assertTrue("no tile was hidden", hidden > 0);
+	}
+
+	private static boolean isHiddenByBruteForce(Rule[] rules, MapIcons icon, int x, int y)
+	{
+		for (Rule rule : rules)
+		{
+			if (rule.icon.getCategory() == icon.getCategory() && rule.contains(x, y))
+			{
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static final class Rule
+	{
+		private final MapIcons icon;
+		private final int[] vertices;
+		private final boolean rectangle;
+
+		private Rule(MapIcons icon, int[] vertices, boolean rectangle)
+		{
+			this.icon = icon;
+			this.vertices = vertices;
+			this.rectangle = rectangle;
+		}
+
+		/**
+		 * @return whether the tile is between the corners of a rectangle, inclusive of both, or has its centre inside a
+		 * polygon by the even-odd rule
+		 */
+		private boolean contains(int x, int y)
+		{
+			if (rectangle)
+			{
+				return x >= Math.min(vertices[0], vertices[2]) && x <= Math.max(vertices[0], vertices[2])
+					&& y >= Math.min(vertices[1], vertices[3]) && y <= Math.max(vertices[1], vertices[3]);
+			}
+
+			final double centreX = x + 0.5, centreY = y + 0.5;
+			boolean inside = false;
+			for (int i = 0, j = vertices.length - 2; i < vertices.length; j = i, i += 2)
+			{
+				final int xi = vertices[i], yi = vertices[i + 1], xj = vertices[j], yj = vertices[j + 1];
+				if ((yi > centreY) != (yj > centreY)
+					&& centreX < (double) (xj - xi) * (centreY - yi) / (yj - yi) + xi)
+				{
+					inside = !inside;
+				}
+			}
+			return inside;
+		}
+	}
+}
@@ -0,0 +1,472 @@
+package com.bettermaps;
+
+import java.awt.image.BufferedImage;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ScheduledExecutorService;
+import net.runelite.api.Client;
+import net.runelite.api.GameState;
+import net.runelite.api.GroundObject;
+import net.runelite.api.Scene;
+import net.runelite.api.SpritePixels;
+import net.runelite.api.Tile;
+import net.runelite.api.coords.WorldPoint;
+import net.runelite.api.worldmap.MapElementConfig;
+import net.runelite.api.worldmap.WorldMap;
+import net.runelite.api.worldmap.WorldMapIcon;
+import net.runelite.api.worldmap.WorldMapRegion;
+import net.runelite.api.worldmap.WorldMapRenderer;
+import net.runelite.client.callback.ClientThread;
+import net.runelite.client.config.ConfigItem;
+import net.runelite.client.ui.overlay.worldmap.WorldMapPointManager;
+
+/**
+ * Headless stand-ins for the client, so that the plugin's passes can be driven from the benchmarks without a game
+ * running. The client interfaces are faked with proxies, which answer only the calls the plugin makes.
+ */
+final class BenchmarkFixtures
+{
+	private static final int REGION_SIZE = 64;
+	private static final int REGIONS_PER_ROW = 16;
+	private static final int SCENE_PLANES = 4;
+	private static final int SCENE_SIZE = 104;
+	private static final BufferedImage SPRITE_IMAGE = new BufferedImage(15, 15, BufferedImage.TYPE_INT_ARGB);
+	// Boxed once, so that answering with them allocates nothing
+	private static final Object FLOAT_ZERO = 0f;
+	private static final Object DOUBLE_ZERO = 0d;
+
+	// The argument arrays the proxies have been passed, and the boxed arguments in them which were not from a box
+	// cache, which are allocated by the proxies rather than by the code calling the fakes. The last arguments are kept
+	// so that the arrays always escape, and so are allocated the same however the calling code is compiled.
+	private static long argumentArrays;
+	private static long boxedArguments;
+	private static Object[] lastArguments;
+
+	private BenchmarkFixtures()
+	{
+	}
+
+	/**
+	 * Repeats every location multiplier times, with each copy moved to its own set of regions, so that both the
+	 * number of icons and the number of world map regions scale together.
+	 */
+	static IconLocations scale(IconLocations locations, int multiplier)
+	{
+		final int size = locations.size() * multiplier;
+		final MapIcons[] icons = new MapIcons[size];
+		final WorldPoint[] points = new WorldPoint[size];
+		final int copyOffset = 8192;
+
+		int index = 0;
+		for (int copy = 0; copy < multiplier; copy++)
+		{
+			for (int original = 0; original < locations.size(); original++)
+			{
+				final WorldPoint point = locations.getPoint(original);
+				icons[index] = locations.getIcon(original);
+				points[index] = new WorldPoint(point.getX() + copy * copyOffset, point.getY(), point.getPlane());
+				index++;
+			}
+		}
+		return new IconLocations(icons, points);
+	}
+
+	/**
+	 * Builds the world map regions containing the locations, with each icon's type set to its {@link MapIcons}
+	 * ordinal to match {@link #elementConfigs()}.
+	 */
+	static WorldMapRegion[][] regionGrid(IconLocations locations)
+	{
+		final Map<Long, List<WorldMapIcon>> iconsByRegion = new LinkedHashMap<>();
+		for (int index = 0; index < locations.size(); index++)
+		{
+			final WorldPoint point = locations.getPoint(index);
+			final long regionKey = ((long) (point.getX() / REGION_SIZE) << 32) | (point.getY() / REGION_SIZE);
+			iconsByRegion.computeIfAbsent(regionKey, key -> new ArrayList<>())
+				.add(worldMapIcon(locations.getIcon(index).ordinal(), point));
+		}
+
+		final List<WorldMapRegion> regions = new ArrayList<>();
+		for (Map.Entry<Long, List<WorldMapIcon>> entry : iconsByRegion.entrySet())
+		{
+			regions.add(worldMapRegion((int) (entry.getKey() >> 32), (int) (long) entry.getKey(), entry.getValue()));
+		}
+
+		final int rows = (regions.size() + REGIONS_PER_ROW - 1) / REGIONS_PER_ROW;
+		final WorldMapRegion[][] grid = new WorldMapRegion[rows][];
+		for (int row = 0; row < rows; row++)
+		{
+			final int from = row * REGIONS_PER_ROW;
+			grid[row] = regions.subList(from, Math.min(regions.size(), from + REGIONS_PER_ROW))
+				.toArray(new WorldMapRegion[0]);
+		}
+		return grid;
+	}
+
+	/**
+	 * @return one element config per {@link MapIcons} value, indexed by ordinal
+	 */
+	static MapElementConfig[] elementConfigs()
+	{
+		final MapElementConfig[] configs = new MapElementConfig[MapIcons.values().length];
+		for (MapIcons icon : MapIcons.values())
+		{
+			final SpritePixels sprite = fake(SpritePixels.class, (proxy, method, args) ->
+				method.getName().equals("toBufferedImage") ? SPRITE_IMAGE : defaultValue(method.getReturnType()));
+			final Integer category = icon.getCategory();
+			configs[icon.ordinal()] = fake(MapElementConfig.class, (proxy, method, args) ->
+			{
+				switch (method.getName())
+				{
+					case "getCategory":
+						return category;
+					case "getMapIcon":
+						return sprite;
+					default:
+						return defaultValue(method.getReturnType());
+				}
+			});
+		}
+		return configs;
+	}
+
+	static Client client(WorldMapRegion[][] regions, MapElementConfig[] elementConfigs, Scene scene)
+	{
+		final WorldMapRenderer renderer = fake(WorldMapRenderer.class, (proxy, method, args) ->
+		{
+			switch (method.getName())
+			{
+				case "isLoaded":
+					return true;
+				case "getMapRegions":
+					return regions;
+				default:
+					return defaultValue(method.getReturnType());
+			}
+		});
+		final WorldMap worldMap = fake(WorldMap.class, (proxy, method, args) ->
+			method.getName().equals("getWorldMapRenderer") ? renderer : defaultValue(method.getReturnType()));
+
+		return fake(Client.class, (proxy, method, args) ->
+		{
+			switch (method.getName())
+			{
+				case "getGameState":
+					return GameState.LOGGED_IN;
+				case "isClientThread":
+					return true;
+				case "getWorldMap":
+					return worldMap;
+				case "getMapElementConfig":
+					return elementConfigs[(int) args[0]];
+				case "getScene":
+					return scene;
+				default:
+					return defaultValue(method.getReturnType());
+			}
+		});
+	}
+
+	/**
+	 * @return a full size scene, with a ground object of the given id on every n-th tile
+	 */
+	static Scene scene(int groundObjectId, int groundObjectEvery)
+	{
+		final Integer boxedId = groundObjectId;
+		final GroundObject groundObject = fake(GroundObject.class, (proxy, method, args) ->
+			method.getName().equals("getId") ? boxedId : defaultValue(method.getReturnType()));
+
+		final Tile[][][] tiles = new Tile[SCENE_PLANES][SCENE_SIZE][SCENE_SIZE];
+		int tileIndex = 0;
+		for (int plane = 0; plane < SCENE_PLANES; plane++)
+		{
+			for (int x = 0; x < SCENE_SIZE; x++)
+			{
+				for (int y = 0; y < SCENE_SIZE; y++)
+				{
+					final GroundObject[] tileGroundObject = {tileIndex++ % groundObjectEvery == 0 ? groundObject : null};
+					tiles[plane][x][y] = fake(Tile.class, (proxy, method, args) ->
+					{
+						switch (method.getName())
+						{
+							case "getGroundObject":
+								return tileGroundObject[0];
+							case "setGroundObject":
+								tileGroundObject[0] = (GroundObject) args[0];
+								return null;
+							default:
+								return defaultValue(method.getReturnType());
+						}
+					});
+				}
+			}
+		}
+
+		return fake(Scene.class, (proxy, method, args) ->
+			method.getName().equals("getTiles") ? tiles : defaultValue(method.getReturnType()));
+	}
+
+	/**
+	 * @return a client thread which runs everything immediately, as the fake client is always on the client thread
+	 */
+	static ClientThread clientThread(Client client) throws ReflectiveOperationException
+	{
+		final ClientThread clientThread = new ClientThread();
+		setField(clientThread, "client", client);
+		return clientThread;
+	}
+
+	/**
+	 * @return a config returning the default value of every item, each worked out once
+	 */
+	static BetterMapsConfig defaultConfig()
+	{
+		return config(new Properties());
+	}
+
+	/**
+	 * @return a config returning the values in a RuneLite profile or settings file, keyed by config group and key name,
+	 * and the default value of every item not in it, each worked out once
+	 */
+	static BetterMapsConfig config(Properties settings)
+	{
+		final Map<Method, Object> values = new HashMap<>();
+		return fake(BetterMapsConfig.class, (proxy, method, args) ->
+		{
+			if (!method.isDefault())
+			{
+				return defaultValue(method.getReturnType());
+			}
+
+			Object value = values.get(method);
+			if (value == null)
+			{
+				final ConfigItem item = method.getAnnotation(ConfigItem.class);
+				final String setting = item == null ? null
+					: settings.getProperty(BetterMapsPlugin.CONFIG_GROUP + "." + item.keyName());
+				value = setting != null ? parseSetting(method.getReturnType(), setting)
+					: MethodHandles.privateLookupIn(BetterMapsConfig.class, MethodHandles.lookup())
+						.unreflectSpecial(method, BetterMapsConfig.class)
+						.bindTo(proxy)
+						.invokeWithArguments(args == null ? new Object[0] : args);
+				values.put(method, value);
+			}
+			return value;
+		});
+	}
+
+	private static Object parseSetting(Class<?> type, String setting)
+	{
+		if (type == boolean.class)
+		{
+			return Boolean.parseBoolean(setting);
+		}
+		if (type == int.class)
+		{
+			return Integer.parseInt(setting);
+		}
+		return setting;
+	}
+
+	/**
+	 * Creates the plugin with the given client, showing the tooltips and every {@link MapIcons} category.
+	 */
+	static BetterMapsPlugin plugin(Client client, BetterMapsConfig config, WorldMapPointManager worldMapPointManager)
+		throws ReflectiveOperationException
+	{
+		final BetterMapsPlugin plugin = new BetterMapsPlugin();
+		setField(plugin, "client", client);
+		setField(plugin, "config", config);
+		setField(plugin, "worldMapPointManager", worldMapPointManager);
+		setField(plugin, "handlerTimings", new HandlerTimings());
+		// Never loaded, so nothing is learned and the benchmarks only use the MapIcons locations
+		setField(plugin, "learnedIconLocations", new LearnedIconLocations(client, null));
+		// Discards every task, so the compiled tables are never saved and are compiled again on each run
+		setField(plugin, "executor", fake(ScheduledExecutorService.class, (proxy, method, args) -> defaultValue(method.getReturnType())));
+		setField(plugin, "showTooltips", true);
+
+		final BitSet wantedCategories = (BitSet) getField(plugin, "wantedCategories");
+		for (MapIcons icon : MapIcons.values())
+		{
+			wantedCategories.set(icon.getCategory());
+		}
+		return plugin;
+	}
+
+	static void setField(Object target, String name, Object value) throws ReflectiveOperationException
+	{
+		final Field field = target.getClass().getDeclaredField(name);
+		field.setAccessible(true);
+		field.set(target, value);
+	}
+
+	static Object getField(Object target, String name) throws ReflectiveOperationException
+	{
+		final Field field = target.getClass().getDeclaredField(name);
+		field.setAccessible(true);
+		return field.get(target);
+	}
+
+	static Method method(Class<?> type, String name) throws ReflectiveOperationException
+	{
+		final Method method = type.getDeclaredMethod(name);
+		method.setAccessible(true);
+		return method;
+	}
+
+	static long usedHeap()
+	{
+		final Runtime runtime = Runtime.getRuntime();
+		for (int i = 0; i < 3; i++)
+		{
+			System.gc();
+		}
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+
+	/**
+	 * @return the number of argument arrays passed to the fakes so far
+	 */
+	static long getArgumentArrays()
+	{
+		return argumentArrays;
+	}
+
+	/**
+	 * @return the number of arguments passed to the fakes so far which had to be boxed into a new object
+	 */
+	static long getBoxedArguments()
+	{
+		return boxedArguments;
+	}
+
+	private static WorldMapIcon worldMapIcon(int type, WorldPoint coordinate)
+	{
+		final Integer boxedType = type;
+		return fake(WorldMapIcon.class, (proxy, method, args) ->
+		{
+			switch (method.getName())
+			{
+				case "getType":
+					return boxedType;
+				case "getCoordinate":
+					return coordinate;
+				default:
+					return defaultValue(method.getReturnType());
+			}
+		});
+	}
+
+	private static WorldMapRegion worldMapRegion(int regionX, int regionY, List<WorldMapIcon> icons)
+	{
+		final Integer boxedX = regionX;
+		final Integer boxedY = regionY;
+		return fake(WorldMapRegion.class, (proxy, method, args) ->
+		{
+			switch (method.getName())
+			{
+				case "getRegionX":
+					return boxedX;
+				case "getRegionY":
+					return boxedY;
+				case "getMapIcons":
+					return icons;
+				default:
+					return defaultValue(method.getReturnType());
+			}
+		});
+	}
+
+	private static <T> T fake(Class<T> type, InvocationHandler handler)
+	{
+		final InvocationHandler withObjectMethods = (proxy, method, args) ->
+		{
+			if (args != null)
+			{
+				countArguments(args);
+			}
+			if (method.getDeclaringClass() == Object.class)
+			{
+				switch (method.getName())
+				{
+					case "equals":
+						return proxy == args[0];
+					case "hashCode":
+						return System.identityHashCode(proxy);
+					default:
+						return "Fake" + type.getSimpleName();
+				}
+			}
+			return handler.invoke(proxy, method, args);
+		};
+		return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, withObjectMethods));
+	}
+
+	private static void countArguments(Object[] args)
+	{
+		argumentArrays++;
+		lastArguments = args;
+		for (Object arg : args)
+		{
+			if (arg instanceof Integer || arg instanceof Long || arg instanceof Short)
+			{
+				final long value = ((Number) arg).longValue();
+				if (value < -128 || value > 127)
+				{
+					boxedArguments++;
+				}
+			}
+			else if (arg instanceof Float || arg instanceof Double)
+			{
+				boxedArguments++;
+			}
+		}
+	}
+
+	private static Object defaultValue(Class<?> type)
+	{
+		if (!type.isPrimitive() || type == void.class)
+		{
+			return null;
+		}
+		if (type == boolean.class)
+		{
+			return false;
+		}
+		if (type == char.class)
+		{
+			return (char) 0;
+		}
+		if (type == float.class)
+		{
+			return FLOAT_ZERO;
+		}
+		if (type == double.class)
+		{
+			return DOUBLE_ZERO;
+		}
+		if (type == long.class)
+		{
+			return 0L;
+		}
+		if (type == byte.class)
+		{
+			return (byte) 0;
+		}
+		if (type == short.class)
+		{
+			return (short) 0;
+		}
+		return 0;
+	}
+}
@@ -0,0 +1,169 @@
+package com.bettermaps;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.InputStreamReader;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import net.runelite.api.Client;
+import net.runelite.api.Quest;
+import net.runelite.api.coords.WorldPoint;
+import net.runelite.client.ui.overlay.worldmap.WorldMapPointManager;
+
+/**
+ * Measures the class initialisation of each of the plugin's static tables, and each stage of {@code startUp()}, with
+ * every run in a freshly forked JVM so that nothing has been loaded or warmed up beforehand. The warm up is timed on its
+ * own, reading the compiled tables saved by an earlier run, or compiling and saving them on the first. Run with
+ * {@code ./gradlew startupBenchmark}, optionally passing the number of runs as an argument.
+ */
+public class BetterMapsStartupBenchmark
+{
+	private static final int DEFAULT_RUNS = 10;
+	private static final String CHILD_ARGUMENT = "--child";
+	private static final String STAGE_PREFIX = "STAGE ";
+
+	private static final String[] TABLE_CLASSES = {
+		"com.bettermaps.MapIcons",
+		"com.bettermaps.QuestLocationLookup",
+		"com.bettermaps.QuestObjectLookup",
+	};
+
+	public static void main(String[] args) throws Exception
+	{
+		if (args.length > 0 && args[0].equals(CHILD_ARGUMENT))
+		{
+			runStages();
+			return;
+		}
+
+		final int runs = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_RUNS;
+		final Map<String, List<Long>> stageTimes = new LinkedHashMap<>();
+		for (int run = 0; run < runs; run++)
+		{
+			for (Map.Entry<String, Long> stage : forkRun().entrySet())
+			{
+				stageTimes.computeIfAbsent(stage.getKey(), key -> new ArrayList<>()).add(stage.getValue());
+			}
+		}
+
+		System.out.printf("%d runs, each in a fresh JVM%n", runs);
+		System.out.printf("%-40s %10s %10s %10s%n", "Stage", "Min", "Median", "Max");
+		for (Map.Entry<String, List<Long>> stage : stageTimes.entrySet())
+		{
+			final long[] times = stage.getValue().stream().mapToLong(Long::longValue).sorted().toArray();
+			System.out.printf("%-40s %7.3f ms %7.3f ms %7.3f ms%n", stage.getKey(),
+				toMillis(times[0]), toMillis(times[times.length / 2]), toMillis(times[times.length - 1]));
+		}
+	}
+
+	private static Map<String, Long> forkRun() throws Exception
+	{
+		final String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+		final Process process = new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"),
+			BetterMapsStartupBenchmark.class.getName(), CHILD_ARGUMENT)
+			.redirectErrorStream(true)
+			.start();
+
+		final Map<String, Long> stages = new LinkedHashMap<>();
+		try (BufferedReader reader = new BufferedReader(
+			new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8)))
+		{
+			String line;
+			while ((line = reader.readLine()) != null)
+			{
+				if (line.startsWith(STAGE_PREFIX))
+				{
+					final int separator = line.lastIndexOf(' ');
+					stages.put(line.substring(STAGE_PREFIX.length(), separator),
+						Long.parseLong(line.substring(separator + 1)));
+				}
+			}
+		}
+
+		if (process.waitFor() != 0)
+		{
+			throw new IllegalStateException("Benchmark run failed with exit code " + process.exitValue());
+		}
+		return stages;
+	}
+
+	/**
+	 * Runs in the forked JVM, printing one line per stage for the parent to collect.
+	 */
+	private static void runStages() throws Exception
+	{
+		// Initialise the client's own classes up front, so the tables are only charged for their own work
+		WorldPoint.class.getName();
+		Quest.values();
+
+		for (String tableClass : TABLE_CLASSES)
+		{
+			final long start = System.nanoTime();
+			Class.forName(tableClass, true, BetterMapsStartupBenchmark.class.getClassLoader());
+			report("Class init " + tableClass.substring(tableClass.lastIndexOf('.') + 1), start);
+		}
+
+		final IconLocations locations = IconLocations.fromMapIcons();
+		final Client client = BenchmarkFixtures.client(BenchmarkFixtures.regionGrid(locations),
+			BenchmarkFixtures.elementConfigs(), BenchmarkFixtures.scene(0, 10));
+		final BetterMapsConfig config = BenchmarkFixtures.defaultConfig();
+		final BetterMapsPlugin plugin = BenchmarkFixtures.plugin(client, config, new WorldMapPointManager());
+		BenchmarkFixtures.setField(plugin, "clientThread", BenchmarkFixtures.clientThread(client));
+
+		final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+		final LearnedIconLocations learnedIconLocations = new LearnedIconLocations(client, executor);
+		BenchmarkFixtures.setField(plugin, "learnedIconLocations", learnedIconLocations);
+		BenchmarkFixtures.setField(plugin, "executor", executor);
+
+		// Run in the order startUp() runs them, with the core World Map plugin lookup left out of the config check, as
+		// the plugin manager can not be created headless
+		long total = 0;
+		total += runStage(plugin, "updateDerivedConfig", "startUp derived config");
+
+		// Timed until the file has been read on the executor, as that is what the warm up waits for
+		long start = System.nanoTime();
+		learnedIconLocations.load(() -> { });
+		executor.submit(() -> { }).get();
+		total += report("startUp learned locations load", start);
+
+		// Run on the executor rather than the client thread, so it is left out of the client thread total
+		final Method warmUp = BetterMapsPlugin.class.getDeclaredMethod("warmUp", int.class, int.class);
+		warmUp.setAccessible(true);
+		start = System.nanoTime();
+		warmUp.invoke(plugin, client.getRevision(), config.questMatchTolerance());
+		report("startUp warm up (executor)", start);
+
+		total += runStage(plugin, "updateWantedCategories", "startUp config check");
+		total += runStage(plugin, "addTooltipsToWorldMap", "startUp tooltip build");
+		total += runStage(plugin, "updateWorldMapIcons", "startUp icon pass");
+		total += runStage(plugin, "refreshSceneGroundObjects", "startUp scene refresh");
+		System.out.println(STAGE_PREFIX + "startUp client thread total " + total);
+		executor.shutdown();
+	}
+
+	private static long runStage(BetterMapsPlugin plugin, String methodName, String stage) throws Exception
+	{
+		final Method method = BenchmarkFixtures.method(BetterMapsPlugin.class, methodName);
+		final long start = System.nanoTime();
+		method.invoke(plugin);
+		return report(stage, start);
+	}
+
+	private static long report(String stage, long start)
+	{
+		final long elapsed = System.nanoTime() - start;
+		System.out.println(STAGE_PREFIX + stage + " " + elapsed);
+		return elapsed;
+	}
+
+	private static double toMillis(long nanos)
+	{
+		return nanos / 1_000_000.0;
+	}
+}
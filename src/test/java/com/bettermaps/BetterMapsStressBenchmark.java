@@ -0,0 +1,102 @@
+package com.bettermaps;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import net.runelite.api.Client;
+import net.runelite.api.worldmap.MapElementConfig;
+import net.runelite.api.worldmap.WorldMapRegion;
+import net.runelite.client.ui.overlay.worldmap.WorldMapPointManager;
+
+/**
+ * Multiplies the {@link MapIcons} locations and the world map region grid with synthetic copies, then measures how the
+ * icon pass, the tooltip rebuild and the memory footprint scale. Exits with a failure status if either pass takes
+ * longer than a frame at any scale. Run with {@code ./gradlew stressBenchmark}, optionally passing the frame budget
+ * in milliseconds and the multipliers to run as arguments.
+ */
+public class BetterMapsStressBenchmark
+{
+	private static final double DEFAULT_FRAME_BUDGET_MS = 20; // the client's 50 fps frame
+	private static final int[] DEFAULT_MULTIPLIERS = {1, 10, 100};
+	private static final int WARMUP_ITERATIONS = 50;
+	private static final int SAMPLE_ITERATIONS = 50;
+
+	public static void main(String[] args) throws Exception
+	{
+		final double frameBudgetMs = args.length > 0 ? Double.parseDouble(args[0]) : DEFAULT_FRAME_BUDGET_MS;
+		final int[] multipliers = args.length > 1
+			? Arrays.stream(args).skip(1).mapToInt(Integer::parseInt).toArray()
+			: DEFAULT_MULTIPLIERS;
+
+		final IconLocations baseLocations = IconLocations.fromMapIcons();
+		final MapElementConfig[] elementConfigs = BenchmarkFixtures.elementConfigs();
+		final Method updateWorldMapIcons = BenchmarkFixtures.method(BetterMapsPlugin.class, "updateWorldMapIcons");
+		final Method addTooltipsToWorldMap = BenchmarkFixtures.method(BetterMapsPlugin.class, "addTooltipsToWorldMap");
+
+		System.out.printf("Frame budget: %.1f ms%n", frameBudgetMs);
+		System.out.printf("%-6s %8s %8s %14s %14s %14s %14s %12s%n", "Scale", "Icons", "Regions",
+			"Icon pass p50", "Icon pass max", "Tooltips p50", "Tooltips max", "Tooltip heap");
+
+		boolean withinBudget = true;
+		for (int multiplier : multipliers)
+		{
+			final IconLocations locations = BenchmarkFixtures.scale(baseLocations, multiplier);
+			final WorldMapRegion[][] regions = BenchmarkFixtures.regionGrid(locations);
+			final int regionCount = Arrays.stream(regions).mapToInt(row -> row.length).sum();
+
+			final Client client = BenchmarkFixtures.client(regions, elementConfigs, null);
+			final BetterMapsPlugin plugin = BenchmarkFixtures.plugin(client, BenchmarkFixtures.defaultConfig(),
+				new WorldMapPointManager());
+			BenchmarkFixtures.setField(plugin, "iconLocations", locations);
+
+			final long[] iconPass = measure(plugin, updateWorldMapIcons, WARMUP_ITERATIONS, SAMPLE_ITERATIONS);
+
+			// The rebuild grows much faster than the icon pass, so sample the larger scales less often
+			final int tooltipIterations = Math.max(1, SAMPLE_ITERATIONS / multiplier);
+			final long[] tooltips = measure(plugin, addTooltipsToWorldMap, tooltipIterations, tooltipIterations);
+
+			// Measure what the registered tooltip points retain, from an empty point manager
+			BenchmarkFixtures.setField(plugin, "worldMapPointManager", new WorldMapPointManager());
+			final long heapBefore = BenchmarkFixtures.usedHeap();
+			addTooltipsToWorldMap.invoke(plugin);
+			final long tooltipHeap = Math.max(0, BenchmarkFixtures.usedHeap() - heapBefore);
+
+			final boolean passWithinBudget = toMillis(iconPass[0]) <= frameBudgetMs
+				&& toMillis(tooltips[0]) <= frameBudgetMs;
+			withinBudget &= passWithinBudget;
+
+			System.out.printf("%-6s %8d %8d %11.3f ms %11.3f ms %11.3f ms %11.3f ms %9.2f MB%s%n",
+				multiplier + "x", locations.size(), regionCount,
+				toMillis(iconPass[0]), toMillis(iconPass[1]), toMillis(tooltips[0]), toMillis(tooltips[1]),
+				tooltipHeap / (1024.0 * 1024.0), passWithinBudget ? "" : "  OVER BUDGET");
+		}
+
+		System.exit(withinBudget ? 0 : 1);
+	}
+
+	/**
+	 * @return the median and maximum time taken, in nanoseconds
+	 */
+	private static long[] measure(Object target, Method method, int warmup, int samples) throws Exception
+	{
+		for (int i = 0; i < warmup; i++)
+		{
+			method.invoke(target);
+		}
+
+		final long[] times = new long[samples];
+		for (int i = 0; i < samples; i++)
+		{
+			final long start = System.nanoTime();
+			method.invoke(target);
+			times[i] = System.nanoTime() - start;
+		}
+
+		Arrays.sort(times);
+		return new long[]{times[samples / 2], times[samples - 1]};
+	}
+
+	private static double toMillis(long nanos)
+	{
+		return nanos / 1_000_000.0;
+	}
+}
@@ -0,0 +1,566 @@
+package com.bettermaps;
+
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintWriter;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Properties;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import javax.imageio.ImageIO;
+import net.runelite.api.coords.WorldPoint;
+
+/**
+ * Renders the icon layer to PNG images without the client, for wikis and route planning: the {@link MapIcons}
+ * locations of the icon types enabled in the config, less those hidden by its area rules and hidden icons, each drawn
+ * with the sprite the plugin saved when it last saw the icon type on the world map. The map is split into square tiles
+ * which are rendered in parallel on a fork/join pool, and each is written to disk as soon as it is finished, so the
+ * whole image is never held in memory. Run with {@code ./gradlew exportIconTiles --args="..."}, with the options:
+ * <ul>
+ * <li>{@code --output <directory>}: where to write the images, by default {@code build/icon-tiles}</li>
+ * <li>{@code --config <file>}: a RuneLite profile or settings file to read the plugin's config from, by default the
+ * plugin's default config</li>
+ * <li>{@code --sprites <directory>}: the icon sprites saved by the plugin, by default those under the RuneLite
+ * directory</li>
+ * <li>{@code --plane <plane>}: the plane to render, by default 0</li>
+ * <li>{@code --area <x1>,<y1>,<x2>,<y2>}: only render the icons between the corners, by default the whole map</li>
+ * <li>{@code --scale <pixels>}: the pixels per game tile, by default 4</li>
+ * <li>{@code --tile-size <pixels>}: the width and height of each image tile, by default 256</li>
+ * <li>{@code --single}: write one large image, a row of tiles at a time, rather than a file per tile</li>
+ * </ul>
+ * Tiles are named {@code <column>_<row>.png} from the north west corner, and tiles without any icons are not written.
+ * An icon type the plugin has not saved a sprite for yet is drawn as a coloured marker instead, with the colours listed
+ * in {@code legend.txt}.
+ */
+public class BetterMapsTileExporter
+{
+	private static final int MARKER_SIZE = 9;
+	// Empty space around the icons, in game tiles
+	private static final int MARGIN_TILES = 16;
+
+	private final int[] packedPoints;
+	private final BufferedImage[] images;
+	private final int scale;
+	private final int tileSize;
+	// The furthest any icon's image reaches from its centre, in pixels
+	private final int reach;
+	private final int minX;
+	private final int maxY;
+	private final int width;
+	private final int height;
+	private final int columns;
+	private final int rows;
+	// The icons overlapping each tile, with those of tile t from tileStarts[t] up to tileStarts[t + 1]
+	private final int[] tileStarts;
+	private final int[] tileIcons;
+
+	private BetterMapsTileExporter(int[] packedPoints, BufferedImage[] images, int scale, int tileSize)
+	{
+		this.packedPoints = packedPoints;
+		this.images = images;
+		this.scale = scale;
+		this.tileSize = tileSize;
+
+		int lowX = Integer.MAX_VALUE, lowY = Integer.MAX_VALUE, highX = 0, highY = 0, largest = 0;
+		for (int icon = 0; icon < packedPoints.length; icon++)
+		{
+			lowX = Math.min(lowX, PackedWorldPoint.getX(packedPoints[icon]));
+			lowY = Math.min(lowY, PackedWorldPoint.getY(packedPoints[icon]));
+			highX = Math.max(highX, PackedWorldPoint.getX(packedPoints[icon]));
+			highY = Math.max(highY, PackedWorldPoint.getY(packedPoints[icon]));
+			largest = Math.max(largest, Math.max(images[icon].getWidth(), images[icon].getHeight()));
+		}
+		reach = largest / 2 + 1;
+		minX = Math.max(0, lowX - MARGIN_TILES);
+		maxY = highY + MARGIN_TILES;
+		width = (highX + MARGIN_TILES - minX + 1) * scale;
+		height = (maxY - Math.max(0, lowY - MARGIN_TILES) + 1) * scale;
+		columns = (width + tileSize - 1) / tileSize;
+		rows = (height + tileSize - 1) / tileSize;
+
+		// Each icon is added to every tile its image overlaps, counting them first so they fit in flat arrays
+		tileStarts = new int[columns * rows + 1];
+		addToTiles(null);
+		for (int tile = 0; tile < columns * rows; tile++)
+		{
+			tileStarts[tile + 1] += tileStarts[tile];
+		}
+		tileIcons = new int[tileStarts[columns * rows]];
+		addToTiles(new int[columns * rows]);
+	}
+
+	/**
+	 * Counts the icons overlapping each tile into the following tile's start, or with the number already filled in for
+	 * each tile, fills in the icons.
+	 */
+	private void addToTiles(int[] filled)
+	{
+		for (int icon = 0; icon < packedPoints.length; icon++)
+		{
+			final int centreX = getPixelX(packedPoints[icon]), centreY = getPixelY(packedPoints[icon]);
+			final int fromColumn = Math.max(0, (centreX - reach) / tileSize);
+			final int toColumn = Math.min(columns - 1, (centreX + reach) / tileSize);
+			final int fromRow = Math.max(0, (centreY - reach) / tileSize);
+			final int toRow = Math.min(rows - 1, (centreY + reach) / tileSize);
+			for (int row = fromRow; row <= toRow; row++)
+			{
+				for (int column = fromColumn; column <= toColumn; column++)
+				{
+					final int tile = row * columns + column;
+					if (filled == null)
+					{
+						tileStarts[tile + 1]++;
+					}
+					else
+					{
+						tileIcons[tileStarts[tile] + filled[tile]++] = icon;
+					}
+				}
+			}
+		}
+	}
+
+	public static void main(String[] args) throws Exception
+	{
+		File output = new File("build/icon-tiles");
+		final Properties settings = new Properties();
+		File spriteDirectory = IconSprites.DIRECTORY;
+		int plane = 0;
+		int[] area = null;
+		int scale = 4;
+		int tileSize = 256;
+		boolean single = false;
+		for (int i = 0; i < args.length; i++)
+		{
+			switch (args[i])
+			{
+				case "--output":
+					output = new File(args[++i]);
+					break;
+				case "--config":
+					try (Reader reader = Files.newBufferedReader(new File(args[++i]).toPath(), StandardCharsets.UTF_8))
+					{
+						settings.load(reader);
+					}
+					break;
+				case "--sprites":
+					spriteDirectory = new File(args[++i]);
+					break;
+				case "--plane":
+					plane = Integer.parseInt(args[++i]);
+					break;
+				case "--area":
+					area = Arrays.stream(args[++i].split(",")).mapToInt(corner -> Integer.parseInt(corner.trim())).toArray();
+					if (area.length != 4)
+					{
+						throw new IllegalArgumentException("The area needs two corners: " + args[i]);
+					}
+					break;
+				case "--scale":
+					scale = Integer.parseInt(args[++i]);
+					break;
+				case "--tile-size":
+					tileSize = Integer.parseInt(args[++i]);
+					break;
+				case "--single":
+					single = true;
+					break;
+				default:
+					throw new IllegalArgumentException("Unknown option: " + args[i]);
+			}
+		}
+
+		final BetterMapsConfig config = BenchmarkFixtures.config(settings);
+		final BitSet enabledCategories = getEnabledCategories(config);
+		final AreaRules rules = new AreaRules();
+		rules.update(config.areaHideRules());
+		final HiddenIcons hidden = new HiddenIcons();
+		hidden.update(config.hiddenIcons());
+		final BufferedImage[] iconImages = loadIconImages(spriteDirectory);
+
+		final IconLocations locations = IconLocations.fromMapIcons();
+		final int[] planeIndices = locations.getPlaneIndices(plane);
+		final int[] packedPoints = new int[planeIndices.length];
+		final BufferedImage[] images = new BufferedImage[planeIndices.length];
+		final BitSet included = new BitSet();
+		int count = 0;
+		for (int index : planeIndices)
+		{
+			final MapIcons icon = locations.getIcon(index);
+			final WorldPoint point = locations.getPoint(index);
+			if (enabledCategories.get(icon.getCategory()) && isWithin(area, point)
+				&& !rules.isHidden(icon.getCategory(), point) && (hidden.isEmpty() || !hidden.isHidden(point)))
+			{
+				packedPoints[count] = PackedWorldPoint.pack(point);
+				images[count] = iconImages[icon.ordinal()];
+				included.set(icon.ordinal());
+				count++;
+			}
+		}
+		if (count == 0)
+		{
+			System.out.println("No icons to export on plane " + plane);
+			return;
+		}
+
+		if (!output.isDirectory() && !output.mkdirs())
+		{
+			throw new IOException("Could not create " + output);
+		}
+		writeLegend(new File(output, "legend.txt"), included, spriteDirectory);
+
+		final BetterMapsTileExporter exporter = new BetterMapsTileExporter(Arrays.copyOf(packedPoints, count),
+			Arrays.copyOf(images, count), scale, tileSize);
+		final long start = System.nanoTime();
+		final ForkJoinPool pool = ForkJoinPool.commonPool();
+		final String written;
+		if (single)
+		{
+			final File file = new File(output, "icons-plane" + plane + ".png");
+			exporter.writeSingleImage(pool, file);
+			written = file.getPath();
+		}
+		else
+		{
+			written = exporter.writeTiles(pool, output) + " tiles to " + output.getPath();
+		}
+
+		System.out.printf("Exported %d icons in %d x %d pixels, from %d,%d, in %.1f s: %s%n", count, exporter.width,
+			exporter.height, exporter.minX, exporter.maxY, (System.nanoTime() - start) / 1e9, written);
+	}
+
+	/**
+	 * Renders and writes each tile with an icon as its own file, on the pool.
+	 *
+	 * @return the number of tiles written
+	 */
+	private int writeTiles(ForkJoinPool pool, File directory)
+	{
+		final AtomicInteger written = new AtomicInteger();
+		pool.invoke(new RenderTiles(0, columns * rows, tile ->
+		{
+			if (tileStarts[tile] == tileStarts[tile + 1])
+			{
+				return;
+			}
+
+			final BufferedImage image = renderTile(tile);
+			try
+			{
+				ImageIO.write(image, "png", new File(directory, (tile % columns) + "_" + (tile / columns) + ".png"));
+			}
+			catch (IOException e)
+			{
+				throw new IllegalStateException("Could not write tile " + tile, e);
+			}
+			written.incrementAndGet();
+		}));
+		return written.get();
+	}
+
+	/**
+	 * Renders a row of tiles at a time on the pool, and streams the row's pixels into a single image, so that only one
+	 * row of tiles is held in memory.
+	 */
+	private void writeSingleImage(ForkJoinPool pool, File file) throws IOException
+	{
+		try (StreamingPngWriter writer = new StreamingPngWriter(file, width, height))
+		{
+			final BufferedImage[] rowImages = new BufferedImage[columns];
+			final int[] pixels = new int[width];
+			for (int row = 0; row < rows; row++)
+			{
+				final int firstTile = row * columns;
+				pool.invoke(new RenderTiles(firstTile, firstTile + columns, tile ->
+					rowImages[tile - firstTile] = renderTile(tile)));
+
+				final int rowHeight = Math.min(tileSize, height - row * tileSize);
+				for (int y = 0; y < rowHeight; y++)
+				{
+					for (int column = 0; column < columns; column++)
+					{
+						final int tileWidth = Math.min(tileSize, width - column * tileSize);
+						rowImages[column].getRGB(0, y, tileWidth, 1, pixels, column * tileSize, tileWidth);
+					}
+					writer.writeRow(pixels);
+				}
+			}
+		}
+	}
+
+	private BufferedImage renderTile(int tile)
+	{
+		final int originX = (tile % columns) * tileSize, originY = (tile / columns) * tileSize;
+		final BufferedImage image = new BufferedImage(tileSize, tileSize, BufferedImage.TYPE_INT_ARGB);
+		final Graphics2D graphics = image.createGraphics();
+		for (int i = tileStarts[tile]; i < tileStarts[tile + 1]; i++)
+		{
+			final int icon = tileIcons[i];
+			final BufferedImage iconImage = images[icon];
+			graphics.drawImage(iconImage, getPixelX(packedPoints[icon]) - originX - iconImage.getWidth() / 2,
+				getPixelY(packedPoints[icon]) - originY - iconImage.getHeight() / 2, null);
+		}
+		graphics.dispose();
+		return image;
+	}
+
+	private int getPixelX(int packedPoint)
+	{
+		return (PackedWorldPoint.getX(packedPoint) - minX) * scale + scale / 2;
+	}
+
+	/**
+	 * @return the pixel row of the location, with north at the top
+	 */
+	private int getPixelY(int packedPoint)
+	{
+		return (maxY - PackedWorldPoint.getY(packedPoint)) * scale + scale / 2;
+	}
+
+	/**
+	 * @return the map element categories the plugin shows for the config, worked out by the plugin itself
+	 */
+	private static BitSet getEnabledCategories(BetterMapsConfig config) throws ReflectiveOperationException
+	{
+		final BetterMapsPlugin plugin = new BetterMapsPlugin();
+		BenchmarkFixtures.setField(plugin, "config", config);
+		BenchmarkFixtures.method(BetterMapsPlugin.class, "updateWantedCategories").invoke(plugin);
+		return (BitSet) BenchmarkFixtures.getField(plugin, "wantedCategories");
+	}
+
+	/**
+	 * @return the image of each icon type by ordinal, being its saved sprite, or a coloured marker if there is none
+	 */
+	private static BufferedImage[] loadIconImages(File spriteDirectory) throws IOException
+	{
+		final MapIcons[] icons = MapIcons.values();
+		final BufferedImage[] iconImages = new BufferedImage[icons.length];
+		for (MapIcons icon : icons)
+		{
+			final File file = IconSprites.file(spriteDirectory, icon);
+			iconImages[icon.ordinal()] = file.exists() ? ImageIO.read(file) : createMarker(getColour(icon));
+		}
+		return iconImages;
+	}
+
+	private static BufferedImage createMarker(Color colour)
+	{
+		final BufferedImage marker = new BufferedImage(MARKER_SIZE + 2, MARKER_SIZE + 2, BufferedImage.TYPE_INT_ARGB);
+		final Graphics2D graphics = marker.createGraphics();
+		graphics.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+		graphics.setStroke(new BasicStroke(1.5f));
+		graphics.setColor(colour);
+		graphics.fillOval(1, 1, MARKER_SIZE, MARKER_SIZE);
+		graphics.setColor(Color.BLACK);
+		graphics.drawOval(1, 1, MARKER_SIZE, MARKER_SIZE);
+		graphics.dispose();
+		return marker;
+	}
+
+	private static boolean isWithin(int[] area, WorldPoint point)
+	{
+		return area == null
+			|| (point.getX() >= Math.min(area[0], area[2]) && point.getX() <= Math.max(area[0], area[2])
+			&& point.getY() >= Math.min(area[1], area[3]) && point.getY() <= Math.max(area[1], area[3]));
+	}
+
+	/**
+	 * @return a colour for the icon type, spread around the colour wheel so that neighbouring types differ
+	 */
+	private static Color getColour(MapIcons icon)
+	{
+		return Color.getHSBColor((icon.ordinal() * 0.618034f) % 1, 0.75f, 0.95f);
+	}
+
+	/**
+	 * Lists the marker colour of each exported icon type without a saved sprite.
+	 */
+	private static void writeLegend(File file, BitSet included, File spriteDirectory) throws IOException
+	{
+		try (PrintWriter writer = new PrintWriter(file, StandardCharsets.UTF_8))
+		{
+			for (MapIcons icon : MapIcons.values())
+			{
+				if (included.get(icon.ordinal()) && !IconSprites.file(spriteDirectory, icon).exists())
+				{
+					writer.printf("#%06x %s%n", getColour(icon).getRGB() & 0xFFFFFF, icon.getDefaultTooltip());
+				}
+			}
+		}
+	}
+
+	private interface TileRenderer
+	{
+		void render(int tile);
+	}
+
+	/**
+	 * Renders a range of tiles, splitting it in half until each task has a single tile.
+	 */
+	private static final class RenderTiles extends RecursiveAction
+	{
+		private final int from;
+		private final int to;
+		private final TileRenderer renderer;
+
+		private RenderTiles(int from, int to, TileRenderer renderer)
+		{
+			this.from = from;
+			this.to = to;
+			this.renderer = renderer;
+		}
+
+		@Override
+		protected void compute()
+		{
+			if (to - from == 1)
+			{
+				renderer.render(from);
+				return;
+			}
+
+			final int middle = (from + to) >>> 1;
+			invokeAll(new RenderTiles(from, middle, renderer), new RenderTiles(middle, to, renderer));
+		}
+	}
+
+	/**
+	 * Writes an RGBA PNG a row of pixels at a time, compressing each row as it arrives, so that the image is never held
+	 * in memory. ImageIO needs the whole image before it can write anything.
+	 */
+	private static final class StreamingPngWriter implements AutoCloseable
+	{
+		private static final byte[] SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+		private static final int COLOUR_TYPE_RGBA = 6;
+		private static final int CHUNK_SIZE = 1 << 16;
+
+		private final DataOutputStream file;
+		private final DeflaterOutputStream compressed;
+		private final byte[] rowBytes;
+
+		private StreamingPngWriter(File path, int width, int height) throws IOException
+		{
+			file = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(path)));
+			file.write(SIGNATURE);
+			final byte[] header = new byte[13];
+			writeInt(header, 0, width);
+			writeInt(header, 4, height);
+			header[8] = 8;
+			header[9] = COLOUR_TYPE_RGBA;
+			writeChunk("IHDR", header, header.length);
+
+			compressed = new DeflaterOutputStream(new ChunkOutputStream(), new Deflater(Deflater.BEST_SPEED), CHUNK_SIZE);
+			// A leading filter type byte per row, left as no filtering
+			rowBytes = new byte[1 + width * 4];
+		}
+
+		private void writeRow(int[] argb) throws IOException
+		{
+			for (int x = 0, i = 1; x < argb.length; x++)
+			{
+				rowBytes[i++] = (byte) (argb[x] >> 16);
+				rowBytes[i++] = (byte) (argb[x] >> 8);
+				rowBytes[i++] = (byte) argb[x];
+				rowBytes[i++] = (byte) (argb[x] >>> 24);
+			}
+			compressed.write(rowBytes);
+		}
+
+		@Override
+		public void close() throws IOException
+		{
+			compressed.close();
+			writeChunk("IEND", new byte[0], 0);
+			file.close();
+		}
+
+		private void writeChunk(String type, byte[] data, int length) throws IOException
+		{
+			final byte[] typeBytes = type.getBytes(StandardCharsets.US_ASCII);
+			final CRC32 crc = new CRC32();
+			crc.update(typeBytes);
+			crc.update(data, 0, length);
+			file.writeInt(length);
+			file.write(typeBytes);
+			file.write(data, 0, length);
+			file.writeInt((int) crc.getValue());
+		}
+
+		private static void writeInt(byte[] bytes, int offset, int value)
+		{
+			bytes[offset] = (byte) (value >>> 24);
+			bytes[offset + 1] = (byte) (value >>> 16);
+			bytes[offset + 2] = (byte) (value >>> 8);
+			bytes[offset + 3] = (byte) value;
+		}
+
+		/**
+		 * Collects the compressed data into IDAT chunks.
+		 */
+		private final class ChunkOutputStream extends OutputStream
+		{
+			private final byte[] buffer = new byte[CHUNK_SIZE];
+			private int length;
+
+			@Override
+			public void write(int b) throws IOException
+			{
+				if (length == buffer.length)
+				{
+					flush();
+				}
+				buffer[length++] = (byte) b;
+			}
+
+			@Override
+			public void write(byte[] bytes, int offset, int count) throws IOException
+			{
+				while (count > 0)
+				{
+					if (length == buffer.length)
+					{
+						flush();
+					}
+					final int copied = Math.min(count, buffer.length - length);
+					System.arraycopy(bytes, offset, buffer, length, copied);
+					length += copied;
+					offset += copied;
+					count -= copied;
+				}
+			}
+
+			@Override
+			public void flush() throws IOException
+			{
+				if (length > 0)
+				{
+					writeChunk("IDAT", buffer, length);
+					length = 0;
+				}
+			}
+
+			@Override
+			public void close() throws IOException
+			{
+				flush();
+			}
+		}
+	}
+}
@@ -0,0 +1,86 @@
+package com.bettermaps;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.util.Arrays;
+import javax.imageio.ImageIO;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Exports a small area of the map both as tiles and as a single image, and compares the single image, read back with
+ * ImageIO, against the tiles written by ImageIO, so that the streaming PNG writer and the row by row assembly are
+ * checked pixel for pixel.
+ */
+public class BetterMapsTileExporterTest
+{
+	private static final int TILE_SIZE = 64;
+	private static final int SPRITE_COLOUR = 0xFFFF0000;
+
+	@Rule
+	public final TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void singleImageMatchesTheTiles() throws Exception
+	{
+		// A bank sprite, so that the saved sprites are drawn alongside the markers of the icon types without one
+		final File sprites = folder.newFolder("sprites");
+		final BufferedImage sprite = new BufferedImage(7, 5, BufferedImage.TYPE_INT_ARGB);
+		for (int x = 1; x < sprite.getWidth() - 1; x++)
+		{
+			for (int y = 1; y < sprite.getHeight() - 1; y++)
+			{
+				sprite.setRGB(x, y, SPRITE_COLOUR);
+			}
+		}
+		ImageIO.write(sprite, "png", IconSprites.file(sprites, MapIcons.BANK));
+
+		final File tiles = folder.newFolder("tiles");
+		final File single = folder.newFolder("single");
+		export(tiles, sprites, false);
+		export(single, sprites, true);
+
+		final BufferedImage image = ImageIO.read(new File(single, "icons-plane0.png"));
+		int tilesCompared = 0;
+		boolean spriteDrawn = false;
+		for (int row = 0; row * TILE_SIZE < image.getHeight(); row++)
+		{
+			for (int column = 0; column * TILE_SIZE < image.getWidth(); column++)
+			{
+				// Tiles without any icons are not written, so are compared as empty
+				final File tileFile = new File(tiles, column + "_" + row + ".png");
+				final BufferedImage tile = tileFile.exists() ? ImageIO.read(tileFile) : null;
+				for (int y = 0; y < TILE_SIZE && row * TILE_SIZE + y < image.getHeight(); y++)
+				{
+					for (int x = 0; x < TILE_SIZE && column * TILE_SIZE + x < image.getWidth(); x++)
+					{
+						final int actual = image.getRGB(column * TILE_SIZE + x, row * TILE_SIZE + y);
+						assertEquals("tile " + column + "_" + row + " at " + x + "," + y,
+							tile == null ? 0 : tile.getRGB(x, y), actual);
+						spriteDrawn |= actual == SPRITE_COLOUR;
+					}
+				}
+				tilesCompared += tile == null ? 0 : 1;
+			}
+		}
+		assertTrue("too few tiles were written", tilesCompared > 1);
+		assertTrue("the bank sprite was not drawn", spriteDrawn);
+	}
+
+	private static void export(File output, File sprites, boolean single) throws Exception
+	{
+		final String[] args = {"--output", output.getPath(), "--sprites", sprites.getPath(), "--area", "3150,3150,3300,3450",
+			"--scale", "2", "--tile-size", String.valueOf(TILE_SIZE)};
+		BetterMapsTileExporter.main(single ? append(args, "--single") : args);
+	}
+
+	private static String[] append(String[] args, String arg)
+	{
+		final String[] appended = Arrays.copyOf(args, args.length + 1);
+		appended[args.length] = arg;
+		return appended;
+	}
+}
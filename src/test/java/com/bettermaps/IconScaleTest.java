@@ -0,0 +1,47 @@
+package com.bettermaps;
+
+import java.lang.reflect.Method;
+import net.runelite.api.Client;
+import net.runelite.api.worldmap.WorldMapRegion;
+import net.runelite.client.ui.overlay.worldmap.WorldMapPointManager;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+/**
+ * Checks that the tooltip rebuild scales linearly with the {@link MapIcons} locations multiplied by synthetic copies,
+ * adding one point for each copy of each location and replacing rather than adding to the points of the last rebuild.
+ * Timing against the frame budget is left to {@link BetterMapsStressBenchmark}, as it depends on the machine.
+ */
+public class IconScaleTest
+{
+	private static final int MULTIPLIER = 10;
+
+	@Test
+	public void tooltipPointsScaleWithTheIcons() throws Exception
+	{
+		final int basePoints = tooltipPoints(1);
+		assertTrue("no tooltip points were added", basePoints > 0);
+		assertEquals(MULTIPLIER * basePoints, tooltipPoints(MULTIPLIER));
+	}
+
+	/**
+	 * @return the tooltip points after rebuilding twice, checking that the second rebuild removed the first's points
+	 */
+	private static int tooltipPoints(int multiplier) throws Exception
+	{
+		final IconLocations locations = BenchmarkFixtures.scale(IconLocations.fromMapIcons(), multiplier);
+		final WorldMapRegion[][] regions = BenchmarkFixtures.regionGrid(locations);
+		final Client client = BenchmarkFixtures.client(regions, BenchmarkFixtures.elementConfigs(), null);
+		final BetterMapsPlugin plugin = BenchmarkFixtures.plugin(client, BenchmarkFixtures.defaultConfig(),
+			new WorldMapPointManager());
+		BenchmarkFixtures.setField(plugin, "iconLocations", locations);
+
+		final Method addTooltipsToWorldMap = BenchmarkFixtures.method(BetterMapsPlugin.class, "addTooltipsToWorldMap");
+		addTooltipsToWorldMap.invoke(plugin);
+		final int points = (int) BenchmarkFixtures.getField(plugin, "tooltipPointCount");
+		addTooltipsToWorldMap.invoke(plugin);
+		assertEquals(multiplier + "x rebuilt points", points, (int) BenchmarkFixtures.getField(plugin, "tooltipPointCount"));
+		return points;
+	}
+}
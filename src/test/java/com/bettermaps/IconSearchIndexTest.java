@@ -0,0 +1,130 @@
+package com.bettermaps;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Compares {@link IconSearchIndex} searches against checking every entry's name, for prefixes of the words in the
+ * names, for several words in either order, and for queries written with other case and punctuation.
+ */
+public class IconSearchIndexTest
+{
+	private static final String WORD_SEPARATORS = "[\\s\\-/]+";
+	private static final int FEW_RESULTS = 5;
+
+	private static IconSearchIndex index;
+	private static Set<String> queries;
+
+	@BeforeClass
+	public static void buildIndex()
+	{
+		index = IconSearchIndex.build();
+		queries = new LinkedHashSet<>();
+		for (int entry = 0; entry < index.size(); entry++)
+		{
+			final String[] words = index.getName(entry).split(WORD_SEPARATORS);
+			for (String word : words)
+			{
+				for (int length = 1; length <= word.length(); length++)
+				{
+					queries.add(word.substring(0, length));
+				}
+			}
+			if (words.length > 1)
+			{
+				final String first = words[0].substring(0, Math.min(3, words[0].length()));
+				final String last = words[words.length - 1].substring(0, Math.min(2, words[words.length - 1].length()));
+				queries.add(first + " " + last);
+				queries.add(last + " " + first);
+				queries.add(index.getName(entry).toUpperCase(Locale.ROOT));
+				queries.add(String.join("-", words));
+			}
+		}
+		queries.add("");
+		queries.add("  ");
+		queries.add("zzzz");
+		queries.add("bank zzzz");
+		queries.add("cook's ass");
+	}
+
+	@Test
+	public void prefixQueriesMatchBruteForce()
+	{
+		for (String query : queries)
+		{
+			if (!query.trim().contains(" "))
+			{
+				assertMatchesBruteForce(query);
+			}
+		}
+	}
+
+	@Test
+	public void multiWordQueriesMatchBruteForce()
+	{
+		int multiWordQueries = 0;
+		for (String query : queries)
+		{
+			if (query.trim().contains(" "))
+			{
+				assertMatchesBruteForce(query);
+				multiWordQueries++;
+			}
+		}
+		assertTrue("no multi word queries", multiWordQueries > 0);
+	}
+
+	private static void assertMatchesBruteForce(String query)
+	{
+		final int[] expected = bruteForceSearch(query);
+		final int[] results = new int[index.size()];
+		final int found = index.search(query, results);
+		assertArrayEquals("'" + query + "'", expected, Arrays.copyOf(results, found));
+
+		// A short results array is filled with the first matches in name order
+		final int[] fewResults = new int[FEW_RESULTS];
+		final int fewFound = index.search(query, fewResults);
+		assertArrayEquals("'" + query + "' limited", Arrays.copyOf(expected, Math.min(FEW_RESULTS, expected.length)),
+			Arrays.copyOf(fewResults, fewFound));
+	}
+
+	/**
+	 * @return every entry with a word starting with each word of the query, in entry order, or none for a blank query
+	 */
+	private static int[] bruteForceSearch(String query)
+	{
+		final String[] prefixes = Arrays.stream(query.split(WORD_SEPARATORS))
+			.map(ConfigNames::normalise)
+			.filter(prefix -> !prefix.isEmpty())
+			.toArray(String[]::new);
+		if (prefixes.length == 0)
+		{
+			return new int[0];
+		}
+
+		int[] matches = new int[index.size()];
+		int count = 0;
+		for (int entry = 0; entry < index.size(); entry++)
+		{
+			final String[] words = Arrays.stream(index.getName(entry).split(WORD_SEPARATORS))
+				.map(ConfigNames::normalise)
+				.toArray(String[]::new);
+			boolean matched = true;
+			for (String prefix : prefixes)
+			{
+				matched &= Arrays.stream(words).anyMatch(word -> word.startsWith(prefix));
+			}
+			if (matched)
+			{
+				matches[count++] = entry;
+			}
+		}
+		return Arrays.copyOf(matches, count);
+	}
+}
@@ -0,0 +1,132 @@
+package com.bettermaps;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.function.IntPredicate;
+import net.runelite.api.coords.WorldPoint;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+/**
+ * Compares the {@link NearestIcons} index against measuring the distance to every location, from the icon locations
+ * themselves, from the tiles either side of region borders near them, where the search moves on to the next ring of
+ * regions, and from random tiles on every plane, with icons on another plane counting as further away.
+ */
+public class NearestIconsTest
+{
+	private static final int REGION_SIZE = 64;
+	private static final int RANDOM_QUERIES = 2_000;
+	private static final int PLANES = 4;
+	private static final int[] RESULT_COUNTS = {1, 3, 10};
+	private static final MapIcons[] CATEGORIES = {MapIcons.BANK, MapIcons.ALTAR, MapIcons.QUEST_START, MapIcons.ANVIL};
+
+	private final IconLocations locations = BenchmarkFixtures.scale(IconLocations.fromMapIcons(), 2);
+	private final NearestIcons nearestIcons = new NearestIcons();
+
+	@Test
+	public void everyLocationMatchesBruteForce()
+	{
+		nearestIcons.build(locations);
+		assertQueriesMatchBruteForce(index -> true);
+	}
+
+	@Test
+	public void filteredLocationsMatchBruteForce()
+	{
+		nearestIcons.build(locations);
+		assertQueriesMatchBruteForce(index -> index % 3 != 0);
+	}
+
+	private void assertQueriesMatchBruteForce(IntPredicate filter)
+	{
+		final Random random = new Random(45);
+		for (MapIcons icon : CATEGORIES)
+		{
+			for (int index = 0; index < locations.size(); index++)
+			{
+				if (locations.getIcon(index) != icon)
+				{
+					continue;
+				}
+
+				// The location itself, and the tiles either side of the region borders a few regions away from it
+				final WorldPoint point = locations.getPoint(index);
+				final int plane = point.getPlane();
+				assertQueryMatchesBruteForce(icon, point.getX(), point.getY(), plane, filter);
+				for (int offset = -2; offset <= 2; offset++)
+				{
+					final int borderX = (point.getX() / REGION_SIZE + offset) * REGION_SIZE;
+					final int borderY = (point.getY() / REGION_SIZE + offset) * REGION_SIZE;
+					assertQueryMatchesBruteForce(icon, borderX, point.getY(), plane, filter);
+					assertQueryMatchesBruteForce(icon, borderX - 1, point.getY(), plane, filter);
+					assertQueryMatchesBruteForce(icon, point.getX(), borderY, plane, filter);
+					assertQueryMatchesBruteForce(icon, point.getX(), borderY - 1, plane, filter);
+					assertQueryMatchesBruteForce(icon, borderX - 1, borderY - 1, plane, filter);
+				}
+			}
+
+			for (int query = 0; query < RANDOM_QUERIES; query++)
+			{
+				final WorldPoint point = locations.getPoint(random.nextInt(locations.size()));
+				assertQueryMatchesBruteForce(icon, point.getX() + random.nextInt(801) - 400,
+					point.getY() + random.nextInt(801) - 400, random.nextInt(PLANES), filter);
+			}
+		}
+	}
+
+	private void assertQueryMatchesBruteForce(MapIcons icon, int x, int y, int plane, IntPredicate filter)
+	{
+		if (x < 0 || y < 0)
+		{
+			return;
+		}
+
+		final int[] expectedDistances = bruteForceDistances(icon, x, y, plane, filter);
+		for (int resultCount : RESULT_COUNTS)
+		{
+			final int[] results = new int[resultCount];
+			final int found = nearestIcons.findNearest(icon.getCategory(), x, y, plane, filter, results);
+			final String query = icon + " from " + x + "," + y + "," + plane + " for " + resultCount;
+			assertEquals(query, Math.min(resultCount, expectedDistances.length), found);
+
+			// Icons at the same distance may be found in any order, so only the distances are compared
+			final int[] distances = new int[found];
+			for (int result = 0; result < found; result++)
+			{
+				final int index = results[result];
+				assertEquals(query, icon, locations.getIcon(index));
+				assertTrue(query, filter.test(index));
+				distances[result] = distance(index, x, y, plane);
+			}
+			assertArrayEquals(query, Arrays.copyOf(expectedDistances, found), distances);
+		}
+	}
+
+	/**
+	 * @return the distance to every location of the icon accepted by the filter, nearest first
+	 */
+	private int[] bruteForceDistances(MapIcons icon, int x, int y, int plane, IntPredicate filter)
+	{
+		int[] distances = new int[locations.size()];
+		int count = 0;
+		for (int index = 0; index < locations.size(); index++)
+		{
+			if (locations.getIcon(index) == icon && filter.test(index))
+			{
+				distances[count++] = distance(index, x, y, plane);
+			}
+		}
+		distances = Arrays.copyOf(distances, count);
+		Arrays.sort(distances);
+		return distances;
+	}
+
+	private int distance(int index, int x, int y, int plane)
+	{
+		final WorldPoint point = locations.getPoint(index);
+		return Math.max(Math.abs(point.getX() - x), Math.abs(point.getY() - y))
+			+ Math.abs(point.getPlane() - plane) * NearestIcons.PLANE_PENALTY;
+	}
+}